@@ -6,10 +6,15 @@ import json
 import sys
 import html
 
+API_BASE_URL = 'http://localhost:8080'
+
 def create_html_from_response(json_data):
     """JSON 응답 데이터로부터 HTML 파일 생성"""
     
     outfit_image_url = json_data.get('outfitImageUrl', '')
+    # 이미지 저장소 경로(/api/outfit/images/...)는 서버 주소를 붙여야 HTML 파일에서 열림
+    if outfit_image_url.startswith('/'):
+        outfit_image_url = API_BASE_URL + outfit_image_url
     description = json_data.get('description', '')
     prompt = json_data.get('prompt', '')
     search_query = json_data.get('searchQuery', '')
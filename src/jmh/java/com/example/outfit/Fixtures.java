@@ -0,0 +1,30 @@
+package com.example.outfit;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 벤치마크 입력 파일 (src/jmh/resources/fixtures, 프로젝트 루트의 실제 응답 파일 포함)
+ */
+public final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    public static String read(String name) {
+        return new String(readBytes(name), StandardCharsets.UTF_8);
+    }
+
+    public static byte[] readBytes(String name) {
+        try (InputStream in = Fixtures.class.getResourceAsStream("/fixtures/" + name)) {
+            if (in == null) {
+                throw new IllegalStateException("벤치마크 입력 파일이 없습니다: " + name);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.outfit.application;
+
+import com.example.outfit.domain.FashionAttributes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+/**
+ * OutfitRuleEngine 코디 텍스트/제품명 생성 벤치마크
+ * Vision 응답 값이 영어(번역 필요)인 경우와 이미 한글인 경우를 나눠 측정한다.
+ */
+@State(Scope.Benchmark)
+public class OutfitRuleEngineBenchmark {
+
+    @Param({"english", "korean"})
+    private String language;
+
+    private final OutfitRuleEngine outfitRuleEngine = new OutfitRuleEngine();
+    private FashionAttributes attributes;
+
+    @Setup
+    public void setUp() {
+        attributes = "english".equals(language)
+                ? FashionAttributes.builder()
+                        .colors(List.of("brown", "khaki"))
+                        .style("casual")
+                        .clothingType("outerwear")
+                        .pattern("solid")
+                        .season("autumn")
+                        .material("wool")
+                        .additionalAttributes(List.of("zipper closure", "stand collar", "color blocking"))
+                        .build()
+                : FashionAttributes.builder()
+                        .colors(List.of("갈색", "카키색"))
+                        .style("캐주얼")
+                        .clothingType("아우터")
+                        .pattern("솔리드")
+                        .season("가을")
+                        .material("울")
+                        .additionalAttributes(List.of("지퍼 여밈", "스탠드넥", "소재 배색"))
+                        .build();
+    }
+
+    @Benchmark
+    public String generateOutfitText() {
+        return outfitRuleEngine.generateOutfitText(attributes);
+    }
+
+    @Benchmark
+    public String generateRecommendedProductName() {
+        return outfitRuleEngine.generateRecommendedProductName(attributes);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.outfit.application;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.io.ClassPathResource;
+
+/**
+ * PromptGenerator 한글 코디 텍스트 → 영어 프롬프트 변환 벤치마크
+ * 사전 트라이로 한 번에 치환하는 현재 구현과 String.replace를 19번 잇는 이전 구현(legacy) 비교
+ * - description: 실제 코디 추천 응답(response.json)의 description (규칙 엔진 결과 + 추천 제품명)
+ * - keyword-dense: 사전 키워드가 여러 번 나오는 긴 코디 텍스트
+ */
+@State(Scope.Benchmark)
+public class PromptGeneratorBenchmark {
+
+    private static final String DESCRIPTION =
+            "캐주얼 스타일, 갈색와 카키색 컬러 조합, 아우터 중심 코디, 지퍼 여밈, 스탠드넥, 소재 배색, 덤블 재킷 + 검정 청바지";
+
+    private static final String KEYWORD_DENSE =
+            "스트릿 캐주얼 스타일, 네이비와 화이트 컬러 조합, 상의 중심 코디, 스트라이프 패턴, 봄에 어울리는, 면 소재, "
+                    + "데님 하의와 니트 아우터, 가을 겨울 레이어드, 체크 셔츠, 플레인 원피스, 도트 스카프 + 네이비 면 셔츠";
+
+    @Param({"description", "keyword-dense"})
+    private String text;
+
+    private final PromptGenerator promptGenerator = new PromptGenerator(new ClassPathResource("prompt-dictionary.txt"));
+
+    private String outfitText;
+
+    @Setup
+    public void setUp() {
+        outfitText = text.equals("description") ? DESCRIPTION : KEYWORD_DENSE;
+    }
+
+    @Benchmark
+    public String translateToEnglishPrompt() {
+        return promptGenerator.translateToEnglishPrompt(outfitText);
+    }
+
+    @Benchmark
+    public String legacyTranslateToEnglishPrompt() {
+        return promptGenerator.generatePrompt(legacyTranslate(outfitText));
+    }
+
+    /**
+     * 이전 구현 (키워드마다 텍스트 전체를 다시 훑고 새 문자열 생성, "면"은 다른 단어 안에서도 치환)
+     */
+    private static String legacyTranslate(String koreanOutfitText) {
+        return koreanOutfitText
+                .replace("캐주얼", "casual")
+                .replace("포멀", "formal")
+                .replace("스포츠", "sporty")
+                .replace("스트릿", "street")
+                .replace("상의", "top")
+                .replace("하의", "bottom")
+                .replace("아우터", "outerwear")
+                .replace("원피스", "dress")
+                .replace("봄", "spring")
+                .replace("여름", "summer")
+                .replace("가을", "autumn")
+                .replace("겨울", "winter")
+                .replace("면", "cotton")
+                .replace("니트", "knit")
+                .replace("데님", "denim")
+                .replace("스트라이프", "striped")
+                .replace("체크", "checked")
+                .replace("도트", "polka dot")
+                .replace("플레인", "plain");
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.outfit.infra.google;
+
+import com.example.outfit.Fixtures;
+import com.example.outfit.config.HttpClientProperties;
+import com.example.outfit.domain.ProductCandidate;
+import com.example.outfit.infra.http.UpstreamHttpClients;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Google Custom Search 응답 파싱 벤치마크
+ * - fixture: 실제 응답 (test-api-response.json, 상품 5개)
+ * - max-items: 한 번에 받을 수 있는 최대 개수(10개)가 되도록 실제 상품 항목을 반복한 응답
+ */
+@State(Scope.Benchmark)
+public class GoogleImageSearchClientBenchmark {
+
+    private static final int MAX_ITEMS = 10;
+
+    @Param({"fixture", "max-items"})
+    private String response;
+
+    private UpstreamHttpClients httpClients;
+    private GoogleImageSearchClient client;
+    private String body;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper();
+        httpClients = new UpstreamHttpClients(WebClient.builder(), new HttpClientProperties(), new SimpleMeterRegistry());
+        client = new GoogleImageSearchClient(httpClients, objectMapper,
+                new ProductSearchCache(Duration.ofMinutes(30), Duration.ofHours(24), 0, Runnable::run),
+                "https://www.googleapis.com");
+
+        body = Fixtures.read("test-api-response.json");
+        if ("max-items".equals(response)) {
+            ObjectNode root = (ObjectNode) objectMapper.readTree(body);
+            ArrayNode items = (ArrayNode) root.get("items");
+            int original = items.size();
+            for (int i = 0; items.size() < MAX_ITEMS; i++) {
+                items.add(items.get(i % original).deepCopy());
+            }
+            body = objectMapper.writeValueAsString(root);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        httpClients.close();
+    }
+
+    @Benchmark
+    public List<ProductCandidate> parseSearchResults() {
+        return client.parseSearchResults(body, "검정 청바지");
+    }
+}
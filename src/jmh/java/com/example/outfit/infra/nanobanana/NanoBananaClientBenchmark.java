@@ -0,0 +1,101 @@
+package com.example.outfit.infra.nanobanana;
+
+import com.example.outfit.Fixtures;
+import com.example.outfit.config.HttpClientProperties;
+import com.example.outfit.infra.gemini.GeminiQuotaScheduler;
+import com.example.outfit.infra.http.UpstreamHttpClients;
+import com.example.outfit.infra.storage.ImageStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Random;
+
+/**
+ * Nano Banana 응답에서 생성 이미지를 꺼내는 스트리밍 파싱 벤치마크
+ * - generated: 실제 생성 이미지(response.json의 PNG, 약 1.3MB)를 담은 응답
+ * - synthetic-4mb: 압축되지 않는 4MB 이미지를 담은 응답 (고해상도 생성 결과 상한 확인용)
+ * 디코딩한 이미지는 버리므로 파일 쓰기를 뺀 JSON 스트리밍 + base64 디코딩 비용만 측정한다.
+ */
+@State(Scope.Benchmark)
+public class NanoBananaClientBenchmark {
+
+    private static final int SYNTHETIC_IMAGE_BYTES = 4 * 1024 * 1024;
+
+    @Param({"generated", "synthetic-4mb"})
+    private String image;
+
+    private UpstreamHttpClients httpClients;
+    private NanoBananaClient client;
+    private byte[] response;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        httpClients = new UpstreamHttpClients(WebClient.builder(), new HttpClientProperties(), new SimpleMeterRegistry());
+        client = new NanoBananaClient(httpClients,
+                new GeminiQuotaScheduler(false, 0, 0, Duration.ofSeconds(10), 0.2),
+                objectMapper,
+                new ImageStore(Files.createTempDirectory("outfit-jmh"), "/api/outfit/images", false,
+                        0, Duration.ZERO, Duration.ZERO));
+
+        String base64;
+        if ("generated".equals(image)) {
+            String dataUrl = objectMapper.readTree(Fixtures.read("response.json")).path("outfitImageUrl").asText();
+            base64 = dataUrl.substring(dataUrl.indexOf(',') + 1);
+        } else {
+            byte[] bytes = new byte[SYNTHETIC_IMAGE_BYTES];
+            new Random(42).nextBytes(bytes);
+            base64 = Base64.getEncoder().encodeToString(bytes);
+        }
+        response = geminiImageResponse(base64).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown
+    public void tearDown() {
+        httpClients.close();
+    }
+
+    @Benchmark
+    public String parseImage() throws IOException {
+        return client.parseImage(new ByteArrayInputStream(response), OutputStream.nullOutputStream());
+    }
+
+    /**
+     * generateContent 응답 형식 (설명 텍스트 파트 + 이미지 파트)
+     */
+    private static String geminiImageResponse(String base64) {
+        return """
+                {
+                  "candidates": [
+                    {
+                      "content": {
+                        "parts": [
+                          {"text": "Here is the outfit with the brown and khaki jacket paired with black jeans."},
+                          {"inlineData": {"mimeType": "image/png", "data": "%s"}}
+                        ],
+                        "role": "model"
+                      },
+                      "finishReason": "STOP",
+                      "index": 0
+                    }
+                  ],
+                  "usageMetadata": {"promptTokenCount": 1562, "candidatesTokenCount": 1290, "totalTokenCount": 2852},
+                  "modelVersion": "gemini-2.5-flash-image"
+                }
+                """.formatted(base64);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.outfit.infra.vision;
+
+import com.example.outfit.Fixtures;
+import com.example.outfit.config.HttpClientProperties;
+import com.example.outfit.domain.FashionAttributes;
+import com.example.outfit.domain.OutfitAnalysis;
+import com.example.outfit.infra.cache.PerceptualHashCache;
+import com.example.outfit.infra.gemini.GeminiQuotaScheduler;
+import com.example.outfit.infra.http.UpstreamHttpClients;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+
+/**
+ * Vision API(JSON 응답 모드) 응답 파싱 벤치마크
+ * 응답 본문 JSON을 읽은 뒤 후보 텍스트에 든 JSON을 한 번 더 읽는 두 단계 파싱을 측정한다.
+ */
+@State(Scope.Benchmark)
+public class VisionClientBenchmark {
+
+    private UpstreamHttpClients httpClients;
+    private VisionClient client;
+    private String attributesResponse;
+    private String analysisResponse;
+
+    @Setup
+    public void setUp() {
+        httpClients = new UpstreamHttpClients(WebClient.builder(), new HttpClientProperties(), new SimpleMeterRegistry());
+        client = new VisionClient(httpClients,
+                new GeminiQuotaScheduler(false, 0, 0, Duration.ofSeconds(10), 0.2),
+                new ObjectMapper(),
+                new PerceptualHashCache<>("vision-attributes", 6, 24, 0, Duration.ofHours(1)),
+                new PerceptualHashCache<>("vision-analysis", 6, 24, 0, Duration.ofHours(1)));
+        attributesResponse = Fixtures.read("vision-attributes-response.json");
+        analysisResponse = Fixtures.read("vision-analysis-response.json");
+    }
+
+    @TearDown
+    public void tearDown() {
+        httpClients.close();
+    }
+
+    @Benchmark
+    public FashionAttributes parseResponse() {
+        return client.parseResponse(attributesResponse);
+    }
+
+    @Benchmark
+    public OutfitAnalysis parseAnalysis() {
+        return client.parseAnalysis(analysisResponse);
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.outfit.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 실제 외부 API 대신 미리 준비한 응답을 돌려주는 가짜 Gemini Vision / Gemini 이미지 생성 / Custom Search 서버
+ * 요청마다 지연 분포에서 뽑은 시간만큼 기다린 뒤 응답하고, 오류 비율만큼은 오류 상태 코드로 응답한다.
+ * 같은 JVM의 Reactor Netty 이벤트 루프에서 동작하므로 지연 중에도 스레드를 점유하지 않는다.
+ */
+public final class FakeUpstreams implements AutoCloseable {
+
+    public static final String VISION = "vision";
+    public static final String IMAGE = "image";
+    public static final String SEARCH = "search";
+
+    // 추천 제품명 (검색 캐시 적중률이 실제 서비스처럼 일부만 겹치도록 여러 개 중 무작위)
+    private static final List<String> PRODUCTS = List.of(
+            "검정 청바지", "베이지 치노 팬츠", "네이비 니트 가디건", "화이트 옥스퍼드 셔츠", "그레이 후드 티셔츠",
+            "카키 카고 팬츠", "브라운 레더 로퍼", "블랙 울 코트", "데님 트러커 재킷", "아이보리 와이드 슬랙스");
+
+    // 속성 값도 무작위로 골라 같은 프롬프트(이미지 생성 캐시 적중)가 실제보다 많이 나오지 않게 한다
+    private static final List<String> COLORS = List.of("black", "white", "navy", "beige", "brown", "khaki", "gray", "red");
+    private static final List<String> STYLES = List.of("casual", "formal", "street", "sporty", "minimal");
+    private static final List<String> CLOTHING_TYPES = List.of("outerwear", "top", "bottom", "dress");
+    private static final List<String> SEASONS = List.of("spring", "summer", "autumn", "winter");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Behavior> behaviors;
+    private final Map<String, Counters> counters = new LinkedHashMap<>();
+    private final byte[] imageResponse;
+    private final byte[] searchResponse;
+    private final DisposableServer server;
+
+    /**
+     * 외부 API별 응답 동작
+     *
+     * @param latency     응답 지연 분포
+     * @param errorRate   오류 응답 비율 (0~1)
+     * @param errorStatus 오류 응답 상태 코드
+     */
+    public record Behavior(LatencyDistribution latency, double errorRate, int errorStatus) {
+
+        @Override
+        public String toString() {
+            return "지연 " + latency + (errorRate > 0 ? String.format(", 오류 %.1f%% (%d)", errorRate * 100, errorStatus) : "");
+        }
+    }
+
+    public FakeUpstreams(Map<String, Behavior> behaviors) {
+        this.behaviors = behaviors;
+        behaviors.keySet().forEach(name -> counters.put(name, new Counters()));
+        this.imageResponse = imageResponse();
+        this.searchResponse = resource("test-api-response.json");
+        this.server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .route(routes -> routes
+                        .post("/vision", (request, response) -> handle(VISION, request, response, this::visionResponse))
+                        .post("/image", (request, response) -> handle(IMAGE, request, response, body -> imageResponse))
+                        .get("/customsearch/v1", (request, response) -> handle(SEARCH, request, response, body -> searchResponse)))
+                .bindNow();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.port();
+    }
+
+    private Publisher<Void> handle(String name, HttpServerRequest request, HttpServerResponse response,
+                                   Function<String, byte[]> body) {
+        Behavior behavior = behaviors.get(name);
+        Counters counter = counters.get(name);
+        counter.requests.increment();
+        boolean fail = ThreadLocalRandom.current().nextDouble() < behavior.errorRate();
+
+        return request.receive().aggregate().asString(StandardCharsets.UTF_8).defaultIfEmpty("")
+                .delayUntil(ignored -> Mono.delay(behavior.latency().sample()))
+                .flatMap(requestBody -> {
+                    if (fail) {
+                        counter.errors.increment();
+                        return response.status(behavior.errorStatus())
+                                .header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                                .sendString(Mono.just("{\"error\":{\"code\":" + behavior.errorStatus()
+                                        + ",\"message\":\"load test injected error\"}}"))
+                                .then();
+                    }
+                    byte[] bytes = body.apply(requestBody);
+                    return response.status(HttpResponseStatus.OK)
+                            .header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                            .header(HttpHeaderNames.CONTENT_LENGTH, String.valueOf(bytes.length))
+                            .sendByteArray(Mono.just(bytes))
+                            .then();
+                });
+    }
+
+    /**
+     * JSON 응답 모드 요청이면 속성 + 추천 제품명 JSON, 아니면 제품명 한 줄
+     */
+    private byte[] visionResponse(String requestBody) {
+        String product = pick(PRODUCTS);
+        String text;
+        if (requestBody.contains("responseSchema")) {
+            Map<String, Object> analysis = new LinkedHashMap<>();
+            analysis.put("colors", List.of(pick(COLORS), pick(COLORS)));
+            analysis.put("style", pick(STYLES));
+            analysis.put("clothingType", pick(CLOTHING_TYPES));
+            analysis.put("pattern", "solid");
+            analysis.put("season", pick(SEASONS));
+            analysis.put("material", "wool");
+            analysis.put("additionalAttributes", List.of("지퍼 여밈", "스탠드넥"));
+            analysis.put("recommendedProduct", product);
+            text = write(analysis);
+        } else {
+            text = product;
+        }
+        return write(Map.of("candidates", List.of(Map.of(
+                "content", Map.of("parts", List.of(Map.of("text", text)), "role", "model"),
+                "finishReason", "STOP")))).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String pick(List<String> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+
+    /**
+     * 실제 생성 이미지(response.json의 PNG)를 담은 generateContent 응답
+     */
+    private byte[] imageResponse() {
+        try {
+            String dataUrl = objectMapper.readTree(resource("response.json")).path("outfitImageUrl").asText();
+            String base64 = dataUrl.substring(dataUrl.indexOf(',') + 1);
+            return write(Map.of("candidates", List.of(Map.of(
+                    "content", Map.of("parts", List.of(
+                            Map.of("text", "Here is the coordinated outfit."),
+                            Map.of("inlineData", Map.of("mimeType", "image/png", "data", base64)))),
+                    "finishReason", "STOP")))).getBytes(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] resource(String name) {
+        try (InputStream in = FakeUpstreams.class.getResourceAsStream("/fixtures/" + name)) {
+            if (in == null) {
+                throw new IllegalStateException("응답 파일이 없습니다: " + name);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public Map<String, Behavior> behaviors() {
+        return behaviors;
+    }
+
+    /**
+     * 외부 API별 받은 요청 수와 오류로 응답한 수
+     */
+    public Map<String, long[]> counts() {
+        Map<String, long[]> counts = new LinkedHashMap<>();
+        counters.forEach((name, counter) -> counts.put(name,
+                new long[]{counter.requests.sum(), counter.errors.sum()}));
+        return counts;
+    }
+
+    public void reset() {
+        counters.values().forEach(counter -> {
+            counter.requests.reset();
+            counter.errors.reset();
+        });
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+
+    private static final class Counters {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+    }
+}
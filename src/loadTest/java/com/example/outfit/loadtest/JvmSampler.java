@@ -0,0 +1,90 @@
+package com.example.outfit.loadtest;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 측정 구간 동안 힙 사용량, 스레드 수, GC 횟수/시간을 주기적으로 수집
+ * 애플리케이션, 가짜 외부 API, 부하 발생기가 같은 JVM에서 돌기 때문에 값에는 셋이 모두 포함된다.
+ */
+public final class JvmSampler implements AutoCloseable {
+
+    private static final long INTERVAL_MILLIS = 250;
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final List<GarbageCollectorMXBean> collectors = ManagementFactory.getGarbageCollectorMXBeans();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "jvm-sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ScheduledFuture<?> task;
+    private long samples;
+    private long heapSum;
+    private long heapMax;
+    private long gcCountStart;
+    private long gcMillisStart;
+
+    /**
+     * 새 측정 구간 시작 (이전 구간 값 초기화)
+     */
+    public synchronized void start() {
+        if (task != null) {
+            task.cancel(false);
+        }
+        samples = 0;
+        heapSum = 0;
+        heapMax = 0;
+        gcCountStart = gcCount();
+        gcMillisStart = gcMillis();
+        threads.resetPeakThreadCount();
+        task = scheduler.scheduleAtFixedRate(this::sample, 0, INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void sample() {
+        long used = memory.getHeapMemoryUsage().getUsed();
+        samples++;
+        heapSum += used;
+        heapMax = Math.max(heapMax, used);
+    }
+
+    public synchronized Snapshot snapshot() {
+        return new Snapshot(
+                samples == 0 ? 0 : heapSum / samples,
+                heapMax,
+                memory.getHeapMemoryUsage().getMax(),
+                threads.getThreadCount(),
+                threads.getPeakThreadCount(),
+                gcCount() - gcCountStart,
+                gcMillis() - gcMillisStart);
+    }
+
+    private long gcCount() {
+        return collectors.stream().mapToLong(GarbageCollectorMXBean::getCollectionCount).filter(count -> count > 0).sum();
+    }
+
+    private long gcMillis() {
+        return collectors.stream().mapToLong(GarbageCollectorMXBean::getCollectionTime).filter(time -> time > 0).sum();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * 측정 구간의 JVM 상태
+     */
+    public record Snapshot(long heapAverage, long heapPeak, long heapLimit, int threads, int peakThreads,
+                           long gcCount, long gcMillis) {
+    }
+}
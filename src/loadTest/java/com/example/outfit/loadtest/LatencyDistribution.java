@@ -0,0 +1,58 @@
+package com.example.outfit.loadtest;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 가짜 외부 API 응답 지연 분포 (로그 정규 분포)
+ * 외부 API 응답 시간은 오른쪽 꼬리가 긴 분포이므로 중앙값과 p99로 로그 정규 분포를 정한다.
+ * "800ms/3s"처럼 중앙값/p99로 지정하고, "0"이면 지연 없이 바로 응답한다.
+ */
+public final class LatencyDistribution {
+
+    // 표준 정규 분포의 99번째 백분위수
+    private static final double Z_99 = 2.326;
+
+    private final Duration median;
+    private final Duration p99;
+    private final double mu;
+    private final double sigma;
+
+    private LatencyDistribution(Duration median, Duration p99) {
+        if (p99.compareTo(median) < 0) {
+            throw new IllegalArgumentException("p99가 중앙값보다 작습니다: " + median + "/" + p99);
+        }
+        this.median = median;
+        this.p99 = p99;
+        this.mu = median.isZero() ? 0 : Math.log(median.toNanos());
+        this.sigma = median.isZero() ? 0 : Math.log((double) p99.toNanos() / median.toNanos()) / Z_99;
+    }
+
+    /**
+     * "중앙값/p99" 또는 "고정값" 형식 (예: 800ms/3s, 200ms, 0)
+     */
+    public static LatencyDistribution parse(String value) {
+        String[] parts = value.split("/");
+        Duration median = LoadTestOptions.parseDuration(parts[0]);
+        Duration p99 = parts.length > 1 ? LoadTestOptions.parseDuration(parts[1]) : median;
+        return new LatencyDistribution(median, p99);
+    }
+
+    public Duration sample() {
+        if (median.isZero()) {
+            return Duration.ZERO;
+        }
+        if (sigma == 0) {
+            return median;
+        }
+        double nanos = Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian());
+        return Duration.ofNanos((long) nanos);
+    }
+
+    @Override
+    public String toString() {
+        return median.equals(p99)
+                ? LoadReport.formatDuration(median)
+                : "p50 " + LoadReport.formatDuration(median) + " / p99 " + LoadReport.formatDuration(p99);
+    }
+}
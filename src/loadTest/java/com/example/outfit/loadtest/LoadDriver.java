@@ -0,0 +1,195 @@
+package com.example.outfit.loadtest;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 고정 동시 사용자 수로 업로드 엔드포인트를 호출하는 부하 발생기 (closed loop)
+ * 사용자마다 스레드 하나가 응답을 받는 즉시 다음 요청을 보내므로, 동시 요청 수가 concurrency로 유지된다.
+ */
+public final class LoadDriver {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofMinutes(3);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final URI uri;
+    private final int imageSize;
+    private final List<byte[]> imagePool;
+
+    /**
+     * @param distinctImages 업로드 이미지 종류 수 (0이면 요청마다 새 이미지)
+     */
+    public LoadDriver(URI uri, int distinctImages, int imageSize) {
+        this.uri = uri;
+        this.imageSize = imageSize;
+        this.imagePool = new ArrayList<>();
+        for (int i = 0; i < distinctImages; i++) {
+            imagePool.add(randomImage(new Random(i)));
+        }
+    }
+
+    /**
+     * duration 동안 concurrency개 사용자로 요청을 보내고 요청별 결과 수집
+     */
+    public Result run(int concurrency, Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<List<Sample>> perUser = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(concurrency);
+        AtomicInteger next = new AtomicInteger();
+
+        long start = System.nanoTime();
+        for (int user = 0; user < concurrency; user++) {
+            List<Sample> samples = new ArrayList<>();
+            perUser.add(samples);
+            Thread thread = new Thread(() -> {
+                try {
+                    while (System.nanoTime() - deadline < 0) {
+                        samples.add(send(nextImage(next.getAndIncrement())));
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }, "load-user-" + user);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        done.await();
+        long elapsed = System.nanoTime() - start;
+
+        List<Sample> samples = new ArrayList<>();
+        perUser.forEach(samples::addAll);
+        return new Result(samples, Duration.ofNanos(elapsed));
+    }
+
+    private Sample send(byte[] image) {
+        String boundary = "----load-test-" + UUID.randomUUID();
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(multipart(boundary, image)))
+                .build();
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            boolean degraded = response.statusCode() == 200 && response.body().contains("\"degraded\":true");
+            return new Sample(System.nanoTime() - start, String.valueOf(response.statusCode()), degraded);
+        } catch (IOException e) {
+            return new Sample(System.nanoTime() - start, e.getClass().getSimpleName(), false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Sample(System.nanoTime() - start, "interrupted", false);
+        }
+    }
+
+    private byte[] nextImage(int index) {
+        if (imagePool.isEmpty()) {
+            return randomImage(ThreadLocalRandom.current());
+        }
+        return imagePool.get(index % imagePool.size());
+    }
+
+    /**
+     * 무작위 색 블록 JPEG (블록 배치가 달라 결과 캐시와 Vision 근사 중복 캐시 모두 적중하지 않음)
+     */
+    private byte[] randomImage(Random random) {
+        BufferedImage image = new BufferedImage(imageSize, imageSize, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        int blocks = 8;
+        int blockSize = (imageSize + blocks - 1) / blocks;
+        for (int y = 0; y < blocks; y++) {
+            for (int x = 0; x < blocks; x++) {
+                graphics.setColor(new Color(random.nextInt(0xFFFFFF)));
+                graphics.fillRect(x * blockSize, y * blockSize, blockSize, blockSize);
+            }
+        }
+        graphics.dispose();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(image, "jpg", out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] multipart(String boundary, byte[] image) {
+        String head = "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"image\"; filename=\"load-test.jpg\"\r\n"
+                + "Content-Type: image/jpeg\r\n\r\n";
+        String tail = "\r\n--" + boundary + "--\r\n";
+        ByteArrayOutputStream body = new ByteArrayOutputStream(head.length() + image.length + tail.length());
+        body.writeBytes(head.getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(image);
+        body.writeBytes(tail.getBytes(StandardCharsets.UTF_8));
+        return body.toByteArray();
+    }
+
+    /**
+     * 요청 하나의 결과
+     *
+     * @param nanos    응답까지 걸린 시간
+     * @param status   HTTP 상태 코드 또는 예외 이름
+     * @param degraded 코디 이미지 없이 응답했는지 여부
+     */
+    public record Sample(long nanos, String status, boolean degraded) {
+    }
+
+    /**
+     * 한 구간(워밍업 또는 측정)의 결과
+     */
+    public record Result(List<Sample> samples, Duration elapsed) {
+
+        public double throughput() {
+            return samples.size() / (elapsed.toNanos() / 1e9);
+        }
+
+        public Map<String, Long> statusCounts() {
+            Map<String, Long> counts = new TreeMap<>();
+            samples.forEach(sample -> counts.merge(sample.status(), 1L, Long::sum));
+            return counts;
+        }
+
+        public long degraded() {
+            return samples.stream().filter(Sample::degraded).count();
+        }
+
+        /**
+         * 성공(2xx) 응답 시간의 백분위수 (0~100)
+         */
+        public Duration percentile(double percentile) {
+            long[] sorted = samples.stream()
+                    .filter(sample -> sample.status().startsWith("2"))
+                    .mapToLong(Sample::nanos)
+                    .sorted()
+                    .toArray();
+            if (sorted.length == 0) {
+                return Duration.ZERO;
+            }
+            int index = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+            return Duration.ofNanos(sorted[Math.max(0, Math.min(sorted.length - 1, index))]);
+        }
+    }
+}
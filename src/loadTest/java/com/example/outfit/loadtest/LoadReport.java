@@ -0,0 +1,69 @@
+package com.example.outfit.loadtest;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * 부하 테스트 결과 출력
+ */
+public final class LoadReport {
+
+    private static final double[] PERCENTILES = {50, 90, 95, 99, 100};
+
+    private final PrintStream out;
+
+    public LoadReport(PrintStream out) {
+        this.out = out;
+    }
+
+    public void header(LoadTestOptions options, FakeUpstreams upstreams) {
+        out.println();
+        out.println("=== 부하 테스트 ===");
+        out.printf("동시 사용자 %d, 워밍업 %s, 측정 %s, 업로드 이미지 %s (%dpx)%n",
+                options.getConcurrency(), formatDuration(options.getWarmup()), formatDuration(options.getDuration()),
+                options.getDistinctImages() == 0 ? "요청마다 새 이미지" : options.getDistinctImages() + "종류 반복",
+                options.getImageSize());
+        upstreams.behaviors().forEach((name, behavior) -> out.printf("  가짜 %-6s: %s%n", name, behavior));
+        if (!options.getAppProperties().isEmpty()) {
+            out.println("  애플리케이션 설정: " + options.getAppProperties());
+        }
+    }
+
+    public void endpoint(String endpoint, LoadDriver.Result result, JvmSampler.Snapshot jvm, Map<String, long[]> upstreamCounts) {
+        out.println();
+        out.printf("--- /api/outfit/%s ---%n", endpoint);
+        out.printf("요청 %d건 / %s, 처리량 %.2f req/s%n",
+                result.samples().size(), formatDuration(result.elapsed()), result.throughput());
+        out.printf("상태: %s, 이미지 없이 응답(degraded): %d건%n", result.statusCounts(), result.degraded());
+
+        StringBuilder latency = new StringBuilder("응답 시간(2xx):");
+        for (double percentile : PERCENTILES) {
+            latency.append(percentile == 100 ? "  max " : String.format("  p%.0f ", percentile))
+                    .append(formatDuration(result.percentile(percentile)));
+        }
+        out.println(latency);
+
+        out.printf("힙: 평균 %s, 최대 %s (한도 %s), GC %d회 %dms%n",
+                formatBytes(jvm.heapAverage()), formatBytes(jvm.heapPeak()), formatBytes(jvm.heapLimit()),
+                jvm.gcCount(), jvm.gcMillis());
+        out.printf("스레드: 현재 %d, 최대 %d%n", jvm.threads(), jvm.peakThreads());
+
+        StringBuilder calls = new StringBuilder("외부 API 호출:");
+        upstreamCounts.forEach((name, counts) -> calls.append(String.format("  %s %d건", name, counts[0]))
+                .append(counts[1] > 0 ? String.format("(오류 %d)", counts[1]) : ""));
+        out.println(calls);
+    }
+
+    static String formatDuration(Duration duration) {
+        long millis = duration.toMillis();
+        if (millis < 1000) {
+            return millis + "ms";
+        }
+        return String.format("%.2fs", millis / 1000.0);
+    }
+
+    private static String formatBytes(long bytes) {
+        return String.format("%.0fMB", bytes / (1024.0 * 1024.0));
+    }
+}
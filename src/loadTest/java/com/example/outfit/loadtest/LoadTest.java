@@ -0,0 +1,89 @@
+package com.example.outfit.loadtest;
+
+import com.example.outfit.OutfitApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * 가짜 외부 API에 연결한 애플리케이션을 띄우고 업로드 엔드포인트에 부하를 주는 부하 테스트
+ * 실제 Gemini/Custom Search 할당량을 쓰지 않고 동시성/캐시 변경의 효과를 확인할 때 사용한다.
+ * <p>
+ * ./gradlew loadTest -PloadTestArgs="concurrency=32 duration=60s image.latency=8s/20s vision.error-rate=0.05"
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        Path imageDir = Files.createTempDirectory("outfit-load-test");
+
+        try (FakeUpstreams upstreams = new FakeUpstreams(options.getUpstreams());
+             JvmSampler sampler = new JvmSampler();
+             ConfigurableApplicationContext app = startApplication(upstreams, imageDir, options.getAppProperties())) {
+
+            String port = app.getEnvironment().getProperty("local.server.port");
+            LoadReport report = new LoadReport(System.out);
+            report.header(options, upstreams);
+
+            for (String endpoint : options.getEndpoints()) {
+                LoadDriver driver = new LoadDriver(URI.create("http://127.0.0.1:" + port + "/api/outfit/" + endpoint),
+                        options.getDistinctImages(), options.getImageSize());
+                if (!options.getWarmup().isZero()) {
+                    driver.run(options.getConcurrency(), options.getWarmup());
+                }
+
+                upstreams.reset();
+                sampler.start();
+                LoadDriver.Result result = driver.run(options.getConcurrency(), options.getDuration());
+                report.endpoint(endpoint, result, sampler.snapshot(), upstreams.counts());
+            }
+        } finally {
+            deleteRecursively(imageDir);
+        }
+    }
+
+    /**
+     * 가짜 외부 API 주소로 애플리케이션 시작 (임의 포트, 생성 이미지는 임시 디렉터리, 로그는 경고 이상만)
+     */
+    private static ConfigurableApplicationContext startApplication(FakeUpstreams upstreams, Path imageDir,
+                                                                   Map<String, Object> overrides) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("google.gemini.api-key", "load-test");
+        properties.put("google.gemini.vision.endpoint", upstreams.baseUrl() + "/vision");
+        properties.put("nanobanana.api.key", "load-test");
+        properties.put("nanobanana.api.endpoint", upstreams.baseUrl() + "/image");
+        properties.put("nanobanana.api.model", "load-test");
+        properties.put("google.search.api-key", "load-test");
+        properties.put("google.search.search-engine-id", "load-test");
+        properties.put("google.search.endpoint", upstreams.baseUrl() + "/customsearch/v1");
+        properties.put("google.search.base-url", upstreams.baseUrl());
+        properties.put("outfit.images.dir", imageDir.toString());
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.com.example.outfit", "WARN");
+        properties.put("logging.level.com.example.outfit.infra.google.GoogleImageSearchClient", "WARN");
+        properties.put("spring.main.banner-mode", "off");
+        properties.putAll(overrides);
+
+        SpringApplication application = new SpringApplication(OutfitApplication.class);
+        application.setDefaultProperties(properties);
+        return application.run();
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.outfit.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 부하 테스트 옵션
+ * key=value 형식으로 받고, --로 시작하는 인자(--outfit.jobs.workers=16 등)는 애플리케이션 설정으로 그대로 넘긴다.
+ */
+public final class LoadTestOptions {
+
+    private final List<String> endpoints;
+    private final int concurrency;
+    private final Duration warmup;
+    private final Duration duration;
+    private final int distinctImages;
+    private final int imageSize;
+    private final Map<String, FakeUpstreams.Behavior> upstreams = new LinkedHashMap<>();
+    private final Map<String, Object> appProperties = new LinkedHashMap<>();
+
+    private LoadTestOptions(Map<String, String> values) {
+        this.endpoints = List.of(values.getOrDefault("endpoints", "recommend,products").split(","));
+        this.concurrency = Integer.parseInt(values.getOrDefault("concurrency", "16"));
+        this.warmup = parseDuration(values.getOrDefault("warmup", "10s"));
+        this.duration = parseDuration(values.getOrDefault("duration", "30s"));
+        this.distinctImages = Integer.parseInt(values.getOrDefault("distinct-images", "0"));
+        this.imageSize = Integer.parseInt(values.getOrDefault("image-size", "768"));
+
+        // 기본 지연은 실제 API의 대략적인 응답 시간 (Vision 수 초, 이미지 생성 수~십수 초, 검색 수백 ms)
+        upstreams.put(FakeUpstreams.VISION, behavior(values, FakeUpstreams.VISION, "1500ms/5s"));
+        upstreams.put(FakeUpstreams.IMAGE, behavior(values, FakeUpstreams.IMAGE, "6s/15s"));
+        upstreams.put(FakeUpstreams.SEARCH, behavior(values, FakeUpstreams.SEARCH, "300ms/1200ms"));
+
+        for (String endpoint : endpoints) {
+            if (!endpoint.equals("recommend") && !endpoint.equals("products")) {
+                throw new IllegalArgumentException("알 수 없는 엔드포인트: " + endpoint + " (recommend, products 중 선택)");
+            }
+        }
+    }
+
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        List<String> appArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                appArgs.add(arg);
+                continue;
+            }
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("key=value 형식이 아닙니다: " + arg);
+            }
+            values.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+
+        LoadTestOptions options = new LoadTestOptions(values);
+        for (String arg : appArgs) {
+            int separator = arg.indexOf('=');
+            options.appProperties.put(arg.substring(2, separator < 0 ? arg.length() : separator),
+                    separator < 0 ? "true" : arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    private static FakeUpstreams.Behavior behavior(Map<String, String> values, String name, String defaultLatency) {
+        return new FakeUpstreams.Behavior(
+                LatencyDistribution.parse(values.getOrDefault(name + ".latency", defaultLatency)),
+                Double.parseDouble(values.getOrDefault(name + ".error-rate", "0")),
+                Integer.parseInt(values.getOrDefault(name + ".error-status", "503")));
+    }
+
+    /**
+     * 10s, 800ms, 2m, 0 형식
+     */
+    static Duration parseDuration(String value) {
+        String trimmed = value.trim();
+        if (trimmed.equals("0")) {
+            return Duration.ZERO;
+        }
+        if (trimmed.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(trimmed.substring(0, trimmed.length() - 2)));
+        }
+        long amount = Long.parseLong(trimmed.substring(0, trimmed.length() - 1));
+        return switch (trimmed.charAt(trimmed.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            default -> throw new IllegalArgumentException("시간 형식이 아닙니다: " + value);
+        };
+    }
+
+    public List<String> getEndpoints() {
+        return endpoints;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * 업로드 이미지 종류 수 (0이면 요청마다 새 이미지로 캐시를 거치지 않는 경우를 측정)
+     */
+    public int getDistinctImages() {
+        return distinctImages;
+    }
+
+    public int getImageSize() {
+        return imageSize;
+    }
+
+    public Map<String, FakeUpstreams.Behavior> getUpstreams() {
+        return upstreams;
+    }
+
+    public Map<String, Object> getAppProperties() {
+        return appProperties;
+    }
+}
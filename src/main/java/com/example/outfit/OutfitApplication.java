@@ -3,12 +3,16 @@ package com.example.outfit;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
+import java.util.Map;
+
 @SpringBootApplication
 public class OutfitApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(OutfitApplication.class, args);
+        SpringApplication application = new SpringApplication(OutfitApplication.class);
+        // Prometheus 스크랩 엔드포인트(/actuator/prometheus) 노출 (application.yml 설정이 있으면 그 값을 사용)
+        application.setDefaultProperties(Map.of(
+                "management.endpoints.web.exposure.include", "health,info,metrics,prometheus"));
+        application.run(args);
     }
 }
-
-
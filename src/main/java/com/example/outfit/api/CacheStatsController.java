@@ -0,0 +1,44 @@
+package com.example.outfit.api;
+
+import com.example.outfit.infra.cache.CacheStats;
+import com.example.outfit.infra.cache.ReportableCache;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 캐시 통계 조회 API
+ */
+@RestController
+@RequestMapping("/api/outfit/cache")
+@RequiredArgsConstructor
+@Tag(name = "Cache", description = "캐시 통계 API")
+public class CacheStatsController {
+
+    private final List<ReportableCache> caches;
+
+    /**
+     * 등록된 모든 캐시의 적중/미스/축출 통계
+     */
+    @Operation(
+            summary = "캐시 통계",
+            description = "등록된 모든 캐시의 적중/미스/축출 횟수와 현재 크기를 반환합니다."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "성공")
+    })
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheStats>> stats() {
+        return ResponseEntity.ok(caches.stream()
+                .map(ReportableCache::stats)
+                .toList());
+    }
+}
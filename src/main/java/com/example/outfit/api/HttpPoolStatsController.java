@@ -0,0 +1,124 @@
+package com.example.outfit.api;
+
+import com.example.outfit.infra.gemini.GeminiQuotaScheduler;
+import com.example.outfit.infra.gemini.GeminiQuotaStats;
+import com.example.outfit.infra.http.BulkheadStats;
+import com.example.outfit.infra.http.CircuitBreakerStats;
+import com.example.outfit.infra.http.HedgeStats;
+import com.example.outfit.infra.http.HttpPoolStats;
+import com.example.outfit.infra.http.RetryStats;
+import com.example.outfit.infra.http.UpstreamHttpClients;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 외부 API HTTP 연결 풀/헤지 요청/재시도/서킷 브레이커/벌크헤드/Gemini 할당량 상태 조회 API
+ */
+@RestController
+@RequestMapping("/api/outfit/http")
+@RequiredArgsConstructor
+@Tag(name = "HTTP Clients", description = "외부 API 연결 풀 상태 API")
+public class HttpPoolStatsController {
+
+    private final UpstreamHttpClients upstreamHttpClients;
+    private final GeminiQuotaScheduler geminiQuotaScheduler;
+
+    /**
+     * 외부 API별 연결 풀 사용 현황
+     */
+    @Operation(
+            summary = "연결 풀 상태",
+            description = "외부 API(vision, nanobanana, search)별 사용 중/유휴 연결 수와 연결 대기 요청 수를 반환합니다."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "성공")
+    })
+    @GetMapping("/stats")
+    public ResponseEntity<List<HttpPoolStats>> stats() {
+        return ResponseEntity.ok(upstreamHttpClients.stats());
+    }
+
+    /**
+     * 외부 API별 헤지 요청 통계
+     */
+    @Operation(
+            summary = "헤지 요청 통계",
+            description = "헤지 요청을 쓰는 외부 API별 현재 헤지 지연 시간과 헤지 횟수, 헤지가 이긴 횟수, 비율 제한으로 생략한 횟수를 반환합니다."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "성공")
+    })
+    @GetMapping("/hedge/stats")
+    public ResponseEntity<List<HedgeStats>> hedgeStats() {
+        return ResponseEntity.ok(upstreamHttpClients.hedgeStats());
+    }
+
+    /**
+     * 외부 API별 재시도 통계
+     */
+    @Operation(
+            summary = "재시도 통계",
+            description = "재시도를 쓰는 외부 API별 호출 수, 재시도 횟수, 재시도 끝에 성공/실패한 호출 수, 재시도 예산 부족으로 생략한 횟수를 반환합니다."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "성공")
+    })
+    @GetMapping("/retry/stats")
+    public ResponseEntity<List<RetryStats>> retryStats() {
+        return ResponseEntity.ok(upstreamHttpClients.retryStats());
+    }
+
+    /**
+     * 외부 API별 서킷 브레이커 상태
+     */
+    @Operation(
+            summary = "서킷 브레이커 상태",
+            description = "외부 API별 서킷 상태(CLOSED, OPEN, HALF_OPEN)와 최근 실패율, 느린 호출 비율, 서킷이 열려 거절한 호출 수를 반환합니다."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "성공")
+    })
+    @GetMapping("/circuit-breaker/stats")
+    public ResponseEntity<List<CircuitBreakerStats>> circuitBreakerStats() {
+        return ResponseEntity.ok(upstreamHttpClients.circuitBreakerStats());
+    }
+
+    /**
+     * 외부 API별 벌크헤드 상태
+     */
+    @Operation(
+            summary = "벌크헤드 상태",
+            description = "외부 API별 최대 동시 호출 수와 현재 진행 중인 호출 수, 한도 초과로 거절한 호출 수를 반환합니다."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "성공")
+    })
+    @GetMapping("/bulkhead/stats")
+    public ResponseEntity<List<BulkheadStats>> bulkheadStats() {
+        return ResponseEntity.ok(upstreamHttpClients.bulkheadStats());
+    }
+
+    /**
+     * Gemini 할당량 스케줄러 상태
+     */
+    @Operation(
+            summary = "Gemini 할당량 상태",
+            description = "설정된 RPM/TPM, 지금 쓸 수 있는 요청/토큰 수, 할당량을 기다리는 호출 수와 대기 시간, 대기 시간 초과로 실패시킨 호출 수를 반환합니다."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "성공")
+    })
+    @GetMapping("/quota/stats")
+    public ResponseEntity<GeminiQuotaStats> quotaStats() {
+        return ResponseEntity.ok(geminiQuotaScheduler.stats());
+    }
+}
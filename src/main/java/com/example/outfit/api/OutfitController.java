@@ -2,6 +2,7 @@ package com.example.outfit.api;
 
 import com.example.outfit.application.OutfitService;
 import com.example.outfit.domain.OutfitSuggestion;
+import com.example.outfit.infra.http.UpstreamUnavailableException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -10,6 +11,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -46,7 +49,8 @@ public class OutfitController {
                     content = @Content(schema = @Schema(implementation = OutfitSuggestion.class))
             ),
             @ApiResponse(responseCode = "400", description = "잘못된 요청 (빈 파일 등)"),
-            @ApiResponse(responseCode = "500", description = "서버 오류")
+            @ApiResponse(responseCode = "500", description = "서버 오류"),
+            @ApiResponse(responseCode = "503", description = "외부 API 차단 중 (Retry-After 이후 재시도)")
     })
     @PostMapping(value = "/recommend", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<OutfitSuggestion> recommendOutfit(
@@ -74,6 +78,11 @@ public class OutfitController {
             log.error("파일 읽기 실패", e);
             return ResponseEntity.internalServerError().build();
         } catch (Exception e) {
+            UpstreamUnavailableException unavailable = UpstreamUnavailableException.find(e);
+            if (unavailable != null) {
+                log.warn("코디 추천 처리 실패: {}", unavailable.getMessage());
+                return serviceUnavailable(unavailable);
+            }
             log.error("코디 추천 처리 실패", e);
             return ResponseEntity.internalServerError().build();
         }
@@ -96,7 +105,8 @@ public class OutfitController {
                     content = @Content(schema = @Schema(implementation = OutfitSuggestion.class))
             ),
             @ApiResponse(responseCode = "400", description = "잘못된 요청 (빈 파일 등)"),
-            @ApiResponse(responseCode = "500", description = "서버 오류")
+            @ApiResponse(responseCode = "500", description = "서버 오류"),
+            @ApiResponse(responseCode = "503", description = "외부 API 차단 중 (Retry-After 이후 재시도)")
     })
     @PostMapping(value = "/products", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<OutfitSuggestion> recommendProducts(
@@ -124,11 +134,25 @@ public class OutfitController {
             log.error("파일 읽기 실패", e);
             return ResponseEntity.internalServerError().build();
         } catch (Exception e) {
+            UpstreamUnavailableException unavailable = UpstreamUnavailableException.find(e);
+            if (unavailable != null) {
+                log.warn("제품 추천 처리 실패: {}", unavailable.getMessage());
+                return serviceUnavailable(unavailable);
+            }
             log.error("제품 추천 처리 실패", e);
             return ResponseEntity.internalServerError().build();
         }
     }
 
+    /**
+     * 외부 API 차단(서킷 열림, 동시 호출 한도 초과) 응답: 503 + Retry-After
+     */
+    private ResponseEntity<OutfitSuggestion> serviceUnavailable(UpstreamUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfter().toSeconds())))
+                .build();
+    }
+
     /**
      * Health check
      */
@@ -0,0 +1,134 @@
+package com.example.outfit.api;
+
+import com.example.outfit.application.JobQueueFullException;
+import com.example.outfit.application.OutfitJobService;
+import com.example.outfit.application.OutfitJobStats;
+import com.example.outfit.domain.OutfitJob;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * 비동기 코디 추천 작업 API
+ * 작업을 접수하면 바로 작업 ID를 반환하고, 결과는 조회 API로 폴링한다.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/outfit/jobs")
+@RequiredArgsConstructor
+@Tag(name = "Outfit Jobs", description = "비동기 코디 추천 작업 API")
+public class OutfitJobController {
+
+    private final OutfitJobService outfitJobService;
+
+    /**
+     * 코디 추천 작업 접수
+     *
+     * @param file 업로드된 이미지 파일
+     * @param type 실행할 파이프라인 (recommend 또는 products)
+     * @return 접수된 작업 (202, Location 헤더에 조회 URL)
+     */
+    @Operation(
+            summary = "코디 추천 작업 접수",
+            description = "이미지를 받아 파이프라인을 작업 큐에 넣고 바로 작업 ID를 반환합니다. "
+                    + "큐가 가득 차면 429와 Retry-After 헤더를 반환합니다."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "접수됨",
+                    content = @Content(schema = @Schema(implementation = OutfitJob.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "잘못된 요청 (빈 파일, 알 수 없는 작업 종류 등)"),
+            @ApiResponse(responseCode = "429", description = "작업 큐가 가득 참 (Retry-After 이후 재시도)"),
+            @ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<OutfitJob> submit(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "업로드할 이미지 파일 (JPG, PNG 등, 최대 20MB)",
+                    required = true,
+                    content = @Content(mediaType = MediaType.MULTIPART_FORM_DATA_VALUE)
+            )
+            @RequestParam("image") MultipartFile file,
+            @Parameter(description = "실행할 파이프라인 (recommend: 코디 추천, products: 제품 추천)")
+            @RequestParam(value = "type", defaultValue = OutfitJobService.TYPE_RECOMMEND) String type) {
+
+        try {
+            log.info("작업 접수 요청 수신: 파일명={}, 크기={} bytes, 종류={}",
+                    file.getOriginalFilename(), file.getSize(), type);
+
+            if (file.isEmpty()) {
+                return ResponseEntity.badRequest().build();
+            }
+
+            OutfitJob job = outfitJobService.submit(type, file.getBytes());
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/outfit/jobs/" + job.getId()))
+                    .body(job);
+
+        } catch (JobQueueFullException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfter().toSeconds())))
+                    .build();
+        } catch (IllegalArgumentException e) {
+            log.warn("잘못된 작업 요청: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IOException e) {
+            log.error("파일 읽기 실패", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * 작업 상태 및 결과 조회
+     */
+    @Operation(
+            summary = "작업 조회",
+            description = "작업 상태(QUEUED, RUNNING, SUCCEEDED, FAILED)를 반환합니다. SUCCEEDED이면 result에 코디 추천 결과가 포함됩니다."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "성공",
+                    content = @Content(schema = @Schema(implementation = OutfitJob.class))
+            ),
+            @ApiResponse(responseCode = "404", description = "작업 없음 (보관 기간 만료 포함)")
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<OutfitJob> find(@PathVariable("id") String id) {
+        return outfitJobService.find(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * 작업 큐 통계 (대기 작업 수, 큐 대기 시간 등)
+     */
+    @Operation(
+            summary = "작업 큐 통계",
+            description = "현재 큐 깊이, 실행 중인 작업 수, 거절 횟수, 큐 대기 시간을 반환합니다."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "성공")
+    })
+    @GetMapping("/stats")
+    public ResponseEntity<OutfitJobStats> stats() {
+        return ResponseEntity.ok(outfitJobService.stats());
+    }
+}
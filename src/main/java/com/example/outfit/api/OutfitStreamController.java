@@ -0,0 +1,162 @@
+package com.example.outfit.api;
+
+import com.example.outfit.application.OutfitProgressListener;
+import com.example.outfit.application.OutfitService;
+import com.example.outfit.domain.FashionAttributes;
+import com.example.outfit.domain.OutfitSuggestion;
+import com.example.outfit.domain.ProductCandidate;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * 코디 추천 진행 상황 스트리밍 API (Server-Sent Events)
+ * 파이프라인 단계 결과를 준비되는 즉시 이벤트로 보내므로,
+ * 클라이언트는 전체 파이프라인이 끝나기 전에 속성/추천 제품/상품 목록을 먼저 표시할 수 있다.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/outfit")
+@Tag(name = "Outfit Recommendation", description = "이미지 기반 코디 추천 API")
+public class OutfitStreamController {
+
+    private final OutfitService outfitService;
+    private final Executor streamExecutor;
+
+    public OutfitStreamController(OutfitService outfitService,
+                                  @Qualifier("streamExecutor") Executor streamExecutor) {
+        this.outfitService = outfitService;
+        this.streamExecutor = streamExecutor;
+    }
+
+    /**
+     * 이미지 업로드 및 코디 추천 (단계별 스트리밍)
+     *
+     * @param file 업로드된 이미지 파일
+     * @return 이벤트 스트림 (attributes → recommendedProduct → products / outfitImage → result, 실패 시 error)
+     */
+    @Operation(
+            summary = "코디 추천 (단계별 스트리밍)",
+            description = "/api/outfit/recommend 와 같은 파이프라인을 실행하면서 단계 결과를 SSE 이벤트로 보냅니다. "
+                    + "이벤트 순서: attributes, recommendedProduct, products와 outfitImage(준비되는 순서), 마지막에 result(전체 결과). "
+                    + "실패하면 error 이벤트 후 종료됩니다."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "이벤트 스트림",
+                    content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE)),
+            @ApiResponse(responseCode = "400", description = "잘못된 요청 (빈 파일 등)"),
+            @ApiResponse(responseCode = "500", description = "서버 오류"),
+            @ApiResponse(responseCode = "503", description = "동시 스트리밍 한도 초과 (Retry-After 이후 재시도)")
+    })
+    @PostMapping(value = "/recommend/stream",
+            consumes = MediaType.MULTIPART_FORM_DATA_VALUE,
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamOutfitRecommendation(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "업로드할 이미지 파일 (JPG, PNG 등, 최대 20MB)",
+                    required = true,
+                    content = @Content(mediaType = MediaType.MULTIPART_FORM_DATA_VALUE)
+            )
+            @RequestParam("image") MultipartFile file) {
+
+        log.info("코디 추천 스트리밍 요청 수신: 파일명={}, 크기={} bytes",
+                file.getOriginalFilename(), file.getSize());
+
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        byte[] imageBytes;
+        try {
+            imageBytes = file.getBytes();
+        } catch (IOException e) {
+            log.error("파일 읽기 실패", e);
+            return ResponseEntity.internalServerError().build();
+        }
+
+        // 타임아웃은 비동기 요청 기본값(outfit.async.request-timeout)을 따른다
+        SseEmitter emitter = new SseEmitter();
+        SseProgressListener listener = new SseProgressListener(emitter);
+        try {
+            streamExecutor.execute(() -> {
+                try {
+                    OutfitSuggestion suggestion = outfitService.streamOutfitRecommendation(imageBytes, listener);
+                    listener.send("result", suggestion);
+                    emitter.complete();
+                } catch (Exception e) {
+                    log.error("코디 추천 스트리밍 처리 실패", e);
+                    listener.send("error", Map.of("message", "코디 추천 처리 실패"));
+                    emitter.complete();
+                }
+            });
+        } catch (TaskRejectedException e) {
+            log.warn("동시 스트리밍 한도 초과로 요청 거절");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
+    /**
+     * 단계 결과를 SSE 이벤트로 전송 (클라이언트 연결이 끊기면 이후 이벤트는 버리고 파이프라인은 계속 진행)
+     */
+    private static final class SseProgressListener implements OutfitProgressListener {
+
+        private final SseEmitter emitter;
+        private volatile boolean disconnected;
+
+        private SseProgressListener(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void onAttributes(FashionAttributes attributes) {
+            send("attributes", attributes);
+        }
+
+        @Override
+        public void onRecommendedProduct(String recommendedProduct) {
+            send("recommendedProduct", Map.of("recommendedProduct", recommendedProduct));
+        }
+
+        @Override
+        public void onProducts(List<ProductCandidate> products) {
+            send("products", products);
+        }
+
+        @Override
+        public void onOutfitImage(String outfitImageUrl) {
+            send("outfitImage", Map.of("outfitImageUrl", outfitImageUrl));
+        }
+
+        void send(String event, Object data) {
+            if (disconnected) {
+                return;
+            }
+            try {
+                emitter.send(SseEmitter.event().name(event).data(data, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                disconnected = true;
+                log.info("스트리밍 클라이언트 연결 종료, 이후 이벤트 생략 ({}): {}", event, e.getMessage());
+            }
+        }
+    }
+}
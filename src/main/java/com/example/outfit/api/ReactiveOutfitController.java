@@ -0,0 +1,155 @@
+package com.example.outfit.api;
+
+import com.example.outfit.application.OutfitService;
+import com.example.outfit.domain.OutfitSuggestion;
+import com.example.outfit.infra.http.UpstreamUnavailableException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+
+/**
+ * 코디 추천 REST API (논블로킹)
+ * 핸들러가 Mono를 반환하므로 요청 스레드는 외부 API 응답을 기다리지 않고 바로 반환되고,
+ * 응답은 파이프라인이 끝나는 시점에 비동기로 기록된다.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/outfit/reactive")
+@RequiredArgsConstructor
+@Tag(name = "Outfit Recommendation (Reactive)", description = "이미지 기반 코디 추천 API (논블로킹)")
+public class ReactiveOutfitController {
+
+    private final OutfitService outfitService;
+
+    /**
+     * 이미지 업로드 및 코디 추천 (논블로킹)
+     *
+     * @param file 업로드된 이미지 파일
+     * @return 코디 추천 결과
+     */
+    @Operation(
+            summary = "코디 추천 (논블로킹)",
+            description = "/api/outfit/recommend 와 같은 결과를 반환하지만, 외부 API를 기다리는 동안 요청 스레드를 점유하지 않습니다."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "성공",
+                    content = @Content(schema = @Schema(implementation = OutfitSuggestion.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "잘못된 요청 (빈 파일 등)"),
+            @ApiResponse(responseCode = "500", description = "서버 오류"),
+            @ApiResponse(responseCode = "503", description = "외부 API 차단 중 (Retry-After 이후 재시도)")
+    })
+    @PostMapping(value = "/recommend", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public Mono<ResponseEntity<OutfitSuggestion>> recommendOutfit(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "업로드할 이미지 파일 (JPG, PNG 등, 최대 20MB)",
+                    required = true,
+                    content = @Content(mediaType = MediaType.MULTIPART_FORM_DATA_VALUE)
+            )
+            @RequestParam("image") MultipartFile file) {
+
+        log.info("이미지 업로드 요청 수신 (논블로킹): 파일명={}, 크기={} bytes",
+                file.getOriginalFilename(), file.getSize());
+
+        if (file.isEmpty()) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+
+        return readBytes(file)
+                .flatMap(outfitService::processOutfitRecommendationAsync)
+                .map(ResponseEntity::ok)
+                .onErrorResume(e -> {
+                    UpstreamUnavailableException unavailable = UpstreamUnavailableException.find(e);
+                    if (unavailable != null) {
+                        log.warn("코디 추천 처리 실패: {}", unavailable.getMessage());
+                        return Mono.just(serviceUnavailable(unavailable));
+                    }
+                    log.error("코디 추천 처리 실패", e);
+                    return Mono.just(ResponseEntity.internalServerError().build());
+                });
+    }
+
+    /**
+     * 이미지 업로드 및 제품 목록 추천 (논블로킹)
+     *
+     * @param file 업로드된 이미지 파일
+     * @return 제품 추천 결과 (생성된 이미지 + 제품 목록)
+     */
+    @Operation(
+            summary = "제품 추천 (논블로킹)",
+            description = "/api/outfit/products 와 같은 결과를 반환하지만, 외부 API를 기다리는 동안 요청 스레드를 점유하지 않습니다."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "성공",
+                    content = @Content(schema = @Schema(implementation = OutfitSuggestion.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "잘못된 요청 (빈 파일 등)"),
+            @ApiResponse(responseCode = "500", description = "서버 오류"),
+            @ApiResponse(responseCode = "503", description = "외부 API 차단 중 (Retry-After 이후 재시도)")
+    })
+    @PostMapping(value = "/products", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public Mono<ResponseEntity<OutfitSuggestion>> recommendProducts(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "업로드할 이미지 파일 (JPG, PNG 등, 최대 20MB)",
+                    required = true,
+                    content = @Content(mediaType = MediaType.MULTIPART_FORM_DATA_VALUE)
+            )
+            @RequestParam("image") MultipartFile file) {
+
+        log.info("제품 추천 요청 수신 (논블로킹): 파일명={}, 크기={} bytes",
+                file.getOriginalFilename(), file.getSize());
+
+        if (file.isEmpty()) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+
+        return readBytes(file)
+                .flatMap(outfitService::processProductRecommendationAsync)
+                .map(ResponseEntity::ok)
+                .onErrorResume(e -> {
+                    UpstreamUnavailableException unavailable = UpstreamUnavailableException.find(e);
+                    if (unavailable != null) {
+                        log.warn("제품 추천 처리 실패: {}", unavailable.getMessage());
+                        return Mono.just(serviceUnavailable(unavailable));
+                    }
+                    log.error("제품 추천 처리 실패", e);
+                    return Mono.just(ResponseEntity.internalServerError().build());
+                });
+    }
+
+    /**
+     * 외부 API 차단(서킷 열림, 동시 호출 한도 초과) 응답: 503 + Retry-After
+     */
+    private ResponseEntity<OutfitSuggestion> serviceUnavailable(UpstreamUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfter().toSeconds())))
+                .build();
+    }
+
+    private Mono<byte[]> readBytes(MultipartFile file) {
+        try {
+            return Mono.just(file.getBytes());
+        } catch (IOException e) {
+            log.error("파일 읽기 실패", e);
+            return Mono.error(e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.outfit.application;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * 작업 큐가 가득 차서 작업을 받을 수 없을 때 발생
+ */
+@Getter
+public class JobQueueFullException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public JobQueueFullException(Duration retryAfter) {
+        super("작업 큐가 가득 찼습니다");
+        this.retryAfter = retryAfter;
+    }
+}
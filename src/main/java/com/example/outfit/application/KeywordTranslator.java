@@ -0,0 +1,229 @@
+package com.example.outfit.application;
+
+import org.springframework.core.io.Resource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 한국어 키워드 → 영어 사전 치환기
+ * 사전을 한 번 트라이로 만들어 두고, 텍스트를 한 번만 훑으며 위치마다 가장 긴 키워드로 치환한다.
+ * 치환 결과를 다시 검사하지 않으므로 사전 순서와 관계없이 결과가 같다.
+ * 한 글자 키워드(예: 면, 봄)는 다른 단어의 일부로 쓰인 경우(표면, 라면)를 피하려고 단어 전체로 쓰일 때만 치환한다.
+ * 뒤에 조사가 붙은 경우(봄에, 면으로)는 단어 전체로 본다.
+ */
+public final class KeywordTranslator {
+
+    // 한 글자 키워드 뒤에 와도 단어 경계로 보는 조사 첫 글자
+    private static final String PARTICLES = "에의과와로으이가은는을를도만";
+
+    private final Node root;
+    private final int entries;
+    // 키워드 첫 글자 비트셋 (char 전체 범위, 8KB) - 키워드로 시작할 수 없는 글자는 트라이를 보지 않고 건너뜀
+    private final long[] firstChars = new long[(Character.MAX_VALUE + 1) / 64];
+
+    private KeywordTranslator(Node root, int entries) {
+        this.root = root;
+        this.entries = entries;
+        for (char first : root.keys) {
+            firstChars[first >>> 6] |= 1L << first;
+        }
+    }
+
+    /**
+     * 사전으로 치환기 생성
+     *
+     * @param dictionary 한국어 키워드 → 영어
+     */
+    public static KeywordTranslator of(Map<String, String> dictionary) {
+        Builder root = new Builder();
+        dictionary.forEach((keyword, replacement) -> {
+            if (keyword.isEmpty()) {
+                throw new IllegalArgumentException("빈 키워드는 사전에 넣을 수 없습니다");
+            }
+            Builder node = root;
+            for (int i = 0; i < keyword.length(); i++) {
+                node = node.children.computeIfAbsent(keyword.charAt(i), key -> new Builder());
+            }
+            node.replacement = replacement;
+            node.wholeWord = keyword.length() == 1;
+        });
+        return new KeywordTranslator(root.build(), dictionary.size());
+    }
+
+    /**
+     * 사전 파일로 치환기 생성 (UTF-8, 한 줄에 "한국어=영어", #으로 시작하는 줄은 주석)
+     */
+    public static KeywordTranslator load(Resource resource) {
+        Map<String, String> dictionary = new LinkedHashMap<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.strip();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                int separator = line.indexOf('=');
+                if (separator <= 0) {
+                    throw new IllegalArgumentException(
+                            "사전 형식이 올바르지 않습니다 (" + resource.getDescription() + " " + lineNumber + "행): " + line);
+                }
+                dictionary.put(line.substring(0, separator).strip(), line.substring(separator + 1).strip());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("사전을 읽을 수 없습니다: " + resource.getDescription(), e);
+        }
+        return of(dictionary);
+    }
+
+    public int size() {
+        return entries;
+    }
+
+    /**
+     * 치환 결과 (바꿀 키워드가 없으면 입력 그대로)
+     */
+    public String translate(String text) {
+        return translate("", text, "");
+    }
+
+    /**
+     * prefix + 치환한 text + suffix
+     * 첫 키워드를 찾았을 때 결과 버퍼를 한 번 만들고 나머지는 그 버퍼에 이어 쓴다 (키워드가 없으면 문자열 연결만).
+     */
+    public String translate(String prefix, String text, String suffix) {
+        Output out = null;
+        int length = text.length();
+        int copied = 0;
+        int i = 0;
+        while (i < length) {
+            char first = text.charAt(i);
+            if ((firstChars[first >>> 6] & (1L << first)) == 0) {
+                i++;
+                continue;
+            }
+
+            // i에서 시작하는 가장 긴 키워드 찾기
+            Node node = root;
+            Node matched = null;
+            int matchedEnd = i;
+            for (int j = i; j < length; j++) {
+                node = node.child(text.charAt(j));
+                if (node == null) {
+                    break;
+                }
+                if (node.replacement != null && (!node.wholeWord || isWholeWord(text, i, j + 1))) {
+                    matched = node;
+                    matchedEnd = j + 1;
+                }
+            }
+
+            if (matched == null) {
+                i++;
+                continue;
+            }
+            if (out == null) {
+                out = new Output(prefix.length() + length * 2 + suffix.length()).append(prefix, 0, prefix.length());
+            }
+            out.append(text, copied, i).append(matched.replacement, 0, matched.replacement.length());
+            copied = matchedEnd;
+            i = matchedEnd;
+        }
+
+        if (out == null) {
+            return prefix.isEmpty() && suffix.isEmpty() ? text : prefix + text + suffix;
+        }
+        return out.append(text, copied, length).append(suffix, 0, suffix.length()).toString();
+    }
+
+    private static boolean isWholeWord(String text, int start, int end) {
+        if (start > 0 && Character.isLetterOrDigit(text.charAt(start - 1))) {
+            return false;
+        }
+        if (end == text.length()) {
+            return true;
+        }
+        char next = text.charAt(end);
+        return !Character.isLetterOrDigit(next) || PARTICLES.indexOf(next) >= 0;
+    }
+
+    /**
+     * 트라이 노드 (자식은 글자 순으로 정렬한 배열에서 이진 탐색, 만든 뒤에는 바뀌지 않음)
+     */
+    private static final class Node {
+
+        private final char[] keys;
+        private final Node[] children;
+        private final String replacement;
+        private final boolean wholeWord;
+
+        private Node(char[] keys, Node[] children, String replacement, boolean wholeWord) {
+            this.keys = keys;
+            this.children = children;
+            this.replacement = replacement;
+            this.wholeWord = wholeWord;
+        }
+
+        private Node child(char key) {
+            int index = Arrays.binarySearch(keys, key);
+            return index < 0 ? null : children[index];
+        }
+    }
+
+    /**
+     * 결과 버퍼 (StringBuilder는 Latin-1로 시작해 한글을 만나면 UTF-16으로 다시 할당하므로 char 배열에 직접 기록)
+     */
+    private static final class Output {
+
+        private char[] chars;
+        private int length;
+
+        private Output(int capacity) {
+            this.chars = new char[capacity];
+        }
+
+        private Output append(String value, int from, int to) {
+            int required = length + to - from;
+            if (required > chars.length) {
+                chars = Arrays.copyOf(chars, Math.max(required, chars.length * 2));
+            }
+            value.getChars(from, to, chars, length);
+            length = required;
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return new String(chars, 0, length);
+        }
+    }
+
+    private static final class Builder {
+
+        private final TreeMap<Character, Builder> children = new TreeMap<>();
+        private String replacement;
+        private boolean wholeWord;
+
+        private Node build() {
+            char[] keys = new char[children.size()];
+            Node[] nodes = new Node[children.size()];
+            int index = 0;
+            for (Map.Entry<Character, Builder> child : children.entrySet()) {
+                keys[index] = child.getKey();
+                nodes[index] = child.getValue().build();
+                index++;
+            }
+            return new Node(keys, nodes, replacement, wholeWord);
+        }
+    }
+}
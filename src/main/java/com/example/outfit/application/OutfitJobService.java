@@ -0,0 +1,240 @@
+package com.example.outfit.application;
+
+import com.example.outfit.domain.JobStatus;
+import com.example.outfit.domain.OutfitJob;
+import com.example.outfit.domain.OutfitSuggestion;
+import com.example.outfit.infra.http.UpstreamUnavailableException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 비동기 코디 추천 작업 큐
+ * 고정 크기 워커 풀과 크기가 제한된 대기 큐로 동시에 실행/대기하는 파이프라인 수를 제한하고,
+ * 큐가 가득 차면(작업 수 또는 대기 중인 이미지 총 바이트) 작업을 받지 않고 바로 거절한다 (호출자는 Retry-After 이후 재시도).
+ * 완료된 작업은 보관 기간이 지나면 주기적으로 정리한다.
+ */
+@Slf4j
+@Service
+public class OutfitJobService {
+
+    public static final String TYPE_RECOMMEND = "recommend";
+    public static final String TYPE_PRODUCTS = "products";
+
+    private final OutfitService outfitService;
+    private final ThreadPoolExecutor workers;
+    private final Duration retryAfter;
+    private final long retentionNanos;
+    private final long maxQueuedBytes;
+    private final LongSupplier nanoClock;
+    private final Disposable purger;
+
+    // 접수됐지만 아직 실행을 시작하지 않은 작업의 이미지 총 바이트
+    private final AtomicLong queuedBytes = new AtomicLong();
+
+    private final ConcurrentHashMap<String, Job> jobs = new ConcurrentHashMap<>();
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder totalWaitMillis = new LongAdder();
+    private final AtomicLong maxWaitMillis = new AtomicLong();
+
+    @Autowired
+    public OutfitJobService(
+            OutfitService outfitService,
+            @Value("${outfit.jobs.workers:8}") int workerCount,
+            @Value("${outfit.jobs.queue-capacity:100}") int queueCapacity,
+            @Value("${outfit.jobs.max-queued-bytes:268435456}") long maxQueuedBytes,
+            @Value("${outfit.jobs.retry-after:10s}") Duration retryAfter,
+            @Value("${outfit.jobs.retention:30m}") Duration retention) {
+        this(outfitService, workerCount, queueCapacity, maxQueuedBytes, retryAfter, retention, System::nanoTime);
+    }
+
+    OutfitJobService(OutfitService outfitService, int workerCount, int queueCapacity, long maxQueuedBytes,
+                     Duration retryAfter, Duration retention, LongSupplier nanoClock) {
+        this.outfitService = outfitService;
+        this.retryAfter = retryAfter;
+        this.retentionNanos = retention.toNanos();
+        this.maxQueuedBytes = maxQueuedBytes;
+        this.nanoClock = nanoClock;
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "outfit-job-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        // 조회가 없어도 보관 기간이 지난 결과(이미지 URL, 상품 목록)가 메모리에 남지 않도록 주기적으로 정리
+        long purgeIntervalMillis = Math.max(1000, Math.min(retention.toMillis() / 2, 60_000));
+        this.purger = Schedulers.parallel().schedulePeriodically(this::purgeExpired,
+                purgeIntervalMillis, purgeIntervalMillis, TimeUnit.MILLISECONDS);
+        log.info("작업 큐 설정 - 워커 {}개, 대기 큐 {}개 (최대 {} bytes), Retry-After {}, 보관 {}",
+                workerCount, queueCapacity, maxQueuedBytes, retryAfter, retention);
+    }
+
+    /**
+     * 작업 접수 (큐가 가득 차거나 대기 중인 이미지가 max-queued-bytes를 넘으면 JobQueueFullException)
+     *
+     * @param type       실행할 파이프라인 (recommend 또는 products)
+     * @param imageBytes 업로드된 이미지
+     * @return 접수된 작업 (QUEUED)
+     */
+    public OutfitJob submit(String type, byte[] imageBytes) {
+        if (!TYPE_RECOMMEND.equals(type) && !TYPE_PRODUCTS.equals(type)) {
+            throw new IllegalArgumentException("지원하지 않는 작업 종류: " + type);
+        }
+
+        // 대기 작업 하나가 업로드 이미지(최대 20MB)를 들고 있으므로 작업 수와 함께 총 바이트로도 제한
+        if (queuedBytes.addAndGet(imageBytes.length) > maxQueuedBytes) {
+            queuedBytes.addAndGet(-imageBytes.length);
+            rejected.increment();
+            log.warn("대기 중인 작업 이미지가 최대 크기를 넘어 거절합니다 (대기 {}개, {} bytes)",
+                    workers.getQueue().size(), queuedBytes.get());
+            throw new JobQueueFullException(retryAfter);
+        }
+
+        Job job = new Job(UUID.randomUUID().toString(), type);
+        jobs.put(job.id, job);
+        try {
+            workers.execute(() -> run(job, imageBytes));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            queuedBytes.addAndGet(-imageBytes.length);
+            rejected.increment();
+            log.warn("작업 큐가 가득 차서 거절합니다 (대기 {}개)", workers.getQueue().size());
+            throw new JobQueueFullException(retryAfter);
+        }
+        submitted.increment();
+        log.info("작업 접수: id={}, 종류={}, 대기 {}개", job.id, type, workers.getQueue().size());
+        return job.snapshot();
+    }
+
+    /**
+     * 작업 상태 조회 (없거나 보관 기간이 지났으면 empty)
+     */
+    public Optional<OutfitJob> find(String id) {
+        return Optional.ofNullable(jobs.get(id)).map(Job::snapshot);
+    }
+
+    public OutfitJobStats stats() {
+        long startedCount = started.sum();
+        return OutfitJobStats.builder()
+                .queueDepth(workers.getQueue().size())
+                .queueCapacity(workers.getQueue().size() + workers.getQueue().remainingCapacity())
+                .queuedBytes(queuedBytes.get())
+                .activeWorkers(workers.getActiveCount())
+                .workers(workers.getMaximumPoolSize())
+                .submitted(submitted.sum())
+                .rejected(rejected.sum())
+                .succeeded(succeeded.sum())
+                .failed(failed.sum())
+                .averageWaitMillis(startedCount == 0 ? 0 : totalWaitMillis.sum() / startedCount)
+                .maxWaitMillis(maxWaitMillis.get())
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        purger.dispose();
+        workers.shutdownNow();
+    }
+
+    private void run(Job job, byte[] imageBytes) {
+        queuedBytes.addAndGet(-imageBytes.length);
+        job.startedAt = Instant.now();
+        job.status = JobStatus.RUNNING;
+        long waitMillis = Duration.between(job.submittedAt, job.startedAt).toMillis();
+        started.increment();
+        totalWaitMillis.add(waitMillis);
+        maxWaitMillis.accumulateAndGet(waitMillis, Math::max);
+        log.info("작업 실행 시작: id={}, 큐 대기 {} ms", job.id, waitMillis);
+
+        try {
+            OutfitSuggestion result = TYPE_PRODUCTS.equals(job.type)
+                    ? outfitService.processProductRecommendation(imageBytes)
+                    : outfitService.processOutfitRecommendation(imageBytes);
+            job.result = result;
+            job.finish(JobStatus.SUCCEEDED, nanoClock.getAsLong());
+            succeeded.increment();
+            log.info("작업 완료: id={}", job.id);
+        } catch (Exception e) {
+            log.error("작업 실패: id={}", job.id, e);
+            // 예외 메시지에는 내부 정보(외부 API 응답, 경로 등)가 들어 있을 수 있으므로 고정 문구만 돌려준다
+            job.error = e instanceof UpstreamUnavailableException
+                    ? "외부 API를 일시적으로 사용할 수 없습니다. 잠시 후 다시 시도해 주세요."
+                    : "코디 추천 처리 실패";
+            job.finish(JobStatus.FAILED, nanoClock.getAsLong());
+            failed.increment();
+        }
+    }
+
+    void purgeExpired() {
+        long now = nanoClock.getAsLong();
+        jobs.values().removeIf(job -> job.finishedAtNanos != 0 && now - job.finishedAtNanos > retentionNanos);
+    }
+
+    /**
+     * 작업 진행 상태 (워커 스레드가 갱신하고 조회 요청 스레드가 읽음)
+     */
+    private static final class Job {
+
+        private final String id;
+        private final String type;
+        private final Instant submittedAt = Instant.now();
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+        private volatile long finishedAtNanos;
+        private volatile OutfitSuggestion result;
+        private volatile String error;
+        private volatile JobStatus status = JobStatus.QUEUED;
+
+        private Job(String id, String type) {
+            this.id = id;
+            this.type = type;
+        }
+
+        private void finish(JobStatus finalStatus, long nowNanos) {
+            finishedAt = Instant.now();
+            finishedAtNanos = nowNanos;
+            status = finalStatus;
+        }
+
+        private OutfitJob snapshot() {
+            JobStatus current = status;
+            return OutfitJob.builder()
+                    .id(id)
+                    .type(type)
+                    .status(current)
+                    .submittedAt(submittedAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .result(current == JobStatus.SUCCEEDED ? result : null)
+                    .error(current == JobStatus.FAILED ? error : null)
+                    .build();
+        }
+    }
+}
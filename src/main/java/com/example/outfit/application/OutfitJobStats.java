@@ -0,0 +1,47 @@
+package com.example.outfit.application;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * 작업 큐 통계 스냅샷
+ */
+@Value
+@Builder
+@Schema(description = "작업 큐 통계")
+public class OutfitJobStats {
+
+    @Schema(description = "현재 큐에서 대기 중인 작업 수")
+    int queueDepth;
+
+    @Schema(description = "대기 큐 최대 크기")
+    int queueCapacity;
+
+    @Schema(description = "대기 중인 작업의 업로드 이미지 총 바이트")
+    long queuedBytes;
+
+    @Schema(description = "현재 실행 중인 작업 수")
+    int activeWorkers;
+
+    @Schema(description = "워커 수")
+    int workers;
+
+    @Schema(description = "접수된 작업 수")
+    long submitted;
+
+    @Schema(description = "큐가 가득 차서 거절된 작업 수")
+    long rejected;
+
+    @Schema(description = "성공한 작업 수")
+    long succeeded;
+
+    @Schema(description = "실패한 작업 수")
+    long failed;
+
+    @Schema(description = "실행 시작까지 평균 큐 대기 시간 (ms)")
+    long averageWaitMillis;
+
+    @Schema(description = "실행 시작까지 최대 큐 대기 시간 (ms)")
+    long maxWaitMillis;
+}
@@ -0,0 +1,29 @@
+package com.example.outfit.application;
+
+import com.example.outfit.domain.FashionAttributes;
+import com.example.outfit.domain.ProductCandidate;
+
+import java.util.List;
+
+/**
+ * 파이프라인 중간 결과 수신기
+ * 각 단계가 끝나는 즉시 해당 단계를 실행한 스레드에서 호출된다 (병렬 단계는 동시에 호출될 수 있음).
+ * 구현체에서 던진 예외는 파이프라인을 실패시키므로, 전송 실패 등은 구현체에서 처리해야 한다.
+ */
+public interface OutfitProgressListener {
+
+    OutfitProgressListener NONE = new OutfitProgressListener() {
+    };
+
+    default void onAttributes(FashionAttributes attributes) {
+    }
+
+    default void onRecommendedProduct(String recommendedProduct) {
+    }
+
+    default void onProducts(List<ProductCandidate> products) {
+    }
+
+    default void onOutfitImage(String outfitImageUrl) {
+    }
+}
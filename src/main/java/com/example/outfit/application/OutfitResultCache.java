@@ -0,0 +1,232 @@
+package com.example.outfit.application;
+
+import com.example.outfit.domain.FashionAttributes;
+import com.example.outfit.domain.OutfitSuggestion;
+import com.example.outfit.domain.ProductCandidate;
+import com.example.outfit.infra.cache.CacheStats;
+import com.example.outfit.infra.cache.ContentHash;
+import com.example.outfit.infra.cache.ReportableCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 업로드 이미지 해시 + 엔드포인트 기준 전체 결과(OutfitSuggestion) 캐시
+ * 총 바이트 추정치로 용량을 제한하고, TTL 만료 및 LRU 순서로 축출한다.
+ */
+@Slf4j
+@Component
+public class OutfitResultCache implements ReportableCache {
+
+    private final long maxBytes;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    // accessOrder=true: 조회할 때마다 뒤로 이동하므로 앞쪽이 가장 오래 사용되지 않은 항목
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long weightBytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    @Autowired
+    public OutfitResultCache(
+            @Value("${outfit.cache.result.max-bytes:268435456}") long maxBytes,
+            @Value("${outfit.cache.result.ttl:10m}") Duration ttl) {
+        this(maxBytes, ttl, System::nanoTime);
+    }
+
+    /**
+     * @param nanoClock 현재 시각 (나노초, 테스트에서 교체)
+     */
+    OutfitResultCache(long maxBytes, Duration ttl, LongSupplier nanoClock) {
+        this.maxBytes = maxBytes;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+        log.info("결과 캐시 설정 - 최대 {} bytes, TTL {}", maxBytes, ttl);
+    }
+
+    /**
+     * 캐시에 있으면 바로 반환하고, 없으면 파이프라인을 실행한 뒤 저장
+     *
+     * @param endpoint 엔드포인트 구분자 (같은 이미지라도 엔드포인트별로 결과가 다름)
+     */
+    public OutfitSuggestion getOrCompute(String endpoint, byte[] imageBytes, Supplier<OutfitSuggestion> pipeline) {
+        return lookup(endpoint, imageBytes, pipeline).suggestion();
+    }
+
+    /**
+     * getOrCompute와 같지만 결과가 캐시에서 왔는지도 함께 반환
+     */
+    public Lookup lookup(String endpoint, byte[] imageBytes, Supplier<OutfitSuggestion> pipeline) {
+        if (maxBytes <= 0) {
+            return new Lookup(pipeline.get(), false);
+        }
+
+        String key = endpoint + ":" + ContentHash.sha256(imageBytes);
+        OutfitSuggestion cached = get(key);
+        if (cached != null) {
+            log.info("결과 캐시 적중: {}", key);
+            return new Lookup(cached, true);
+        }
+
+        OutfitSuggestion suggestion = pipeline.get();
+        put(key, suggestion);
+        return new Lookup(suggestion, false);
+    }
+
+    /**
+     * 조회 결과
+     *
+     * @param cached true면 캐시에서 꺼낸 결과, false면 이번에 파이프라인을 실행한 결과
+     */
+    public record Lookup(OutfitSuggestion suggestion, boolean cached) {
+    }
+
+    /**
+     * getOrCompute의 논블로킹 버전
+     */
+    public Mono<OutfitSuggestion> getOrComputeAsync(String endpoint, byte[] imageBytes,
+                                                   Supplier<Mono<OutfitSuggestion>> pipeline) {
+        if (maxBytes <= 0) {
+            return Mono.defer(pipeline);
+        }
+
+        return Mono.defer(() -> {
+            String key = endpoint + ":" + ContentHash.sha256(imageBytes);
+            OutfitSuggestion cached = get(key);
+            if (cached != null) {
+                log.info("결과 캐시 적중: {}", key);
+                return Mono.just(cached);
+            }
+            return pipeline.get().doOnNext(suggestion -> put(key, suggestion));
+        });
+    }
+
+    @Override
+    public synchronized CacheStats stats() {
+        return CacheStats.builder()
+                .name("outfit-result")
+                .hits(hits)
+                .misses(misses)
+                .evictions(evictions)
+                .size(entries.size())
+                .weightBytes(weightBytes)
+                .build();
+    }
+
+    private synchronized OutfitSuggestion get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (entry.isExpired(nanoClock.getAsLong())) {
+            entries.remove(key);
+            weightBytes -= entry.weight;
+            evictions++;
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value;
+    }
+
+    private synchronized void put(String key, OutfitSuggestion suggestion) {
+        if (suggestion.isDegraded()) {
+            // 외부 API가 회복되면 온전한 결과를 받을 수 있도록 일부가 빠진 결과는 저장하지 않음
+            return;
+        }
+        long weight = estimateBytes(key, suggestion);
+        if (weight > maxBytes) {
+            log.warn("결과가 캐시 최대 크기보다 커서 저장하지 않습니다: {} bytes", weight);
+            return;
+        }
+
+        long now = nanoClock.getAsLong();
+        Entry previous = entries.put(key, new Entry(suggestion, weight, now + ttlNanos));
+        if (previous != null) {
+            weightBytes -= previous.weight;
+        }
+        weightBytes += weight;
+
+        // 앞쪽(LRU)부터 만료 항목과 용량 초과분 축출 (방금 넣은 항목은 맨 뒤)
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Entry candidate = iterator.next().getValue();
+            if (candidate.value == suggestion) {
+                break;
+            }
+            if (weightBytes <= maxBytes && !candidate.isExpired(now)) {
+                continue;
+            }
+            iterator.remove();
+            weightBytes -= candidate.weight;
+            evictions++;
+        }
+    }
+
+    /**
+     * 결과 크기 추정 (문자열은 char당 2바이트, outfitImageUrl이 대부분을 차지)
+     */
+    private long estimateBytes(String key, OutfitSuggestion suggestion) {
+        long bytes = 64 + sizeOf(key)
+                + sizeOf(suggestion.getDescription())
+                + sizeOf(suggestion.getOutfitImageUrl())
+                + sizeOf(suggestion.getPrompt())
+                + sizeOf(suggestion.getSearchQuery());
+        if (suggestion.getProducts() != null) {
+            for (ProductCandidate product : suggestion.getProducts()) {
+                bytes += 48 + sizeOf(product.getTitle())
+                        + sizeOf(product.getImageUrl())
+                        + sizeOf(product.getLink())
+                        + sizeOf(product.getSnippet())
+                        + sizeOf(product.getSearchQuery());
+            }
+        }
+        FashionAttributes attributes = suggestion.getAttributes();
+        if (attributes != null) {
+            bytes += 64 + sizeOf(attributes.getStyle())
+                    + sizeOf(attributes.getClothingType())
+                    + sizeOf(attributes.getPattern())
+                    + sizeOf(attributes.getSeason())
+                    + sizeOf(attributes.getMaterial())
+                    + sizeOf(attributes.getColors())
+                    + sizeOf(attributes.getAdditionalAttributes());
+        }
+        return bytes;
+    }
+
+    private long sizeOf(String value) {
+        return value == null ? 0 : 40 + 2L * value.length();
+    }
+
+    private long sizeOf(List<String> values) {
+        if (values == null) {
+            return 0;
+        }
+        long bytes = 32;
+        for (String value : values) {
+            bytes += 8 + sizeOf(value);
+        }
+        return bytes;
+    }
+
+    private record Entry(OutfitSuggestion value, long weight, long expiresAtNanos) {
+
+        boolean isExpired(long now) {
+            return now - expiresAtNanos > 0;
+        }
+    }
+}
@@ -1,16 +1,26 @@
 package com.example.outfit.application;
 
+import com.example.outfit.application.StageGraph.Stage;
 import com.example.outfit.domain.FashionAttributes;
+import com.example.outfit.domain.OutfitAnalysis;
 import com.example.outfit.domain.OutfitSuggestion;
 import com.example.outfit.domain.ProductCandidate;
 import com.example.outfit.infra.google.GoogleImageSearchClient;
+import com.example.outfit.infra.http.UpstreamUnavailableException;
+import com.example.outfit.infra.image.ImageArtifact;
+import com.example.outfit.infra.image.ImagePreprocessor;
 import com.example.outfit.infra.nanobanana.NanoBananaClient;
+import com.example.outfit.infra.storage.ImageStore;
 import com.example.outfit.infra.vision.VisionClient;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
 
 /**
  * 코디 추천 파이프라인 오케스트레이션
@@ -20,127 +30,356 @@ import java.util.List;
 @RequiredArgsConstructor
 public class OutfitService {
 
+    private static final String OUTFIT_PIPELINE = "코디 추천";
+    private static final String PRODUCT_PIPELINE = "제품 추천";
+
     private final VisionClient visionClient;
     private final OutfitRuleEngine outfitRuleEngine;
     private final PromptGenerator promptGenerator;
     private final NanoBananaClient nanoBananaClient;
     private final GoogleImageSearchClient googleImageSearchClient;
+    private final OutfitResultCache outfitResultCache;
+    private final ImageStore imageStore;
+    private final ImagePreprocessor imagePreprocessor;
+    private final Executor pipelineExecutor;
+    private final PipelineMetrics pipelineMetrics;
 
     /**
-     * 이미지 업로드 → 전체 파이프라인 실행
+     * 이미지 업로드 → 전체 파이프라인 실행 (같은 이미지는 결과 캐시에서 반환)
      */
     public OutfitSuggestion processOutfitRecommendation(byte[] imageBytes) {
+        return outfitResultCache.getOrCompute("recommend", imageBytes,
+                () -> runOutfitRecommendation(ImageArtifact.of(imageBytes)));
+    }
+
+    /**
+     * 코디 추천 파이프라인을 실행하면서 단계 결과가 나오는 즉시 listener로 전달
+     * 결과 캐시에 있으면 외부 API를 호출하지 않고 캐시된 결과(속성 포함)로 같은 순서의 이벤트를 바로 전달한다.
+     */
+    public OutfitSuggestion streamOutfitRecommendation(byte[] imageBytes, OutfitProgressListener listener) {
+        OutfitResultCache.Lookup lookup = outfitResultCache.lookup("recommend", imageBytes,
+                () -> runOutfitRecommendation(ImageArtifact.of(imageBytes), listener));
+
+        OutfitSuggestion suggestion = lookup.suggestion();
+        if (lookup.cached()) {
+            if (suggestion.getAttributes() != null) {
+                listener.onAttributes(suggestion.getAttributes());
+            }
+            listener.onRecommendedProduct(suggestion.getSearchQuery());
+            listener.onProducts(suggestion.getProducts());
+            if (suggestion.getOutfitImageUrl() != null) {
+                listener.onOutfitImage(suggestion.getOutfitImageUrl());
+            }
+        }
+        return suggestion;
+    }
+
+    private OutfitSuggestion runOutfitRecommendation(ImageArtifact upload) {
+        return runOutfitRecommendation(upload, OutfitProgressListener.NONE);
+    }
+
+    /**
+     * 코디 추천 파이프라인
+     * 상품 검색과 코디 이미지 생성은 추천 제품명에만 의존하므로 병렬로 실행된다.
+     * 외부 API에는 전처리(축소/재인코딩)한 업로드 이미지를 보내고, 결과 캐시 키는 원본 바이트를 쓴다.
+     * Nano Banana 호출이 차단되면(서킷 열림, 동시 호출 한도 초과) 코디 이미지 없이 degraded 결과를 반환한다.
+     */
+    private OutfitSuggestion runOutfitRecommendation(ImageArtifact upload, OutfitProgressListener listener) {
         log.info("코디 추천 파이프라인 시작");
+        StageGraph graph = new StageGraph(OUTFIT_PIPELINE, pipelineExecutor, pipelineMetrics);
+
+        // 0. 업로드 이미지 축소 및 재인코딩
+        Stage<ImageArtifact> preparedImage = graph.stage("업로드 이미지 전처리",
+                () -> imagePreprocessor.prepare(upload));
 
-        // 1. 원본 이미지 속성 추출 (먼저 속성 추출)
-        log.info("1단계: 원본 이미지 속성 추출 중...");
-        FashionAttributes attributes = visionClient.extractAttributes(imageBytes);
-        log.info("추출된 속성: {}", attributes);
-
-        // 2. 속성 기반으로 AI에게 어울리는 옷 하나만 추천받기
-        log.info("2단계: 속성 기반으로 AI에게 어울리는 옷 하나만 추천받는 중...");
-        String recommendedProduct = visionClient.extractRecommendedProductName(imageBytes, attributes);
-        log.info("AI가 추천한 제품: '{}'", recommendedProduct);
-        
-        // 3. AI 추천 제품명 하나만으로 검색
-        log.info("3단계: AI 추천 제품명으로 검색 중...");
-        log.info("검색에 사용할 제품명: '{}'", recommendedProduct);
-        List<ProductCandidate> products = googleImageSearchClient.searchProducts(recommendedProduct, 20);
-        log.info("검색된 상품 수: {}", products.size());
+        // 1~2. 원본 이미지 속성 + 어울리는 옷 하나를 한 번의 Vision 호출로 추출
+        Stage<OutfitAnalysis> analysis = graph.stage("원본 이미지 분석 및 AI 추천 제품명 추출", preparedImage, prepared -> {
+            OutfitAnalysis analyzed = visionClient.analyzeOutfit(prepared);
+            listener.onAttributes(analyzed.getAttributes());
+            listener.onRecommendedProduct(analyzed.getRecommendedProduct());
+            return analyzed;
+        });
+
+        // 3. AI 추천 제품명 하나만으로 검색 (4~6단계와 병렬)
+        Stage<List<ProductCandidate>> products = graph.stage("추천 제품명으로 상품 검색", analysis, analyzed -> {
+            List<ProductCandidate> found = googleImageSearchClient.searchProducts(analyzed.getRecommendedProduct(), 20);
+            listener.onProducts(found);
+            return found;
+        });
 
         // 4. 원본 옷 + 추천 옷 합쳐진 코디 텍스트 생성
-        log.info("4단계: 원본 옷 + 추천 옷 합쳐진 코디 텍스트 생성 중...");
-        String outfitText = outfitRuleEngine.generateOutfitText(attributes);
-        String combinedOutfitText = outfitText + " + " + recommendedProduct;
-        log.info("생성된 코디 텍스트: {}", combinedOutfitText);
+        Stage<String> combinedOutfitText = graph.stage("코디 텍스트 생성", analysis,
+                analyzed -> outfitRuleEngine.generateOutfitText(analyzed.getAttributes())
+                        + " + " + analyzed.getRecommendedProduct());
 
         // 5. 원본 옷 + 추천 옷 합쳐진 코디 이미지 생성 프롬프트 생성
-        log.info("5단계: 코디 이미지 생성 프롬프트 생성 중...");
-        String prompt = promptGenerator.translateToEnglishPrompt(combinedOutfitText);
-        log.info("생성된 프롬프트: {}", prompt);
+        Stage<String> prompt = graph.stage("코디 이미지 프롬프트 생성", combinedOutfitText,
+                promptGenerator::translateToEnglishPrompt);
 
-        // 6. Nano Banana로 원본 옷 + 추천 옷 합쳐진 코디 이미지 생성 (원본 이미지 포함)
-        log.info("6단계: 원본 이미지를 참고하여 추천 옷을 입은 코디 이미지 생성 중...");
-        String outfitImageUrl = nanoBananaClient.generateImage(imageBytes, prompt);
-        log.info("생성된 코디 이미지 URL: {}", outfitImageUrl);
+        // 6. Nano Banana로 원본 옷 + 추천 옷 합쳐진 코디 이미지 생성 (원본 이미지 포함, 차단되면 이미지 없이 진행)
+        Stage<String> outfitImageUrl = graph.stage("코디 이미지 생성", preparedImage, prompt, (prepared, generatedPrompt) -> {
+            String imageUrl = generateImageOrSkip(prepared, generatedPrompt);
+            if (imageUrl != null) {
+                listener.onOutfitImage(imageUrl);
+            }
+            return imageUrl;
+        });
 
         // 결과 조합
         OutfitSuggestion suggestion = OutfitSuggestion.builder()
-                .description(combinedOutfitText)
-                .outfitImageUrl(outfitImageUrl)
-                .prompt(prompt)
-                .searchQuery(recommendedProduct)
-                .products(products)
+                .description(combinedOutfitText.join())
+                .outfitImageUrl(outfitImageUrl.join())
+                .prompt(prompt.join())
+                .searchQuery(analysis.join().getRecommendedProduct())
+                .products(products.join())
+                .degraded(outfitImageUrl.join() == null)
+                .attributes(analysis.join().getAttributes())
                 .build();
 
+        log.info("AI가 추천한 제품: '{}', 검색된 상품 수: {}", suggestion.getSearchQuery(), suggestion.getProducts().size());
         log.info("코디 추천 파이프라인 완료");
         return suggestion;
     }
 
 
     /**
-     * Data URL에서 이미지 바이트 추출
+     * 이미지 업로드 → 전체 파이프라인 실행 (논블로킹, 같은 이미지는 결과 캐시에서 반환)
+     */
+    public Mono<OutfitSuggestion> processOutfitRecommendationAsync(byte[] imageBytes) {
+        return outfitResultCache.getOrComputeAsync("recommend", imageBytes,
+                () -> composeOutfitRecommendation(ImageArtifact.of(imageBytes)));
+    }
+
+    /**
+     * 코디 추천 파이프라인 (논블로킹)
+     * 여러 단계가 쓰는 결과는 cache()로 공유해 한 번만 실행하고,
+     * 상품 검색과 코디 이미지 생성은 zip이 동시에 구독하므로 병렬로 진행된다.
+     * 단계 이름과 실행 시간 지표는 블로킹 파이프라인과 같다.
+     */
+    private Mono<OutfitSuggestion> composeOutfitRecommendation(ImageArtifact upload) {
+        log.info("코디 추천 파이프라인 시작 (논블로킹)");
+
+        // 이미지 디코딩/인코딩은 CPU 작업이므로 이벤트 루프가 아닌 parallel 스케줄러에서 실행
+        Mono<ImageArtifact> preparedImage = timed(OUTFIT_PIPELINE, "업로드 이미지 전처리",
+                Mono.fromCallable(() -> imagePreprocessor.prepare(upload)).subscribeOn(Schedulers.parallel()))
+                .cache();
+
+        Mono<OutfitAnalysis> analysis = preparedImage
+                .flatMap(prepared -> timed(OUTFIT_PIPELINE, "원본 이미지 분석 및 AI 추천 제품명 추출",
+                        visionClient.analyzeOutfitAsync(prepared)))
+                .doOnNext(analyzed -> log.info("AI가 추천한 제품: '{}'", analyzed.getRecommendedProduct()))
+                .cache();
+
+        Mono<List<ProductCandidate>> products = analysis
+                .flatMap(analyzed -> timed(OUTFIT_PIPELINE, "추천 제품명으로 상품 검색",
+                        googleImageSearchClient.searchProductsAsync(analyzed.getRecommendedProduct(), 20)));
+
+        Mono<String> combinedOutfitText = analysis
+                .flatMap(analyzed -> timed(OUTFIT_PIPELINE, "코디 텍스트 생성",
+                        Mono.fromSupplier(() -> outfitRuleEngine.generateOutfitText(analyzed.getAttributes())
+                                + " + " + analyzed.getRecommendedProduct())))
+                .cache();
+
+        Mono<String> prompt = combinedOutfitText
+                .flatMap(text -> timed(OUTFIT_PIPELINE, "코디 이미지 프롬프트 생성",
+                        Mono.fromSupplier(() -> promptGenerator.translateToEnglishPrompt(text))))
+                .cache();
+
+        Mono<Optional<String>> outfitImageUrl = Mono.zip(preparedImage, prompt)
+                .flatMap(inputs -> timed(OUTFIT_PIPELINE, "코디 이미지 생성",
+                        generateImageOrSkipAsync(inputs.getT1(), inputs.getT2())));
+
+        return Mono.zip(analysis, combinedOutfitText, prompt, products, outfitImageUrl)
+                .map(results -> OutfitSuggestion.builder()
+                        .description(results.getT2())
+                        .outfitImageUrl(results.getT5().orElse(null))
+                        .prompt(results.getT3())
+                        .searchQuery(results.getT1().getRecommendedProduct())
+                        .products(results.getT4())
+                        .degraded(results.getT5().isEmpty())
+                        .attributes(results.getT1().getAttributes())
+                        .build())
+                .doOnNext(suggestion -> log.info("코디 추천 파이프라인 완료 (논블로킹) - 검색된 상품 수: {}",
+                        suggestion.getProducts().size()));
+    }
+
+    private <T> Mono<T> timed(String pipeline, String stage, Mono<T> source) {
+        return pipelineMetrics.timed(pipeline, stage, source);
+    }
+
+    /**
+     * 코디 이미지 생성 (Nano Banana 서킷이 열려 있거나 동시 호출 한도에 차면 null)
+     * 이미 끝난 이미지 분석과 상품 검색 결과는 버리지 않고 이미지 없이 응답하기 위해 사용한다.
      */
-    private byte[] extractImageBytesFromDataUrl(String dataUrl) {
+    private String generateImageOrSkip(ImageArtifact image, String prompt) {
         try {
-            // data:image/png;base64,xxxxx 형식에서 base64 부분만 추출
-            String base64Data = dataUrl.substring(dataUrl.indexOf(",") + 1);
-            return java.util.Base64.getDecoder().decode(base64Data);
+            return nanoBananaClient.generateImage(image, prompt);
+        } catch (UpstreamUnavailableException e) {
+            log.warn("코디 이미지 생성 생략 (이미지 없이 응답): {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * generateImageOrSkip의 논블로킹 버전 (생략하면 빈 Optional)
+     */
+    private Mono<Optional<String>> generateImageOrSkipAsync(ImageArtifact image, String prompt) {
+        return nanoBananaClient.generateImageAsync(image, prompt)
+                .map(Optional::of)
+                .onErrorResume(UpstreamUnavailableException.class, e -> {
+                    log.warn("코디 이미지 생성 생략 (이미지 없이 응답): {}", e.getMessage());
+                    return Mono.just(Optional.empty());
+                });
+    }
+
+    /**
+     * 생성 이미지 URL에서 이미지 읽기 (이미지 저장소 URL 또는 Data URL)
+     * Data URL이면 base64를 디코딩했다가 다시 인코딩하지 않고 그대로 Vision 요청에 사용한다.
+     */
+    private ImageArtifact loadGeneratedImage(String imageUrl) {
+        try {
+            if (!imageUrl.startsWith("data:")) {
+                return imageStore.load(imageUrl);
+            }
+            return ImageArtifact.fromDataUrl(imageUrl);
         } catch (Exception e) {
-            log.error("Data URL에서 이미지 바이트 추출 실패", e);
+            log.error("생성 이미지 바이트 읽기 실패", e);
             throw new RuntimeException("이미지 바이트 추출 실패: " + e.getMessage(), e);
         }
     }
 
     /**
-     * 이미지 업로드 → 제품 목록 추천 (이미지 생성 포함)
+     * 이미지 업로드 → 제품 목록 추천 (이미지 생성 포함, 같은 이미지는 결과 캐시에서 반환)
      */
     public OutfitSuggestion processProductRecommendation(byte[] imageBytes) {
+        return outfitResultCache.getOrCompute("products", imageBytes,
+                () -> runProductRecommendation(ImageArtifact.of(imageBytes)));
+    }
+
+    /**
+     * 제품 추천 파이프라인
+     * 각 단계가 이전 단계 결과에 의존하므로 그래프가 순차 실행한다.
+     */
+    private OutfitSuggestion runProductRecommendation(ImageArtifact upload) {
         log.info("제품 추천 파이프라인 시작 (이미지 생성 포함)");
+        StageGraph graph = new StageGraph(PRODUCT_PIPELINE, pipelineExecutor, pipelineMetrics);
+
+        // 0. 업로드 이미지 축소 및 재인코딩
+        Stage<ImageArtifact> preparedImage = graph.stage("업로드 이미지 전처리",
+                () -> imagePreprocessor.prepare(upload));
 
         // 1. Vision API로 속성 추출
-        log.info("1단계: 이미지 속성 추출 중...");
-        FashionAttributes attributes = visionClient.extractAttributes(imageBytes);
-        log.info("추출된 속성: {}", attributes);
+        Stage<FashionAttributes> attributes = graph.stage("이미지 속성 추출", preparedImage,
+                visionClient::extractAttributes);
 
         // 2. 속성 → 코디 텍스트 생성
-        log.info("2단계: 코디 텍스트 생성 중...");
-        String outfitText = outfitRuleEngine.generateOutfitText(attributes);
-        log.info("생성된 코디 텍스트: {}", outfitText);
+        Stage<String> outfitText = graph.stage("코디 텍스트 생성", attributes,
+                outfitRuleEngine::generateOutfitText);
 
         // 3. 코디 텍스트 → 프롬프트 생성
-        log.info("3단계: 이미지 생성 프롬프트 생성 중...");
-        String prompt = promptGenerator.translateToEnglishPrompt(outfitText);
-        log.info("생성된 프롬프트: {}", prompt);
+        Stage<String> prompt = graph.stage("이미지 생성 프롬프트 생성", outfitText,
+                promptGenerator::translateToEnglishPrompt);
 
-        // 4. Nano Banana로 코디 이미지 생성
-        log.info("4단계: 코디 이미지 생성 중...");
-        String outfitImageUrl = nanoBananaClient.generateImage(prompt);
-        log.info("생성된 코디 이미지 URL: {}", outfitImageUrl);
+        // 4. Nano Banana로 코디 이미지 생성 (차단되면 이미지 없이 진행)
+        Stage<String> outfitImageUrl = graph.stage("코디 이미지 생성", prompt,
+                generatedPrompt -> generateImageOrSkip(null, generatedPrompt));
 
         // 5. 생성된 코디 이미지에서 AI에게 옷 하나만 추천받기
-        log.info("5단계: 생성된 코디 이미지에서 AI에게 옷 하나만 추천받는 중...");
-        byte[] generatedImageBytes = extractImageBytesFromDataUrl(outfitImageUrl);
-        String recommendedProduct = visionClient.extractRecommendedProductName(generatedImageBytes);
-        log.info("AI가 추천한 제품: {}", recommendedProduct);
-        
+        // 이미지 생성이 생략되면 원본 이미지 + 속성으로 추천 (속성 단계가 끝났으므로 전처리 결과는 이미 준비됨)
+        Stage<String> recommendedProduct = graph.stage("생성 이미지에서 AI 추천 제품명 추출", outfitImageUrl, attributes,
+                (imageUrl, extracted) -> imageUrl != null
+                        ? visionClient.extractRecommendedProductName(loadGeneratedImage(imageUrl))
+                        : visionClient.extractRecommendedProductName(preparedImage.join(), extracted));
+
         // 추천 제품 하나만 검색
-        List<ProductCandidate> products = googleImageSearchClient.searchProducts(recommendedProduct, 20);
-        log.info("검색된 상품 수: {}", products.size());
+        Stage<List<ProductCandidate>> products = graph.stage("추천 제품명으로 상품 검색", recommendedProduct,
+                query -> googleImageSearchClient.searchProducts(query, 20));
 
         // 결과 조합
         OutfitSuggestion suggestion = OutfitSuggestion.builder()
-                .description(outfitText)
-                .outfitImageUrl(outfitImageUrl)
-                .prompt(prompt)
-                .searchQuery(recommendedProduct)
-                .products(products)
+                .description(outfitText.join())
+                .outfitImageUrl(outfitImageUrl.join())
+                .prompt(prompt.join())
+                .searchQuery(recommendedProduct.join())
+                .products(products.join())
+                .degraded(outfitImageUrl.join() == null)
+                .attributes(attributes.join())
                 .build();
 
+        log.info("AI가 추천한 제품: {}, 검색된 상품 수: {}", suggestion.getSearchQuery(), suggestion.getProducts().size());
         log.info("제품 추천 파이프라인 완료");
         return suggestion;
     }
 
+    /**
+     * 이미지 업로드 → 제품 목록 추천 (논블로킹, 같은 이미지는 결과 캐시에서 반환)
+     */
+    public Mono<OutfitSuggestion> processProductRecommendationAsync(byte[] imageBytes) {
+        return outfitResultCache.getOrComputeAsync("products", imageBytes,
+                () -> composeProductRecommendation(ImageArtifact.of(imageBytes)));
+    }
+
+    /**
+     * 제품 추천 파이프라인 (논블로킹)
+     */
+    private Mono<OutfitSuggestion> composeProductRecommendation(ImageArtifact upload) {
+        log.info("제품 추천 파이프라인 시작 (논블로킹)");
+
+        Mono<ImageArtifact> preparedImage = timed(PRODUCT_PIPELINE, "업로드 이미지 전처리",
+                Mono.fromCallable(() -> imagePreprocessor.prepare(upload)).subscribeOn(Schedulers.parallel()))
+                .cache();
+
+        Mono<FashionAttributes> attributes = preparedImage
+                .flatMap(prepared -> timed(PRODUCT_PIPELINE, "이미지 속성 추출",
+                        visionClient.extractAttributesAsync(prepared)))
+                .cache();
+
+        Mono<String> outfitText = attributes
+                .flatMap(extracted -> timed(PRODUCT_PIPELINE, "코디 텍스트 생성",
+                        Mono.fromSupplier(() -> outfitRuleEngine.generateOutfitText(extracted))))
+                .cache();
+
+        Mono<String> prompt = outfitText
+                .flatMap(text -> timed(PRODUCT_PIPELINE, "이미지 생성 프롬프트 생성",
+                        Mono.fromSupplier(() -> promptGenerator.translateToEnglishPrompt(text))))
+                .cache();
+
+        Mono<Optional<String>> outfitImageUrl = prompt
+                .flatMap(generatedPrompt -> timed(PRODUCT_PIPELINE, "코디 이미지 생성",
+                        generateImageOrSkipAsync(null, generatedPrompt)))
+                .cache();
+
+        // 이미지 생성이 생략되면 원본 이미지 + 속성으로 추천
+        Mono<String> recommendedProduct = outfitImageUrl
+                .flatMap(imageUrl -> imageUrl.isPresent()
+                        ? timed(PRODUCT_PIPELINE, "생성 이미지에서 AI 추천 제품명 추출",
+                                Mono.fromCallable(() -> loadGeneratedImage(imageUrl.get()))
+                                        .subscribeOn(Schedulers.boundedElastic())
+                                        .flatMap(visionClient::extractRecommendedProductNameAsync))
+                        : Mono.zip(preparedImage, attributes)
+                                .flatMap(inputs -> timed(PRODUCT_PIPELINE, "생성 이미지에서 AI 추천 제품명 추출",
+                                        visionClient.extractRecommendedProductNameAsync(inputs.getT1(), inputs.getT2()))))
+                .doOnNext(product -> log.info("AI가 추천한 제품: {}", product))
+                .cache();
+
+        Mono<List<ProductCandidate>> products = recommendedProduct
+                .flatMap(query -> timed(PRODUCT_PIPELINE, "추천 제품명으로 상품 검색",
+                        googleImageSearchClient.searchProductsAsync(query, 20)));
+
+        return Mono.zip(outfitText, prompt, outfitImageUrl, recommendedProduct, products, attributes)
+                .map(results -> OutfitSuggestion.builder()
+                        .description(results.getT1())
+                        .outfitImageUrl(results.getT3().orElse(null))
+                        .prompt(results.getT2())
+                        .searchQuery(results.getT4())
+                        .products(results.getT5())
+                        .degraded(results.getT3().isEmpty())
+                        .attributes(results.getT6())
+                        .build())
+                .doOnNext(suggestion -> log.info("제품 추천 파이프라인 완료 (논블로킹) - 검색된 상품 수: {}",
+                        suggestion.getProducts().size()));
+    }
+
 }
 
 
@@ -0,0 +1,72 @@
+package com.example.outfit.application;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * 파이프라인 단계별 실행 시간 지표 (outfit.pipeline.stage)
+ * pipeline, stage 태그는 로그의 파이프라인/단계 이름과 같고, outcome은 success, error, cancelled 중 하나다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PipelineMetrics {
+
+    public static final String STAGE_TIMER = "outfit.pipeline.stage";
+
+    // 이미지 생성 단계는 응답 타임아웃(120초)까지 걸릴 수 있으므로 히스토그램 구간을 기본값(30초)보다 넓힌다
+    private static final Duration MAX_EXPECTED = Duration.ofMinutes(3);
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 단계 실행 시간 기록 (블로킹)
+     */
+    public <T> T record(String pipeline, String stage, Supplier<T> task) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            T result = task.get();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(timer(pipeline, stage, outcome));
+        }
+    }
+
+    /**
+     * 단계 실행 시간 기록 (논블로킹, 구독부터 완료/오류/취소까지)
+     * 선행 단계를 기다리는 시간이 섞이지 않도록 선행 결과를 받은 뒤(flatMap/map 안에서) 감싸야 한다.
+     */
+    public <T> Mono<T> timed(String pipeline, String stage, Mono<T> source) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return source.doFinally(signal -> sample.stop(timer(pipeline, stage, outcome(signal))));
+        });
+    }
+
+    private Timer timer(String pipeline, String stage, String outcome) {
+        return Timer.builder(STAGE_TIMER)
+                .description("파이프라인 단계 실행 시간")
+                .tag("pipeline", pipeline)
+                .tag("stage", stage)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(MAX_EXPECTED)
+                .register(meterRegistry);
+    }
+
+    private static String outcome(SignalType signal) {
+        return switch (signal) {
+            case ON_COMPLETE -> "success";
+            case ON_ERROR -> "error";
+            default -> "cancelled";
+        };
+    }
+}
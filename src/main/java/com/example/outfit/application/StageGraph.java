@@ -0,0 +1,155 @@
+package com.example.outfit.application;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 파이프라인 단계 의존성 그래프
+ * 각 단계는 선행 단계가 모두 끝나는 즉시 실행되고, 서로 의존하지 않는 단계는 병렬로 실행된다.
+ * 단계 실행 시간은 PipelineMetrics로 기록한다 (선행 단계 대기 시간 제외).
+ * 한 단계가 실패하면 결과를 쓸 수 없으므로 나머지 단계를 모두 취소한다. 아직 시작하지 않은 단계는 실행되지 않고,
+ * 이미 실행 중인 단계는 중단하지 않지만 그 결과를 기다리던 단계도 시작하지 않는다.
+ * 취소된 단계를 join하면 처음 실패한 단계의 예외를 던진다.
+ */
+@Slf4j
+public class StageGraph {
+
+    private final String pipeline;
+    private final Executor executor;
+    private final PipelineMetrics metrics;
+    private final List<CompletableFuture<?>> futures = new CopyOnWriteArrayList<>();
+    // 처음 실패한 단계의 예외 (취소된 단계의 join에서 대신 던짐)
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    public StageGraph(String pipeline, Executor executor, PipelineMetrics metrics) {
+        this.pipeline = pipeline;
+        this.executor = executor;
+        this.metrics = metrics;
+    }
+
+    /**
+     * 선행 단계가 없는 단계 등록 (즉시 실행)
+     */
+    public <T> Stage<T> stage(String name, Supplier<T> task) {
+        CompletableFuture<T> future = CompletableFuture.supplyAsync(() -> run(name, task), executor);
+        return register(name, future);
+    }
+
+    /**
+     * 선행 단계 하나에 의존하는 단계 등록
+     */
+    public <A, T> Stage<T> stage(String name, Stage<A> first, Function<A, T> task) {
+        CompletableFuture<T> future = first.future
+                .thenApplyAsync(a -> run(name, () -> task.apply(a)), executor);
+        return register(name, future);
+    }
+
+    /**
+     * 선행 단계 두 개에 의존하는 단계 등록 (둘 다 끝나야 실행)
+     */
+    public <A, B, T> Stage<T> stage(String name, Stage<A> first, Stage<B> second, BiFunction<A, B, T> task) {
+        CompletableFuture<T> future = first.future
+                .thenCombine(second.future, Pair::new)
+                .thenApplyAsync(pair -> run(name, () -> task.apply(pair.first, pair.second)), executor);
+        return register(name, future);
+    }
+
+    private <T> Stage<T> register(String name, CompletableFuture<T> future) {
+        futures.add(future);
+        future.whenComplete((result, error) -> {
+            if (error != null && !(error instanceof CancellationException)) {
+                cancelAll(name, error);
+            }
+        });
+        // 등록하는 사이 다른 단계가 이미 실패했으면 바로 취소
+        if (failure.get() != null) {
+            future.cancel(false);
+        }
+        return new Stage<>(name, future, failure);
+    }
+
+    private void cancelAll(String failedStage, Throwable error) {
+        if (!failure.compareAndSet(null, error)) {
+            return;
+        }
+        log.warn("[{}] 단계 실패로 나머지 단계 취소: {}", pipeline, failedStage);
+        futures.forEach(future -> future.cancel(false));
+    }
+
+    private <T> T run(String name, Supplier<T> task) {
+        long start = System.nanoTime();
+        log.info("[{}] 단계 시작: {}", pipeline, name);
+        T result = metrics.record(pipeline, name, task);
+        log.info("[{}] 단계 완료: {} ({} ms)", pipeline, name, (System.nanoTime() - start) / 1_000_000);
+        return result;
+    }
+
+    /**
+     * 그래프의 한 단계 (결과는 join으로 대기)
+     */
+    public static final class Stage<T> {
+
+        private final String name;
+        private final CompletableFuture<T> future;
+        private final AtomicReference<Throwable> failure;
+
+        private Stage(String name, CompletableFuture<T> future, AtomicReference<Throwable> failure) {
+            this.name = name;
+            this.future = future;
+            this.failure = failure;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * 단계 완료까지 대기 후 결과 반환 (단계 예외는 원래 예외로 다시 던짐, 다른 단계 실패로 취소됐으면 그 예외)
+         */
+        public T join() {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("파이프라인 대기 중 인터럽트: " + name, e);
+            } catch (ExecutionException e) {
+                throw unwrap(e.getCause());
+            } catch (CancellationException e) {
+                throw unwrap(e);
+            }
+        }
+
+        private RuntimeException unwrap(Throwable cause) {
+            cause = unwrapCompletion(cause);
+            // 취소된 선행 단계를 기다리던 단계도 CancellationException으로 끝나므로 둘 다 처음 실패한 예외로 바꾼다
+            if (cause instanceof CancellationException && failure.get() != null) {
+                cause = unwrapCompletion(failure.get());
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                return runtimeException;
+            }
+            return new RuntimeException("파이프라인 단계 실패 (" + name + "): " + cause.getMessage(), cause);
+        }
+
+        private static Throwable unwrapCompletion(Throwable cause) {
+            while (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            return cause;
+        }
+    }
+
+    private record Pair<A, B>(A first, B second) {
+    }
+}
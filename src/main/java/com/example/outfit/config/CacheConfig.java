@@ -0,0 +1,46 @@
+package com.example.outfit.config;
+
+import com.example.outfit.domain.FashionAttributes;
+import com.example.outfit.domain.OutfitAnalysis;
+import com.example.outfit.infra.cache.PerceptualHashCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Vision 결과 근사 중복 캐시 설정
+ * 재압축/리사이즈된 같은 사진은 지각 해시 거리가 작으므로 Vision 호출 없이 이전 결과를 재사용한다.
+ */
+@Configuration
+public class CacheConfig {
+
+    @Value("${outfit.cache.perceptual.max-distance:6}")
+    private int maxDistance;
+
+    @Value("${outfit.cache.perceptual.max-color-difference:24}")
+    private int maxColorDifference;
+
+    @Value("${outfit.cache.perceptual.max-entries:2048}")
+    private int maxEntries;
+
+    @Value("${outfit.cache.perceptual.ttl:1h}")
+    private Duration ttl;
+
+    /**
+     * VisionClient.extractAttributes 결과 캐시
+     */
+    @Bean
+    public PerceptualHashCache<FashionAttributes> visionAttributeCache() {
+        return new PerceptualHashCache<>("vision-attributes", maxDistance, maxColorDifference, maxEntries, ttl);
+    }
+
+    /**
+     * VisionClient.analyzeOutfit 결과 캐시 (코디 추천 파이프라인의 Vision 단계)
+     */
+    @Bean
+    public PerceptualHashCache<OutfitAnalysis> visionAnalysisCache() {
+        return new PerceptualHashCache<>("vision-analysis", maxDistance, maxColorDifference, maxEntries, ttl);
+    }
+}
@@ -0,0 +1,304 @@
+package com.example.outfit.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * 외부 API별 HTTP 클라이언트 설정 (outfit.http.*)
+ * 지정하지 않은 항목은 각 외부 API의 기본값을 사용한다.
+ */
+@Data
+@ConfigurationProperties(prefix = "outfit.http")
+public class HttpClientProperties {
+
+    /**
+     * Gemini Vision (응답이 짧은 JSON)
+     */
+    private Upstream vision = new Upstream(Duration.ofSeconds(60));
+
+    /**
+     * Nano Banana 이미지 생성 (첫 응답까지 수십 초 걸릴 수 있음)
+     */
+    private Upstream nanobanana = new Upstream(Duration.ofSeconds(120));
+
+    /**
+     * Google Custom Search
+     */
+    private Upstream search = new Upstream(Duration.ofSeconds(10));
+
+    /**
+     * 모든 외부 API가 함께 쓰는 재시도 예산
+     */
+    private RetryBudget retryBudget = new RetryBudget();
+
+    /**
+     * 외부 API 호출 녹화/재생 (성능 문제 재현, 프로파일링용)
+     */
+    private RecordReplay recordReplay = new RecordReplay();
+
+    @Data
+    public static class Upstream {
+
+        /**
+         * 연결 풀 최대 연결 수
+         */
+        private int maxConnections = 50;
+
+        /**
+         * 연결을 기다리는 요청 최대 수 (초과하면 즉시 실패)
+         */
+        private int pendingAcquireMaxCount = 500;
+
+        /**
+         * 연결을 기다리는 최대 시간
+         */
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(10);
+
+        /**
+         * 유휴 연결 유지 시간 (서버/로드밸런서가 먼저 끊기 전에 정리)
+         */
+        private Duration maxIdleTime = Duration.ofSeconds(30);
+
+        /**
+         * 연결 최대 수명 (DNS 변경 반영)
+         */
+        private Duration maxLifeTime = Duration.ofMinutes(5);
+
+        /**
+         * 유휴/만료 연결을 백그라운드에서 정리하는 주기
+         */
+        private Duration evictionInterval = Duration.ofSeconds(15);
+
+        /**
+         * TCP 연결 제한 시간
+         */
+        private Duration connectTimeout = Duration.ofSeconds(5);
+
+        /**
+         * 응답 읽기 중 데이터가 오지 않는 최대 시간 (요청 전송 후 첫 응답까지 포함)
+         */
+        private Duration responseTimeout;
+
+        /**
+         * TCP keep-alive 사용
+         */
+        private boolean keepAlive = true;
+
+        /**
+         * HTTPS 연결에서 HTTP/2 사용 (ALPN 협상, 서버가 지원하지 않으면 HTTP/1.1)
+         */
+        private boolean http2 = false;
+
+        /**
+         * 헤지 요청 (현재 상품 검색에만 적용)
+         */
+        private Hedge hedge = new Hedge();
+
+        /**
+         * 일시적 오류 재시도 (현재 Vision, Nano Banana에만 적용)
+         */
+        private Retry retry = new Retry();
+
+        /**
+         * 서킷 브레이커 (실패가 몰리면 일정 시간 호출하지 않고 즉시 실패)
+         */
+        private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+        /**
+         * 동시 호출 수 제한
+         */
+        private Bulkhead bulkhead = new Bulkhead();
+
+        public Upstream() {
+        }
+
+        public Upstream(Duration responseTimeout) {
+            this.responseTimeout = responseTimeout;
+            this.circuitBreaker.setSlowCallDuration(responseTimeout.dividedBy(2));
+        }
+    }
+
+    /**
+     * 헤지 요청 설정
+     * 응답이 늦으면 같은 요청을 한 번 더 보내므로, 부작용이 없고 비용이 작은 조회 요청에만 사용한다.
+     */
+    @Data
+    public static class Hedge {
+
+        /**
+         * 헤지 사용 여부
+         */
+        private boolean enabled = false;
+
+        /**
+         * 헤지 지연 시간으로 쓸 최근 응답 시간 백분위수 (0~1)
+         */
+        private double percentile = 0.95;
+
+        /**
+         * 응답 시간 표본 수 (최근 N개)
+         */
+        private int window = 1000;
+
+        /**
+         * 표본이 부족할 때 쓰는 헤지 지연 시간
+         */
+        private Duration initialDelay = Duration.ofSeconds(1);
+
+        /**
+         * 헤지 지연 시간 하한
+         */
+        private Duration minDelay = Duration.ofMillis(100);
+
+        /**
+         * 전체 요청 대비 최대 헤지 비율 (0.1이면 요청 10개당 헤지 최대 1개)
+         */
+        private double maxRate = 0.1;
+    }
+
+    /**
+     * 재시도 설정
+     * 429, 502, 503, 504 응답과 연결 실패만 재시도하고, 대기 시간은 지수 백오프 범위 안에서 무작위로 고른다(full jitter).
+     * Retry-After 헤더가 있으면 그보다 먼저 재시도하지 않는다.
+     */
+    @Data
+    public static class Retry {
+
+        /**
+         * 재시도 사용 여부
+         */
+        private boolean enabled = true;
+
+        /**
+         * 최대 시도 횟수 (첫 호출 포함)
+         */
+        private int maxAttempts = 3;
+
+        /**
+         * 첫 재시도 백오프 상한 (시도마다 두 배)
+         */
+        private Duration initialBackoff = Duration.ofMillis(500);
+
+        /**
+         * 백오프 상한 (Retry-After가 이보다 길면 재시도하지 않음)
+         */
+        private Duration maxBackoff = Duration.ofSeconds(10);
+    }
+
+    /**
+     * 재시도 예산 설정
+     * 호출마다 ratio만큼 토큰이 쌓이고 재시도 한 번에 1씩 쓰므로, 재시도는 전체 호출의 ratio 비율을 넘지 못한다.
+     * 외부 API 장애 중에 재시도가 부하를 몇 배로 키우는 것을 막는다.
+     */
+    @Data
+    public static class RetryBudget {
+
+        /**
+         * 전체 호출 대비 최대 재시도 비율
+         */
+        private double ratio = 0.1;
+
+        /**
+         * 모아 둘 수 있는 최대 토큰 수 (호출이 적을 때 허용하는 재시도 수)
+         */
+        private int maxTokens = 10;
+    }
+
+    /**
+     * 서킷 브레이커 설정
+     * 최근 호출 중 실패(또는 느린 호출) 비율이 임계값을 넘으면 open-duration 동안 호출하지 않고 바로 실패시키고,
+     * 그 뒤 half-open-calls개만 시험 삼아 보내 모두 성공하면 다시 닫는다.
+     */
+    @Data
+    public static class CircuitBreaker {
+
+        /**
+         * 서킷 브레이커 사용 여부
+         */
+        private boolean enabled = true;
+
+        /**
+         * 실패율을 계산할 최근 호출 수
+         */
+        private int slidingWindowSize = 20;
+
+        /**
+         * 실패율을 판단하기 위한 최소 호출 수
+         */
+        private int minimumCalls = 10;
+
+        /**
+         * 서킷을 여는 실패율 (0~1)
+         */
+        private double failureRateThreshold = 0.5;
+
+        /**
+         * 이 시간보다 오래 걸린 호출은 느린 호출로 집계 (null이면 집계하지 않음)
+         */
+        private Duration slowCallDuration;
+
+        /**
+         * 서킷을 여는 느린 호출 비율 (0~1)
+         */
+        private double slowCallRateThreshold = 0.5;
+
+        /**
+         * 서킷이 열린 뒤 호출을 막는 시간
+         */
+        private Duration openDuration = Duration.ofSeconds(30);
+
+        /**
+         * 반열림(half-open) 상태에서 시험 삼아 보내는 호출 수
+         */
+        private int halfOpenCalls = 3;
+    }
+
+    /**
+     * 벌크헤드 설정
+     * 동시 호출이 한도에 차면 기다리지 않고 바로 실패시켜, 느린 외부 API를 기다리는 요청이 쌓이지 않게 한다.
+     */
+    @Data
+    public static class Bulkhead {
+
+        /**
+         * 벌크헤드 사용 여부
+         */
+        private boolean enabled = true;
+
+        /**
+         * 외부 API 최대 동시 호출 수
+         */
+        private int maxConcurrentCalls = 20;
+    }
+
+    /**
+     * 녹화/재생 설정
+     * RECORD 모드는 외부 API 응답(요청 지문, 상태, 본문, 걸린 시간)을 gzip JSON lines 파일에 추가하고,
+     * REPLAY 모드는 네트워크 없이 파일의 응답을 같은 지연 시간 뒤에 돌려준다.
+     */
+    @Data
+    public static class RecordReplay {
+
+        public enum Mode {
+            OFF, RECORD, REPLAY
+        }
+
+        /**
+         * 동작 모드
+         */
+        private Mode mode = Mode.OFF;
+
+        /**
+         * 녹화 파일 경로 (RECORD는 기존 파일 뒤에 추가)
+         */
+        private Path file = Path.of(System.getProperty("java.io.tmpdir"), "outfit-upstream-traffic.jsonl.gz");
+
+        /**
+         * 재생 시 녹화된 지연 시간에 곱할 배율 (0이면 지연 없이 바로 응답)
+         */
+        private double timingScale = 1.0;
+    }
+}
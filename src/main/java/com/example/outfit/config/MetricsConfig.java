@@ -0,0 +1,174 @@
+package com.example.outfit.config;
+
+import com.example.outfit.application.OutfitJobService;
+import com.example.outfit.application.OutfitJobStats;
+import com.example.outfit.infra.cache.CacheStats;
+import com.example.outfit.infra.cache.ReportableCache;
+import com.example.outfit.infra.gemini.GeminiQuotaScheduler;
+import com.example.outfit.infra.gemini.GeminiQuotaStats;
+import com.example.outfit.infra.http.BulkheadStats;
+import com.example.outfit.infra.http.CircuitBreaker;
+import com.example.outfit.infra.http.CircuitBreakerStats;
+import com.example.outfit.infra.http.HedgeStats;
+import com.example.outfit.infra.http.HttpPoolStats;
+import com.example.outfit.infra.http.RetryStats;
+import com.example.outfit.infra.http.UpstreamHttpClients;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 지표 설정
+ * 캐시, 작업 큐, 연결 풀, 헤지, 재시도, 서킷 브레이커, 벌크헤드, Gemini 할당량 통계 API와 같은 값을
+ * Micrometer 지표로도 노출한다 (/actuator/prometheus). 누적 횟수는 카운터, 현재 값은 게이지로 등록한다.
+ */
+@Configuration
+public class MetricsConfig {
+
+    private static final List<String> UPSTREAMS = List.of(
+            UpstreamHttpClients.VISION, UpstreamHttpClients.NANOBANANA, UpstreamHttpClients.SEARCH);
+
+    @Bean
+    public MeterBinder cacheMetrics(List<ReportableCache> caches) {
+        return registry -> caches.forEach(cache -> {
+            Tags tags = Tags.of("cache", cache.stats().getName());
+            StatsMeters<CacheStats> meters = new StatsMeters<>(registry, tags, cache, cache::stats);
+            meters.counter("outfit.cache.hits", "캐시 적중 횟수", CacheStats::getHits);
+            meters.counter("outfit.cache.misses", "캐시 미스 횟수", CacheStats::getMisses);
+            meters.counter("outfit.cache.evictions", "캐시 축출 횟수", CacheStats::getEvictions);
+            meters.gauge("outfit.cache.size", "캐시 항목 수", CacheStats::getSize);
+            meters.gauge("outfit.cache.weight", "캐시 크기 추정치 (바이트)", CacheStats::getWeightBytes);
+        });
+    }
+
+    @Bean
+    public MeterBinder jobMetrics(OutfitJobService outfitJobService) {
+        return registry -> {
+            StatsMeters<OutfitJobStats> meters = new StatsMeters<>(registry, Tags.empty(), outfitJobService, outfitJobService::stats);
+            meters.gauge("outfit.jobs.queue.depth", "대기 중인 작업 수", OutfitJobStats::getQueueDepth);
+            meters.gauge("outfit.jobs.queue.capacity", "작업 대기 큐 크기", OutfitJobStats::getQueueCapacity);
+            meters.gauge("outfit.jobs.queue.bytes", "대기 중인 작업의 이미지 총 바이트", OutfitJobStats::getQueuedBytes);
+            meters.gauge("outfit.jobs.active", "실행 중인 작업 수", OutfitJobStats::getActiveWorkers);
+            meters.counter("outfit.jobs.submitted", "접수한 작업 수", OutfitJobStats::getSubmitted);
+            meters.counter("outfit.jobs.rejected", "큐가 가득 차 거절한 작업 수", OutfitJobStats::getRejected);
+            meters.counter("outfit.jobs.succeeded", "성공한 작업 수", OutfitJobStats::getSucceeded);
+            meters.counter("outfit.jobs.failed", "실패한 작업 수", OutfitJobStats::getFailed);
+        };
+    }
+
+    /**
+     * 외부 API별 지표 (아직 만들어지지 않은 실행기는 NaN/0)
+     */
+    @Bean
+    public MeterBinder upstreamMetrics(UpstreamHttpClients httpClients) {
+        return registry -> UPSTREAMS.forEach(name -> {
+            Tags tags = Tags.of("upstream", name);
+
+            StatsMeters<HttpPoolStats> pool = new StatsMeters<>(registry, tags, httpClients,
+                    () -> find(httpClients.stats(), HttpPoolStats::getName, name));
+            pool.gauge("outfit.http.pool.active", "사용 중인 연결 수", HttpPoolStats::getActive);
+            pool.gauge("outfit.http.pool.idle", "유휴 연결 수", HttpPoolStats::getIdle);
+            pool.gauge("outfit.http.pool.pending", "연결을 기다리는 요청 수", HttpPoolStats::getPending);
+            pool.gauge("outfit.http.pool.max", "최대 연결 수", HttpPoolStats::getMaxConnections);
+
+            StatsMeters<HedgeStats> hedge = new StatsMeters<>(registry, tags, httpClients,
+                    () -> find(httpClients.hedgeStats(), HedgeStats::getName, name));
+            hedge.counter("outfit.http.hedge.requests", "헤지 대상 요청 수", HedgeStats::getRequests);
+            hedge.counter("outfit.http.hedge.hedged", "헤지 요청을 보낸 횟수", HedgeStats::getHedged);
+            hedge.counter("outfit.http.hedge.wins", "헤지 요청이 먼저 응답한 횟수", HedgeStats::getHedgeWins);
+            hedge.counter("outfit.http.hedge.suppressed", "헤지 비율 상한으로 보내지 않은 횟수", HedgeStats::getSuppressed);
+
+            StatsMeters<RetryStats> retry = new StatsMeters<>(registry, tags, httpClients,
+                    () -> find(httpClients.retryStats(), RetryStats::getName, name));
+            retry.counter("outfit.http.retry.calls", "재시도 대상 호출 수", RetryStats::getCalls);
+            retry.counter("outfit.http.retry.retries", "재시도 횟수", RetryStats::getRetries);
+            retry.counter("outfit.http.retry.recovered", "재시도 끝에 성공한 호출 수", RetryStats::getRecovered);
+            retry.counter("outfit.http.retry.exhausted", "재시도했지만 실패한 호출 수", RetryStats::getExhausted);
+            retry.counter("outfit.http.retry.budget.rejected", "재시도 예산이 없어 재시도하지 않은 횟수",
+                    RetryStats::getBudgetRejected);
+
+            StatsMeters<CircuitBreakerStats> circuit = new StatsMeters<>(registry, tags, httpClients,
+                    () -> find(httpClients.circuitBreakerStats(), CircuitBreakerStats::getName, name));
+            for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+                circuit.withTag("state", state.name()).gauge("outfit.http.circuit.state",
+                        "서킷 브레이커 현재 상태 (해당 상태면 1)", stats -> state.name().equals(stats.getState()) ? 1 : 0);
+            }
+            circuit.gauge("outfit.http.circuit.failure.rate", "최근 호출 실패율", CircuitBreakerStats::getFailureRate);
+            circuit.gauge("outfit.http.circuit.slow.rate", "최근 느린 호출 비율", CircuitBreakerStats::getSlowCallRate);
+            circuit.counter("outfit.http.circuit.opened", "서킷이 열린 횟수", CircuitBreakerStats::getOpened);
+            circuit.counter("outfit.http.circuit.rejected", "서킷이 열려 차단한 호출 수", CircuitBreakerStats::getRejected);
+
+            StatsMeters<BulkheadStats> bulkhead = new StatsMeters<>(registry, tags, httpClients,
+                    () -> find(httpClients.bulkheadStats(), BulkheadStats::getName, name));
+            bulkhead.gauge("outfit.http.bulkhead.active", "동시 호출 수", BulkheadStats::getActive);
+            bulkhead.gauge("outfit.http.bulkhead.max", "최대 동시 호출 수", BulkheadStats::getMaxConcurrentCalls);
+            bulkhead.counter("outfit.http.bulkhead.rejected", "동시 호출 한도로 차단한 호출 수", BulkheadStats::getRejected);
+        });
+    }
+
+    @Bean
+    public MeterBinder retryBudgetMetrics(UpstreamHttpClients httpClients) {
+        return registry -> new StatsMeters<>(registry, Tags.empty(), httpClients,
+                () -> httpClients.retryStats().stream().findFirst().orElse(null))
+                .gauge("outfit.http.retry.budget.tokens", "남은 재시도 예산 (모든 외부 API 공유)", RetryStats::getBudgetTokens);
+    }
+
+    @Bean
+    public MeterBinder geminiQuotaMetrics(GeminiQuotaScheduler quotaScheduler) {
+        return registry -> {
+            StatsMeters<GeminiQuotaStats> meters = new StatsMeters<>(registry, Tags.empty(), quotaScheduler, quotaScheduler::stats);
+            meters.gauge("outfit.gemini.quota.available.requests", "남은 요청 할당량", GeminiQuotaStats::getAvailableRequests);
+            meters.gauge("outfit.gemini.quota.available.tokens", "남은 토큰 할당량", GeminiQuotaStats::getAvailableTokens);
+            meters.gauge("outfit.gemini.quota.queued", "할당량을 기다리는 호출 수", GeminiQuotaStats::getQueued);
+            meters.counter("outfit.gemini.quota.granted", "할당량을 얻은 호출 수", GeminiQuotaStats::getGranted);
+            meters.counter("outfit.gemini.quota.waited", "할당량을 기다린 뒤 보낸 호출 수", GeminiQuotaStats::getWaited);
+            meters.counter("outfit.gemini.quota.rejected", "할당량 대기 시간 초과로 실패한 호출 수", GeminiQuotaStats::getRejected);
+        };
+    }
+
+    private static <S> S find(List<S> stats, Function<S, String> nameOf, String name) {
+        return stats.stream()
+                .filter(item -> name.equals(nameOf.apply(item)))
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * 통계 스냅샷 값을 지표로 등록 (스크랩할 때마다 스냅샷을 새로 읽음, 스냅샷이 없으면 게이지 NaN/카운터 0)
+     * 카운터는 owner를 약한 참조로만 잡으므로 owner에는 통계를 가진 빈을 넘긴다.
+     */
+    private record StatsMeters<S>(MeterRegistry registry, Tags tags, Object owner, Supplier<S> snapshot) {
+
+        StatsMeters<S> withTag(String key, String value) {
+            return new StatsMeters<>(registry, tags.and(key, value), owner, snapshot);
+        }
+
+        void gauge(String name, String description, ToDoubleFunction<S> value) {
+            Gauge.builder(name, () -> Optional.ofNullable(snapshot.get())
+                            .map(stats -> value.applyAsDouble(stats))
+                            .orElse(Double.NaN))
+                    .description(description)
+                    .tags(tags)
+                    .register(registry);
+        }
+
+        void counter(String name, String description, ToDoubleFunction<S> value) {
+            FunctionCounter.builder(name, owner, ignored -> Optional.ofNullable(snapshot.get())
+                            .map(stats -> value.applyAsDouble(stats))
+                            .orElse(0.0))
+                    .description(description)
+                    .tags(tags)
+                    .register(registry);
+        }
+    }
+}
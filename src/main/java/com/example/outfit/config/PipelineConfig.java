@@ -0,0 +1,90 @@
+package com.example.outfit.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 파이프라인 단계 실행용, 스트리밍 요청 실행용 Executor 설정
+ * Executor를 이름 없이 주입받으면 파이프라인 단계 Executor가 선택된다.
+ * spring.threads.virtual.enabled=true (Java 21)이면 Tomcat 요청 처리와 함께 파이프라인 단계도 가상 스레드에서 실행한다.
+ */
+@Slf4j
+@Configuration
+public class PipelineConfig {
+
+    /**
+     * 단계들이 외부 API 응답을 기다리며 블로킹되므로 큐 없이 스레드를 바로 할당하고,
+     * 풀이 가득 차면 호출한 스레드에서 실행한다.
+     */
+    @Bean("pipelineExecutor")
+    @Primary
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor platformPipelineExecutor(
+            @Value("${outfit.pipeline.pool-size:64}") int poolSize) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("pipeline-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    /**
+     * 단계마다 가상 스레드를 새로 만든다.
+     * 외부 API 대기(block) 중에는 캐리어 스레드를 반납하므로 풀 크기 제한이 필요 없다.
+     */
+    @Bean("pipelineExecutor")
+    @Primary
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskExecutor virtualPipelineExecutor() {
+        log.info("파이프라인 단계를 가상 스레드에서 실행합니다");
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("pipeline-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
+    /**
+     * 스트리밍 요청(/recommend/stream)마다 파이프라인을 조율하며 단계가 끝나기를 기다리는 스레드
+     * 단계 실행 풀과 나눠서 조율 스레드가 단계 스레드를 차지하지 않게 하고,
+     * 가득 차면 요청 스레드에서 실행하지 않고 거절해 컨트롤러가 503으로 응답한다 (요청 스레드에서 실행하면 이벤트가 끝날 때까지 전송되지 않음).
+     */
+    @Bean("streamExecutor")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor platformStreamExecutor(
+            @Value("${outfit.stream.max-concurrent:32}") int maxConcurrent) {
+        return streamExecutor(maxConcurrent);
+    }
+
+    /**
+     * 가상 스레드를 쓰더라도 동시 스트리밍 수는 같은 설정으로 제한한다.
+     */
+    @Bean("streamExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public ThreadPoolTaskExecutor virtualStreamExecutor(
+            @Value("${outfit.stream.max-concurrent:32}") int maxConcurrent) {
+        ThreadPoolTaskExecutor executor = streamExecutor(maxConcurrent);
+        executor.setThreadFactory(new VirtualThreadTaskExecutor("stream-").getVirtualThreadFactory());
+        return executor;
+    }
+
+    private static ThreadPoolTaskExecutor streamExecutor(int maxConcurrent) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrent);
+        executor.setMaxPoolSize(maxConcurrent);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("stream-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+}
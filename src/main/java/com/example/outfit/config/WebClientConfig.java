@@ -1,14 +1,19 @@
 package com.example.outfit.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.reactive.function.client.WebClient;
 
 /**
  * WebClient 설정
+ * 외부 API별 연결 풀/타임아웃은 HttpClientProperties(outfit.http.*)로 설정하고 UpstreamHttpClients가 적용한다.
  */
 @Configuration
+@EnableConfigurationProperties(HttpClientProperties.class)
 public class WebClientConfig {
 
     @Bean
@@ -16,9 +21,14 @@ public class WebClientConfig {
         return WebClient.builder();
     }
 
+    /**
+     * 작업 API의 시각(Instant) 필드는 ISO-8601 문자열로 직렬화
+     */
     @Bean
     public ObjectMapper objectMapper() {
-        return new com.fasterxml.jackson.databind.ObjectMapper();
+        return new com.fasterxml.jackson.databind.ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
     }
 }
 
@@ -0,0 +1,25 @@
+package com.example.outfit.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Spring MVC 비동기 응답 설정
+ * Mono를 반환하는 핸들러는 서블릿 비동기 모드로 처리되므로,
+ * 이미지 생성까지 기다릴 수 있도록 기본 타임아웃(Tomcat 30초)을 늘린다.
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    @Value("${outfit.async.request-timeout:120s}")
+    private Duration requestTimeout;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(requestTimeout.toMillis());
+    }
+}
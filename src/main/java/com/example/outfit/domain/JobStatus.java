@@ -0,0 +1,15 @@
+package com.example.outfit.domain;
+
+/**
+ * 비동기 작업 상태
+ */
+public enum JobStatus {
+    /** 큐에서 대기 중 */
+    QUEUED,
+    /** 파이프라인 실행 중 */
+    RUNNING,
+    /** 완료 (결과 조회 가능) */
+    SUCCEEDED,
+    /** 실패 */
+    FAILED
+}
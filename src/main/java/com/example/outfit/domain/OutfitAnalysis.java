@@ -0,0 +1,22 @@
+package com.example.outfit.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 한 번의 Vision 호출로 얻은 분석 결과 (원본 속성 + 어울리는 추천 제품명)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutfitAnalysis {
+
+    // 원본 이미지 패션 속성
+    private FashionAttributes attributes;
+
+    // 원본 옷에 어울리는 추천 제품명 (한글)
+    private String recommendedProduct;
+}
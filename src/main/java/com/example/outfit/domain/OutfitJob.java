@@ -0,0 +1,42 @@
+package com.example.outfit.domain;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * 비동기 코디 추천 작업 상태 스냅샷
+ */
+@Value
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "비동기 코디 추천 작업")
+public class OutfitJob {
+
+    @Schema(description = "작업 ID", example = "0b7f3c1e-6a8e-4f0e-9a4e-1f2d3c4b5a69")
+    String id;
+
+    @Schema(description = "실행할 파이프라인 (recommend 또는 products)", example = "recommend")
+    String type;
+
+    @Schema(description = "작업 상태")
+    JobStatus status;
+
+    @Schema(description = "접수 시각")
+    Instant submittedAt;
+
+    @Schema(description = "실행 시작 시각")
+    Instant startedAt;
+
+    @Schema(description = "완료 시각")
+    Instant finishedAt;
+
+    @Schema(description = "결과 (SUCCEEDED일 때만)")
+    OutfitSuggestion result;
+
+    @Schema(description = "실패 사유 (FAILED일 때만, 내부 오류 내용 대신 고정 문구)", example = "코디 추천 처리 실패")
+    String error;
+}
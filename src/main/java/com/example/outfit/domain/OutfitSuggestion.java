@@ -1,5 +1,6 @@
 package com.example.outfit.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -19,8 +20,8 @@ public class OutfitSuggestion {
     @Schema(description = "코디 텍스트 설명", example = "캐주얼한 스타일의 검정 청바지와 흰색 티셔츠 조합")
     private String description;
     
-    @Schema(description = "생성된 코디 이미지 URL (Base64 데이터 URL 형식)", 
-            example = "data:image/png;base64,iVBORw0KGgoAAAANSUhEUgAA...")
+    @Schema(description = "생성된 코디 이미지 URL (이미지 저장소 경로, 저장소를 끈 경우 Base64 데이터 URL)", 
+            example = "/api/outfit/images/3b7e5f0c9a2d4e6f8b1c3d5e7f9a0b2c4d6e8f0a1b3c5d7e9f0a2b4c6d8e0f1a")
     private String outfitImageUrl;
     
     @Schema(description = "코디 프롬프트 (이미지 생성에 사용된 프롬프트)", 
@@ -33,6 +34,16 @@ public class OutfitSuggestion {
     
     @Schema(description = "추천 상품 목록")
     private java.util.List<ProductCandidate> products;
+
+    @Schema(description = "외부 API 장애로 일부 결과가 빠진 응답인지 (코디 이미지 생성이 차단되면 outfitImageUrl 없이 반환)")
+    private boolean degraded;
+
+    /**
+     * 원본 이미지에서 추출한 속성 (응답에는 넣지 않고, 캐시된 결과로 스트리밍할 때 attributes 이벤트에 사용)
+     */
+    @JsonIgnore
+    @Schema(hidden = true)
+    private FashionAttributes attributes;
 }
 
 
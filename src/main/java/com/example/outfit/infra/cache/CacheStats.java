@@ -0,0 +1,32 @@
+package com.example.outfit.infra.cache;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * 캐시 적중/미스/축출 통계 스냅샷
+ */
+@Value
+@Builder
+@Schema(description = "캐시 통계")
+public class CacheStats {
+
+    @Schema(description = "캐시 이름", example = "outfit-result")
+    String name;
+
+    @Schema(description = "적중 횟수")
+    long hits;
+
+    @Schema(description = "미스 횟수")
+    long misses;
+
+    @Schema(description = "축출 횟수 (용량 초과 또는 만료)")
+    long evictions;
+
+    @Schema(description = "현재 항목 수")
+    long size;
+
+    @Schema(description = "현재 점유 바이트 추정치 (바이트 제한이 없는 캐시는 0)")
+    long weightBytes;
+}
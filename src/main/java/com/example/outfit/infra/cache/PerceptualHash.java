@@ -0,0 +1,118 @@
+package com.example.outfit.infra.cache;
+
+import com.example.outfit.infra.image.ImageDecoder;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * 이미지 지각 해시 (dHash + 사분면 평균 색)
+ * 9x8 흑백으로 축소한 뒤 가로로 인접한 픽셀 밝기 비교 결과 64비트를 해시로 사용한다.
+ * 재압축/리사이즈/스크린샷처럼 보기에 같은 이미지는 해밍 거리가 작다.
+ * dHash는 밝기만 보므로 검정/남색처럼 밝기 패턴이 같은 색 차이는 사분면별 평균 RGB로 따로 구분한다.
+ */
+public final class PerceptualHash {
+
+    private static final int WIDTH = 9;
+    private static final int HEIGHT = 8;
+    // 9x8로 줄이기 전에 읽을 긴 변 최소 픽셀 (큰 원본은 서브샘플링해서 이 정도로만 디코딩)
+    private static final int DECODE_DIMENSION = 128;
+    // 색 시그니처: 2x2 사분면 x RGB 12채널을 채널당 5비트(8단위 양자화)로 묶는다
+    private static final int COLOR_BITS = 5;
+    private static final int COLOR_SHIFT = 8 - COLOR_BITS;
+    private static final int COLOR_CHANNELS = 12;
+    private static final long COLOR_MASK = (1L << COLOR_BITS) - 1;
+
+    private PerceptualHash() {
+    }
+
+    /**
+     * 지각 해시와 색 시그니처
+     *
+     * @param hash   dHash 64비트
+     * @param colors 사분면별 평균 RGB (채널당 5비트)
+     */
+    public record Fingerprint(long hash, long colors) {
+    }
+
+    /**
+     * 이미지 바이트의 지각 해시 계산 (디코딩할 수 없는 형식이거나 크기 제한을 넘으면 empty)
+     */
+    public static Optional<Fingerprint> fingerprint(byte[] imageBytes) {
+        ImageDecoder.Decoded decoded;
+        try {
+            decoded = ImageDecoder.decode(imageBytes, DECODE_DIMENSION, ImageDecoder.DEFAULT_MAX_PIXELS);
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+        if (decoded == null) {
+            return Optional.empty();
+        }
+        return Optional.of(fingerprint(decoded.image()));
+    }
+
+    public static Fingerprint fingerprint(BufferedImage source) {
+        return new Fingerprint(dHash(source), colorSignature(source));
+    }
+
+    public static long dHash(BufferedImage source) {
+        // 영역 평균으로 축소해야 큰 원본에서도 일부 픽셀만 샘플링되지 않는다
+        Raster raster = scale(source, WIDTH, HEIGHT, BufferedImage.TYPE_BYTE_GRAY).getRaster();
+        long hash = 0;
+        for (int y = 0; y < HEIGHT; y++) {
+            for (int x = 0; x < WIDTH - 1; x++) {
+                int left = raster.getSample(x, y, 0);
+                int right = raster.getSample(x + 1, y, 0);
+                hash = (hash << 1) | (left > right ? 1 : 0);
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * 2x2 사분면별 평균 RGB를 채널당 5비트로 묶은 색 시그니처
+     */
+    public static long colorSignature(BufferedImage source) {
+        Raster raster = scale(source, 2, 2, BufferedImage.TYPE_INT_RGB).getRaster();
+        long colors = 0;
+        for (int y = 0; y < 2; y++) {
+            for (int x = 0; x < 2; x++) {
+                for (int band = 0; band < 3; band++) {
+                    colors = (colors << COLOR_BITS) | (raster.getSample(x, y, band) >> COLOR_SHIFT);
+                }
+            }
+        }
+        return colors;
+    }
+
+    public static int distance(long first, long second) {
+        return Long.bitCount(first ^ second);
+    }
+
+    /**
+     * 두 색 시그니처에서 가장 크게 다른 채널의 차이 (0~255 단위, 8단위로 양자화됨)
+     */
+    public static int colorDifference(long first, long second) {
+        int max = 0;
+        for (int channel = 0; channel < COLOR_CHANNELS; channel++) {
+            int shift = channel * COLOR_BITS;
+            int a = (int) ((first >>> shift) & COLOR_MASK);
+            int b = (int) ((second >>> shift) & COLOR_MASK);
+            max = Math.max(max, Math.abs(a - b));
+        }
+        return max << COLOR_SHIFT;
+    }
+
+    private static BufferedImage scale(BufferedImage source, int width, int height, int type) {
+        Image scaled = source.getScaledInstance(width, height, Image.SCALE_AREA_AVERAGING);
+        BufferedImage target = new BufferedImage(width, height, type);
+        Graphics2D graphics = target.createGraphics();
+        graphics.drawImage(scaled, 0, 0, null);
+        graphics.dispose();
+        return target;
+    }
+}
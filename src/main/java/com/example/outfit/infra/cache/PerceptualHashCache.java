@@ -0,0 +1,109 @@
+package com.example.outfit.infra.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+/**
+ * 지각 해시 해밍 거리 기반 근사 중복 이미지 캐시
+ * 거리가 maxDistance 이하이고 사분면 평균 색 차이가 maxColorDifference 이하인 항목 중 가장 가까운 항목을 적중으로 본다.
+ * 항목 수가 작으므로(수천 개) 전체를 선형 탐색한다.
+ */
+@Slf4j
+public class PerceptualHashCache<V> implements ReportableCache {
+
+    private final String name;
+    private final int maxDistance;
+    private final int maxColorDifference;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+
+    // accessOrder=true: 적중 시 뒤로 이동하므로 앞쪽이 가장 오래 사용되지 않은 항목
+    private final LinkedHashMap<PerceptualHash.Fingerprint, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public PerceptualHashCache(String name, int maxDistance, int maxColorDifference, int maxEntries, Duration ttl) {
+        this(name, maxDistance, maxColorDifference, maxEntries, ttl, System::nanoTime);
+    }
+
+    PerceptualHashCache(String name, int maxDistance, int maxColorDifference, int maxEntries, Duration ttl,
+                        LongSupplier nanoClock) {
+        this.name = name;
+        this.maxDistance = maxDistance;
+        this.maxColorDifference = maxColorDifference;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    public boolean isEnabled() {
+        return maxEntries > 0;
+    }
+
+    public synchronized Optional<V> get(PerceptualHash.Fingerprint fingerprint) {
+        long now = nanoClock.getAsLong();
+        PerceptualHash.Fingerprint bestKey = null;
+        int bestDistance = Integer.MAX_VALUE;
+
+        Iterator<Entry<V>> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry<V> entry = iterator.next();
+            if (entry.isExpired(now)) {
+                iterator.remove();
+                evictions++;
+                continue;
+            }
+            int distance = PerceptualHash.distance(fingerprint.hash(), entry.fingerprint.hash());
+            if (distance <= maxDistance && distance < bestDistance
+                    && PerceptualHash.colorDifference(fingerprint.colors(), entry.fingerprint.colors()) <= maxColorDifference) {
+                bestKey = entry.fingerprint;
+                bestDistance = distance;
+            }
+        }
+
+        if (bestKey == null) {
+            misses++;
+            return Optional.empty();
+        }
+        hits++;
+        log.info("[{}] 근사 중복 이미지 캐시 적중 - 해밍 거리: {}", name, bestDistance);
+        return Optional.of(entries.get(bestKey).value);
+    }
+
+    public synchronized void put(PerceptualHash.Fingerprint fingerprint, V value) {
+        entries.put(fingerprint, new Entry<>(fingerprint, value, nanoClock.getAsLong() + ttlNanos));
+        Iterator<Map.Entry<PerceptualHash.Fingerprint, Entry<V>>> iterator = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    @Override
+    public synchronized CacheStats stats() {
+        return CacheStats.builder()
+                .name(name)
+                .hits(hits)
+                .misses(misses)
+                .evictions(evictions)
+                .size(entries.size())
+                .build();
+    }
+
+    private record Entry<V>(PerceptualHash.Fingerprint fingerprint, V value, long expiresAtNanos) {
+
+        boolean isExpired(long now) {
+            return now - expiresAtNanos > 0;
+        }
+    }
+}
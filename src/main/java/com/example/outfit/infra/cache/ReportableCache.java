@@ -0,0 +1,9 @@
+package com.example.outfit.infra.cache;
+
+/**
+ * 통계를 노출하는 캐시 (/api/outfit/cache/stats 에서 수집)
+ */
+public interface ReportableCache {
+
+    CacheStats stats();
+}
@@ -0,0 +1,77 @@
+package com.example.outfit.infra.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 진행 중인 동일 호출 병합 (single-flight)
+ * 같은 키로 동시에 들어온 호출은 먼저 온 호출 하나만 실제로 구독하고, 나머지는 그 결과(또는 예외)를 함께 받는다.
+ * 호출이 끝나면 키를 지우므로 결과를 보관하지는 않는다.
+ * 대기자 중 일부가 취소해도 실제 호출은 취소하지 않는다.
+ */
+@Slf4j
+public class SingleFlight<K, V> {
+
+    private final String name;
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder shared = new LongAdder();
+
+    public SingleFlight(String name) {
+        this.name = name;
+    }
+
+    public Mono<V> execute(K key, Supplier<Mono<V>> call) {
+        return Mono.defer(() -> {
+            CompletableFuture<V> flight = new CompletableFuture<>();
+            CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+            if (existing != null) {
+                shared.increment();
+                log.info("[{}] 진행 중인 동일 호출 결과를 기다립니다", name);
+                return Mono.fromFuture(existing, true);
+            }
+
+            executed.increment();
+            Mono<V> source;
+            try {
+                source = call.get();
+            } catch (RuntimeException e) {
+                source = Mono.error(e);
+            }
+            // 대기자 콜백은 future 완료 시점에 바로 실행되므로, 그 안에서 다시 호출해도 끝난 호출을 공유받지 않도록 키를 먼저 지운다
+            source.subscribe(
+                    value -> {
+                        inFlight.remove(key, flight);
+                        flight.complete(value);
+                    },
+                    error -> {
+                        inFlight.remove(key, flight);
+                        flight.completeExceptionally(error);
+                    },
+                    () -> {
+                        inFlight.remove(key, flight);
+                        flight.complete(null);
+                    });
+            return Mono.fromFuture(flight, true);
+        });
+    }
+
+    /**
+     * 실제 실행된 호출 수
+     */
+    public long executedCount() {
+        return executed.sum();
+    }
+
+    /**
+     * 다른 호출 결과를 공유받은 호출 수
+     */
+    public long sharedCount() {
+        return shared.sum();
+    }
+}
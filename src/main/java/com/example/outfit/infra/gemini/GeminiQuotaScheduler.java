@@ -0,0 +1,321 @@
+package com.example.outfit.infra.gemini;
+
+import com.example.outfit.infra.http.UpstreamUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Gemini API 분당 요청 수(RPM)/토큰 수(TPM) 할당량 스케줄러
+ * 할당량을 두 개의 토큰 버킷(요청, 토큰)으로 관리하고, 남은 할당량이 부족하면 호출을 바로 보내 429를 받는 대신
+ * 큐에서 기다리게 한다. 큐는 우선순위(Vision 먼저) → 도착 순서로 처리하고, 이미지 생성은 버킷에
+ * low-priority-reserve 비율 이상 남아 있을 때만 보내 한도 근처에서도 Vision 호출 몫을 남겨 둔다.
+ * max-wait 안에 보낼 수 없는 호출은 기다리지 않고 UpstreamUnavailableException으로 바로 실패한다.
+ */
+@Slf4j
+@Component
+public class GeminiQuotaScheduler {
+
+    public static final String NAME = "gemini-quota";
+
+    /**
+     * 호출 우선순위 (앞쪽이 먼저)
+     */
+    public enum Priority {
+        VISION, IMAGE_GENERATION
+    }
+
+    private static final long MINUTE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final boolean enabled;
+    private final long rpm;
+    private final long tpm;
+    private final Duration maxWait;
+    private final double lowPriorityReserve;
+    private final LongSupplier nanoClock;
+    private final Scheduler timerScheduler;
+
+    private final PriorityQueue<Waiter> queue = new PriorityQueue<>(
+            Comparator.comparing((Waiter waiter) -> waiter.priority).thenComparingLong(waiter -> waiter.sequence));
+
+    private double availableRequests;
+    private double availableTokens;
+    private long refilledAtNanos;
+    private long sequence;
+    private Disposable timer;
+    private long timerAtNanos;
+
+    private long granted;
+    private long waited;
+    private long rejected;
+    private long totalWaitNanos;
+    private long maxWaitNanos;
+
+    @Autowired
+    public GeminiQuotaScheduler(
+            @Value("${outfit.gemini.quota.enabled:false}") boolean enabled,
+            @Value("${outfit.gemini.quota.rpm:0}") long rpm,
+            @Value("${outfit.gemini.quota.tpm:0}") long tpm,
+            @Value("${outfit.gemini.quota.max-wait:10s}") Duration maxWait,
+            @Value("${outfit.gemini.quota.low-priority-reserve:0.2}") double lowPriorityReserve) {
+        this(enabled, rpm, tpm, maxWait, lowPriorityReserve, System::nanoTime, Schedulers.parallel());
+    }
+
+    /**
+     * @param nanoClock      현재 시각 (나노초, 테스트에서 교체)
+     * @param timerScheduler 할당량이 채워질 시점에 큐를 다시 확인하는 스케줄러
+     */
+    GeminiQuotaScheduler(boolean enabled, long rpm, long tpm, Duration maxWait, double lowPriorityReserve,
+                         LongSupplier nanoClock, Scheduler timerScheduler) {
+        this.enabled = enabled && (rpm > 0 || tpm > 0);
+        this.rpm = rpm;
+        this.tpm = tpm;
+        this.maxWait = maxWait;
+        this.lowPriorityReserve = lowPriorityReserve;
+        this.nanoClock = nanoClock;
+        this.timerScheduler = timerScheduler;
+        this.refilledAtNanos = nanoClock.getAsLong();
+        this.availableRequests = rpm;
+        this.availableTokens = tpm;
+        if (this.enabled) {
+            log.info("Gemini 할당량 스케줄러 - RPM {}, TPM {}, 최대 대기 {}, 이미지 생성 예비 비율 {}",
+                    rpm > 0 ? rpm : "제한 없음", tpm > 0 ? tpm : "제한 없음", maxWait, lowPriorityReserve);
+        }
+    }
+
+    /**
+     * 할당량을 얻은 뒤 요청 실행 (비활성화면 그대로 실행)
+     * 요청이 보내지 못하고 UpstreamUnavailableException으로 끝나면(서킷 열림, 동시 호출 한도 초과) 받은 할당량을 돌려준다.
+     *
+     * @param priority 호출 우선순위
+     * @param tokens   예상 토큰 수 (입력 + 출력)
+     * @param request  구독할 때마다 새 요청을 보내는 Mono
+     */
+    public <T> Mono<T> execute(Priority priority, long tokens, Supplier<Mono<T>> request) {
+        if (!enabled) {
+            return Mono.defer(request);
+        }
+        return acquire(priority, tokens).then(Mono.defer(request)
+                .doOnError(UpstreamUnavailableException.class, e -> refund(tokens)));
+    }
+
+    private Mono<Void> acquire(Priority priority, long tokens) {
+        return Mono.defer(() -> {
+            Waiter waiter;
+            synchronized (this) {
+                waiter = new Waiter(priority, tokens, sequence++, nanoClock.getAsLong());
+                queue.add(waiter);
+            }
+            drain();
+            return Mono.fromFuture(waiter.future, true)
+                    .doOnCancel(() -> cancel(waiter));
+        });
+    }
+
+    /**
+     * 큐 앞쪽부터 할당량이 되는 만큼 허가하고, 남은 호출은 할당량이 채워질 시점에 다시 확인하도록 예약
+     */
+    private void drain() {
+        List<Runnable> completions = new ArrayList<>();
+        synchronized (this) {
+            long now = nanoClock.getAsLong();
+            refill(now);
+
+            // 앞쪽 호출을 기다리다 최대 대기 시간을 넘긴 호출 정리
+            queue.removeIf(waiter -> {
+                if (now - (waiter.enqueuedAtNanos + maxWait.toNanos()) < 0) {
+                    return false;
+                }
+                completions.add(reject(waiter, Duration.ZERO));
+                return true;
+            });
+
+            Waiter head;
+            while ((head = queue.peek()) != null) {
+                long waitNanos = waitNanos(head);
+                if (waitNanos == 0) {
+                    queue.poll();
+                    take(head);
+                    recordGrant(head, now);
+                    Waiter grantedWaiter = head;
+                    completions.add(() -> grantedWaiter.future.complete(null));
+                    continue;
+                }
+
+                // 최대 대기 시간 안에 보낼 수 없으면 기다리지 않고 바로 실패
+                long deadline = head.enqueuedAtNanos + maxWait.toNanos();
+                if (now + waitNanos - deadline > 0) {
+                    queue.poll();
+                    completions.add(reject(head, Duration.ofNanos(waitNanos)));
+                    continue;
+                }
+
+                // 맨 앞 호출을 보낼 수 있는 시점과 뒤쪽 호출의 대기 시간 만료 시점 중 빠른 쪽에 다시 확인
+                long nextCheck = waitNanos;
+                for (Waiter waiter : queue) {
+                    nextCheck = Math.min(nextCheck, waiter.enqueuedAtNanos + maxWait.toNanos() - now);
+                }
+                schedule(now, Math.max(0, nextCheck));
+                break;
+            }
+        }
+        completions.forEach(Runnable::run);
+    }
+
+    private Runnable reject(Waiter waiter, Duration retryAfter) {
+        rejected++;
+        log.warn("Gemini 할당량 부족 - {} 호출을 {} 안에 보낼 수 없어 실패 (대기 {}개)",
+                waiter.priority, maxWait, queue.size());
+        return () -> waiter.future.completeExceptionally(
+                new UpstreamUnavailableException(NAME, "할당량 대기 시간 초과", retryAfter));
+    }
+
+    /**
+     * 호출을 보낼 수 있을 때까지 남은 시간 (바로 보낼 수 있으면 0)
+     */
+    private long waitNanos(Waiter waiter) {
+        double reserve = waiter.priority == Priority.IMAGE_GENERATION ? lowPriorityReserve : 0;
+        long wait = 0;
+        if (rpm > 0) {
+            wait = Math.max(wait, waitNanos(availableRequests, Math.min(rpm, 1 + reserve * rpm), rpm));
+        }
+        if (tpm > 0) {
+            // 한 번에 TPM보다 많은 토큰을 쓰는 호출은 버킷이 가득 차면 보낸다
+            double needed = Math.min(tpm, waiter.tokens + reserve * tpm);
+            wait = Math.max(wait, waitNanos(availableTokens, needed, tpm));
+        }
+        return wait;
+    }
+
+    private long waitNanos(double available, double needed, long perMinute) {
+        if (available >= needed) {
+            return 0;
+        }
+        return (long) Math.ceil((needed - available) * MINUTE_NANOS / perMinute);
+    }
+
+    private void take(Waiter waiter) {
+        if (rpm > 0) {
+            availableRequests -= 1;
+        }
+        if (tpm > 0) {
+            availableTokens -= Math.min(tpm, waiter.tokens);
+        }
+    }
+
+    /**
+     * 외부 API로 보내지 않은 호출의 할당량 반환 (기다리던 호출이 나갈 수 있으므로 다시 확인)
+     */
+    private void refund(long tokens) {
+        synchronized (this) {
+            refill(nanoClock.getAsLong());
+            if (rpm > 0) {
+                availableRequests = Math.min(rpm, availableRequests + 1);
+            }
+            if (tpm > 0) {
+                availableTokens = Math.min(tpm, availableTokens + Math.min(tpm, tokens));
+            }
+        }
+        drain();
+    }
+
+    private void refill(long now) {
+        long elapsed = now - refilledAtNanos;
+        refilledAtNanos = now;
+        if (rpm > 0) {
+            availableRequests = Math.min(rpm, availableRequests + (double) elapsed * rpm / MINUTE_NANOS);
+        }
+        if (tpm > 0) {
+            availableTokens = Math.min(tpm, availableTokens + (double) elapsed * tpm / MINUTE_NANOS);
+        }
+    }
+
+    private void recordGrant(Waiter waiter, long now) {
+        granted++;
+        long waitedNanos = now - waiter.enqueuedAtNanos;
+        if (waitedNanos > TimeUnit.MILLISECONDS.toNanos(1)) {
+            waited++;
+            totalWaitNanos += waitedNanos;
+            maxWaitNanos = Math.max(maxWaitNanos, waitedNanos);
+            log.debug("Gemini 할당량 대기 후 호출: {} {}ms", waiter.priority, waitedNanos / 1_000_000);
+        }
+    }
+
+    /**
+     * 큐 맨 앞 호출이 보낼 수 있게 되는 시점에 drain 예약 (이미 더 이른 예약이 있으면 유지)
+     */
+    private void schedule(long now, long delayNanos) {
+        long at = now + delayNanos;
+        // 아직 실행되지 않은 예약만 유지/취소 대상 (지금 실행 중인 예약에서 호출될 수도 있음)
+        boolean pending = timer != null && timerAtNanos - now > 0;
+        if (pending && timerAtNanos - at <= 0) {
+            return;
+        }
+        if (pending) {
+            timer.dispose();
+        }
+        timerAtNanos = at;
+        timer = timerScheduler.schedule(this::drain, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 대기 중 구독이 취소되면 큐에서 제거 (뒤에 있던 호출이 먼저 나갈 수 있으므로 다시 확인)
+     */
+    private void cancel(Waiter waiter) {
+        boolean removed;
+        synchronized (this) {
+            removed = queue.remove(waiter);
+        }
+        if (removed) {
+            drain();
+        }
+    }
+
+    public synchronized GeminiQuotaStats stats() {
+        refill(nanoClock.getAsLong());
+        return GeminiQuotaStats.builder()
+                .enabled(enabled)
+                .rpm(rpm)
+                .tpm(tpm)
+                .availableRequests((long) availableRequests)
+                .availableTokens((long) availableTokens)
+                .queued(queue.size())
+                .granted(granted)
+                .waited(waited)
+                .rejected(rejected)
+                .averageWaitMillis(waited == 0 ? 0 : totalWaitNanos / waited / 1_000_000)
+                .maxWaitMillis(maxWaitNanos / 1_000_000)
+                .build();
+    }
+
+    private static final class Waiter {
+
+        private final Priority priority;
+        private final long tokens;
+        private final long sequence;
+        private final long enqueuedAtNanos;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private Waiter(Priority priority, long tokens, long sequence, long enqueuedAtNanos) {
+            this.priority = priority;
+            this.tokens = tokens;
+            this.sequence = sequence;
+            this.enqueuedAtNanos = enqueuedAtNanos;
+        }
+    }
+}
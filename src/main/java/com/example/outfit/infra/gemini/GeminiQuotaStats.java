@@ -0,0 +1,47 @@
+package com.example.outfit.infra.gemini;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Gemini 할당량 스케줄러 통계 스냅샷
+ */
+@Value
+@Builder
+@Schema(description = "Gemini 할당량 스케줄러 통계")
+public class GeminiQuotaStats {
+
+    @Schema(description = "스케줄러 사용 여부 (RPM/TPM이 설정된 경우)")
+    boolean enabled;
+
+    @Schema(description = "분당 요청 수 한도 (0이면 제한 없음)")
+    long rpm;
+
+    @Schema(description = "분당 토큰 수 한도 (0이면 제한 없음)")
+    long tpm;
+
+    @Schema(description = "지금 바로 쓸 수 있는 요청 수")
+    long availableRequests;
+
+    @Schema(description = "지금 바로 쓸 수 있는 토큰 수")
+    long availableTokens;
+
+    @Schema(description = "할당량을 기다리는 호출 수")
+    int queued;
+
+    @Schema(description = "할당량을 받아 보낸 호출 수")
+    long granted;
+
+    @Schema(description = "큐에서 기다린 뒤 보낸 호출 수")
+    long waited;
+
+    @Schema(description = "최대 대기 시간 안에 보낼 수 없어 실패시킨 호출 수")
+    long rejected;
+
+    @Schema(description = "기다린 호출의 평균 대기 시간")
+    long averageWaitMillis;
+
+    @Schema(description = "최대 대기 시간")
+    long maxWaitMillis;
+}
@@ -0,0 +1,156 @@
+package com.example.outfit.infra.gemini;
+
+import com.example.outfit.infra.image.ImageArtifact;
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.ReactiveHttpOutputMessage;
+import org.springframework.web.reactive.function.BodyInserter;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Gemini generateContent 요청 본문 (스트리밍 직렬화)
+ * 요청을 Map/JSON 문자열로 만들지 않고 JSON 생성기가 바로 전송 버퍼(DataBuffer)에 쓴다.
+ * 작은 이미지의 base64는 ImageArtifact가 한 번만 인코딩해 두고 요청마다 복사 없이 그대로 기록하며,
+ * 큰 이미지는 base64를 메모리에 만들지 않고 바이트를 쓰면서 인코딩한다.
+ */
+public final class GeminiRequestBody {
+
+    private static final int CHUNK_SIZE = 16 * 1024;
+    private static final long IMAGE_TOKENS = 4 * 258;
+
+    // 전송 버퍼가 가득 차면 쓰기 스레드가 블로킹되므로 이벤트 루프가 아닌 스레드에서 직렬화
+    private static final Executor WRITER_EXECUTOR = task -> Schedulers.boundedElastic().schedule(task);
+
+    private final boolean snakeCase;
+    private final List<Part> parts = new ArrayList<>();
+    private Map<String, Object> generationConfig;
+
+    private GeminiRequestBody(boolean snakeCase) {
+        this.snakeCase = snakeCase;
+    }
+
+    /**
+     * inline_data / mime_type 필드명을 쓰는 요청 (Vision)
+     */
+    public static GeminiRequestBody snakeCase() {
+        return new GeminiRequestBody(true);
+    }
+
+    /**
+     * inlineData / mimeType 필드명을 쓰는 요청 (Nano Banana)
+     */
+    public static GeminiRequestBody camelCase() {
+        return new GeminiRequestBody(false);
+    }
+
+    public GeminiRequestBody text(String text) {
+        parts.add(new Part(text, null));
+        return this;
+    }
+
+    public GeminiRequestBody image(ImageArtifact image) {
+        parts.add(new Part(null, image));
+        return this;
+    }
+
+    public GeminiRequestBody generationConfig(Map<String, Object> generationConfig) {
+        this.generationConfig = generationConfig;
+        return this;
+    }
+
+    /**
+     * WebClient 요청 본문으로 사용 (구독할 때마다 처음부터 다시 직렬화하므로 재시도해도 안전)
+     */
+    public BodyInserter<GeminiRequestBody, ReactiveHttpOutputMessage> toInserter(ObjectMapper objectMapper) {
+        return (message, context) -> message.writeWith(DataBufferUtils.outputStreamPublisher(
+                out -> {
+                    try {
+                        writeTo(objectMapper, out);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Gemini 요청 본문 직렬화 실패", e);
+                    }
+                },
+                message.bufferFactory(), WRITER_EXECUTOR, CHUNK_SIZE));
+    }
+
+    /**
+     * 요청 JSON을 out에 기록
+     * {"contents":[{"parts":[...]}], "generationConfig":{...}}
+     */
+    public void writeTo(ObjectMapper objectMapper, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("contents");
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("parts");
+            for (Part part : parts) {
+                generator.writeStartObject();
+                if (part.text != null) {
+                    generator.writeStringField("text", part.text);
+                } else {
+                    generator.writeObjectFieldStart(snakeCase ? "inline_data" : "inlineData");
+                    generator.writeStringField(snakeCase ? "mime_type" : "mimeType", part.image.mimeType());
+                    generator.writeFieldName("data");
+                    byte[] base64 = part.image.retainedBase64();
+                    if (base64 != null) {
+                        // base64 문자는 이스케이프가 필요 없으므로 인코딩된 바이트를 그대로 문자열 값으로 기록
+                        generator.writeRawUTF8String(base64, 0, base64.length);
+                    } else {
+                        byte[] bytes = part.image.bytes();
+                        generator.writeBinary(Base64Variants.MIME_NO_LINEFEEDS, bytes, 0, bytes.length);
+                    }
+                    generator.writeEndObject();
+                }
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.writeEndArray();
+            if (generationConfig != null) {
+                generator.writeFieldName("generationConfig");
+                objectMapper.writeValue(generator, generationConfig);
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * 인코딩 후 예상 본문 크기 (로그용, 이미지는 base64 길이로 계산)
+     */
+    public long estimatedSize() {
+        long size = 64;
+        for (Part part : parts) {
+            size += part.text != null
+                    ? part.text.length() + 16
+                    : 4L * ((part.image.size() + 2) / 3) + 64;
+        }
+        return size;
+    }
+
+    /**
+     * 예상 입력 토큰 수 (할당량 계산용 어림값)
+     * 텍스트는 3자당 1토큰(한글이 섞이면 영어보다 토큰이 많음), 이미지는 전처리 후 최대 1024px이므로
+     * 768px 타일 최대 4개 × 258토큰으로 계산한다.
+     */
+    public long estimatedTokens() {
+        long tokens = 0;
+        for (Part part : parts) {
+            tokens += part.text != null ? (part.text.length() + 2) / 3 : IMAGE_TOKENS;
+        }
+        return tokens;
+    }
+
+    private record Part(String text, ImageArtifact image) {
+    }
+}
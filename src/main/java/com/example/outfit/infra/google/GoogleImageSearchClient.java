@@ -1,6 +1,12 @@
 package com.example.outfit.infra.google;
 
 import com.example.outfit.domain.ProductCandidate;
+import com.example.outfit.infra.cache.SingleFlight;
+import com.example.outfit.infra.http.Bulkhead;
+import com.example.outfit.infra.http.CircuitBreaker;
+import com.example.outfit.infra.http.RequestHedger;
+import com.example.outfit.infra.http.UpstreamHttpClients;
+import com.example.outfit.infra.http.UpstreamUnavailableException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
@@ -8,6 +14,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -21,6 +28,11 @@ public class GoogleImageSearchClient {
 
     private final ObjectMapper objectMapper;
     private final WebClient webClient;
+    private final ProductSearchCache productSearchCache;
+    private final RequestHedger searchHedger;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final SingleFlight<String, List<ProductCandidate>> searchFlight = new SingleFlight<>("google-search");
 
     @Value("${google.search.api-key}")
     private String apiKey;
@@ -31,27 +43,40 @@ public class GoogleImageSearchClient {
     @Value("${google.search.endpoint}")
     private String searchEndpoint;
 
-    public GoogleImageSearchClient(ObjectMapper objectMapper) {
+    public GoogleImageSearchClient(UpstreamHttpClients httpClients, ObjectMapper objectMapper,
+                                   ProductSearchCache productSearchCache,
+                                   @Value("${google.search.base-url:https://www.googleapis.com}") String baseUrl) {
         this.objectMapper = objectMapper;
-        this.webClient = WebClient.builder()
-                .baseUrl("https://www.googleapis.com")
+        this.productSearchCache = productSearchCache;
+        this.searchHedger = httpClients.hedger(UpstreamHttpClients.SEARCH);
+        this.circuitBreaker = httpClients.circuitBreaker(UpstreamHttpClients.SEARCH);
+        this.bulkhead = httpClients.bulkhead(UpstreamHttpClients.SEARCH);
+        this.webClient = httpClients.builder(UpstreamHttpClients.SEARCH)
+                .baseUrl(baseUrl)
                 .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(10 * 1024 * 1024))
                 .build();
     }
 
     /**
-     * 검색 쿼리로 상품 이미지 및 링크 검색
+     * 검색 쿼리로 상품 이미지 및 링크 검색 (최종 쿼리별 캐시 사용)
      */
     public List<ProductCandidate> searchProducts(String query, int maxResults) {
+        return searchProductsAsync(query, maxResults).block();
+    }
+
+    /**
+     * 검색 쿼리로 상품 이미지 및 링크 검색 (논블로킹, 실패 시 빈 목록)
+     */
+    public Mono<List<ProductCandidate>> searchProductsAsync(String query, int maxResults) {
         try {
             // @Value 필드 주입 확인
             if (apiKey == null || apiKey.isEmpty()) {
                 log.error("❌ Google Search API 키가 설정되지 않았습니다!");
-                return new ArrayList<>();
+                return Mono.just(new ArrayList<>());
             }
             if (searchEngineId == null || searchEngineId.isEmpty()) {
                 log.error("❌ Google Search 엔진 ID가 설정되지 않았습니다!");
-                return new ArrayList<>();
+                return Mono.just(new ArrayList<>());
             }
             
             log.info("✅ Google Search API 설정 확인 - API 키: {}..., 엔진 ID: {}", 
@@ -74,46 +99,78 @@ public class GoogleImageSearchClient {
 
             log.info("Google Search API 검색 쿼리: {}", fashionQuery);
 
-            String response = null;
-            try {
-                log.info("Google Search API 호출 시작 - 쿼리: {}, 엔진 ID: {}", fashionQuery, searchEngineId);
-                
-                // WebClient를 사용하여 API 호출 (URI 빌더 사용으로 자동 인코딩)
-                // siteSearch 파라미터로 무신사 사이트로 검색 범위 제한
-                response = webClient.get()
-                        .uri(uriBuilder -> {
-                            java.net.URI builtUri = uriBuilder
-                                    .path("/customsearch/v1")
-                                    .queryParam("key", apiKey)
-                                    .queryParam("cx", searchEngineId)
-                                    .queryParam("q", fashionQuery)
-                                    .queryParam("searchType", "image")
-                                    .queryParam("num", actualMaxResults)
-                                    .queryParam("siteSearch", "musinsa.com/products")
-                                    .build();
-                            log.info("Google Search API 최종 URL (키 마스킹): {}", builtUri.toString().replace(apiKey, "***"));
-                            return builtUri;
-                        })
-                        .retrieve()
-                        .bodyToMono(String.class)
-                        .block();
-                        
-            } catch (WebClientResponseException e) {
-                log.error("Google Search API HTTP 에러 - 상태 코드: {}, 응답: {}", 
-                        e.getStatusCode(), e.getResponseBodyAsString());
-                log.error("API 키 또는 검색 엔진 ID를 확인하세요. API 키: {}..., 엔진 ID: {}", 
-                        apiKey.substring(0, Math.min(10, apiKey.length())), searchEngineId);
-                return new ArrayList<>();
-            } catch (Exception e) {
-                log.error("Google Search API 호출 중 예외 발생", e);
-                return new ArrayList<>();
-            }
+            // 캐시 미스가 동시에 몰려도 같은 쿼리는 한 번만 호출
+            String cacheKey = fashionQuery + "|" + actualMaxResults;
+            return productSearchCache.get(cacheKey,
+                    () -> searchFlight.execute(cacheKey, () -> fetchProducts(query, fashionQuery, actualMaxResults)));
 
-            if (response == null) {
-                log.error("Google Search API 응답이 null입니다.");
-                return new ArrayList<>();
-            }
+        } catch (Exception e) {
+            log.error("Google Search API 호출 실패", e);
+            return Mono.just(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Custom Search API 호출 및 결과 파싱 (실패 시 빈 목록)
+     */
+    private Mono<List<ProductCandidate>> fetchProducts(String query, String fashionQuery, int actualMaxResults) {
+        log.info("Google Search API 호출 시작 - 쿼리: {}, 엔진 ID: {}", fashionQuery, searchEngineId);
+
+        // 응답이 늦으면 같은 요청을 한 번 더 보내고 먼저 온 응답 사용 (outfit.http.search.hedge.*)
+        // 헤지 요청도 각각 동시 호출 수에 포함하고, 서킷 브레이커는 헤지를 포함한 검색 한 번을 호출 하나로 집계한다
+        return circuitBreaker.execute(() -> searchHedger.execute(
+                        () -> bulkhead.execute(() -> requestSearch(fashionQuery, actualMaxResults))))
+                .map(response -> handleResponse(response, query))
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    log.error("Google Search API 응답이 null입니다.");
+                    return new ArrayList<>();
+                }))
+                .onErrorResume(UpstreamUnavailableException.class, e -> {
+                    log.warn("Google Search API 호출 생략 (빈 목록 반환): {}", e.getMessage());
+                    return Mono.just(new ArrayList<>());
+                })
+                .onErrorResume(WebClientResponseException.class, e -> {
+                    log.error("Google Search API HTTP 에러 - 상태 코드: {}, 응답: {}", 
+                            e.getStatusCode(), e.getResponseBodyAsString());
+                    log.error("API 키 또는 검색 엔진 ID를 확인하세요. API 키: {}..., 엔진 ID: {}", 
+                            apiKey.substring(0, Math.min(10, apiKey.length())), searchEngineId);
+                    return Mono.just(new ArrayList<>());
+                })
+                .onErrorResume(e -> {
+                    log.error("Google Search API 호출 중 예외 발생", e);
+                    return Mono.just(new ArrayList<>());
+                });
+    }
 
+    /**
+     * Custom Search API 호출 (구독할 때마다 새 요청)
+     */
+    private Mono<String> requestSearch(String fashionQuery, int actualMaxResults) {
+        // WebClient를 사용하여 API 호출 (URI 빌더 사용으로 자동 인코딩)
+        // siteSearch 파라미터로 무신사 사이트로 검색 범위 제한
+        return webClient.get()
+                .uri(uriBuilder -> {
+                    java.net.URI builtUri = uriBuilder
+                            .path("/customsearch/v1")
+                            .queryParam("key", apiKey)
+                            .queryParam("cx", searchEngineId)
+                            .queryParam("q", fashionQuery)
+                            .queryParam("searchType", "image")
+                            .queryParam("num", actualMaxResults)
+                            .queryParam("siteSearch", "musinsa.com/products")
+                            .build();
+                    log.info("Google Search API 최종 URL (키 마스킹): {}", builtUri.toString().replace(apiKey, "***"));
+                    return builtUri;
+                })
+                .retrieve()
+                .bodyToMono(String.class);
+    }
+
+    /**
+     * API 응답 검증 및 파싱
+     */
+    private List<ProductCandidate> handleResponse(String response, String query) {
+        try {
             log.info("Google Search API 응답 길이: {} bytes", response.length());
             
             // HTML 에러 페이지인지 확인
@@ -181,7 +238,7 @@ public class GoogleImageSearchClient {
         return false;
     }
 
-    private List<ProductCandidate> parseSearchResults(String response, String query) {
+    List<ProductCandidate> parseSearchResults(String response, String query) {
         List<ProductCandidate> products = new ArrayList<>();
 
         try {
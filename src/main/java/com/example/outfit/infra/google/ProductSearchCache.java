@@ -0,0 +1,157 @@
+package com.example.outfit.infra.google;
+
+import com.example.outfit.domain.ProductCandidate;
+import com.example.outfit.infra.cache.CacheStats;
+import com.example.outfit.infra.cache.ReportableCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 검색 쿼리별 상품 검색 결과 캐시 (stale-while-revalidate)
+ * TTL이 지난 항목도 최대 허용 기간 안이면 즉시 반환하고, 백그라운드에서 한 번만 갱신한다.
+ * 빈 결과는 API 오류일 수 있으므로 저장하지 않는다.
+ * 항목, 갱신 중인 키, 통계는 모두 this 잠금 안에서만 읽고 쓴다 (갱신 콜백은 파이프라인 스레드에서 실행됨).
+ */
+@Slf4j
+@Component
+public class ProductSearchCache implements ReportableCache {
+
+    private final long ttlNanos;
+    private final long maxStaleNanos;
+    private final int maxEntries;
+    private final Scheduler refreshScheduler;
+    private final LongSupplier nanoClock;
+
+    // accessOrder=true: 앞쪽이 가장 오래 사용되지 않은 항목
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Set<String> refreshing = new HashSet<>();
+
+    private long hits;
+    private long staleHits;
+    private long misses;
+    private long evictions;
+
+    @Autowired
+    public ProductSearchCache(
+            @Value("${outfit.cache.search.ttl:30m}") Duration ttl,
+            @Value("${outfit.cache.search.max-stale:24h}") Duration maxStale,
+            @Value("${outfit.cache.search.max-entries:1000}") int maxEntries,
+            @Qualifier("pipelineExecutor") Executor refreshExecutor) {
+        this(ttl, maxStale, maxEntries, refreshExecutor, System::nanoTime);
+    }
+
+    /**
+     * @param refreshExecutor 백그라운드 갱신을 구독할 실행기
+     * @param nanoClock       현재 시각 (나노초, 테스트에서 교체)
+     */
+    ProductSearchCache(Duration ttl, Duration maxStale, int maxEntries, Executor refreshExecutor, LongSupplier nanoClock) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxStaleNanos = maxStale.toNanos();
+        this.maxEntries = maxEntries;
+        this.refreshScheduler = Schedulers.fromExecutor(refreshExecutor);
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * 캐시된 검색 결과 반환 (없거나 너무 오래됐으면 loader로 조회 후 저장)
+     *
+     * @param query  최종 검색 쿼리 (fashionQuery + 결과 수)
+     * @param loader 실제 Custom Search API 호출
+     */
+    public Mono<List<ProductCandidate>> get(String query, Supplier<Mono<List<ProductCandidate>>> loader) {
+        if (maxEntries <= 0) {
+            return Mono.defer(loader);
+        }
+
+        return Mono.defer(() -> {
+            Lookup lookup = lookup(query);
+            if (lookup.products != null) {
+                if (lookup.refresh) {
+                    refresh(query, loader);
+                }
+                return Mono.just(lookup.products);
+            }
+            return loader.get().doOnNext(products -> put(query, products));
+        });
+    }
+
+    @Override
+    public synchronized CacheStats stats() {
+        return CacheStats.builder()
+                .name("product-search")
+                .hits(hits + staleHits)
+                .misses(misses)
+                .evictions(evictions)
+                .size(entries.size())
+                .build();
+    }
+
+    private synchronized Lookup lookup(String query) {
+        Entry entry = entries.get(query);
+        long now = nanoClock.getAsLong();
+        if (entry == null || now - entry.storedAtNanos > maxStaleNanos) {
+            misses++;
+            return new Lookup(null, false);
+        }
+        if (now - entry.storedAtNanos <= ttlNanos) {
+            hits++;
+            return new Lookup(entry.products, false);
+        }
+
+        staleHits++;
+        boolean refresh = refreshing.add(query);
+        log.info("검색 캐시 만료 항목 반환 (백그라운드 갱신 {}): {}", refresh ? "시작" : "진행 중", query);
+        return new Lookup(entry.products, refresh);
+    }
+
+    private synchronized void put(String query, List<ProductCandidate> products) {
+        if (products == null || products.isEmpty()) {
+            return;
+        }
+        entries.put(query, new Entry(List.copyOf(products), nanoClock.getAsLong()));
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * 요청 흐름과 분리해 파이프라인 실행기에서 구독 (loader 호출과 요청 준비가 응답을 기다리는 요청 스레드를 붙잡지 않음)
+     */
+    private void refresh(String query, Supplier<Mono<List<ProductCandidate>>> loader) {
+        Mono.defer(loader)
+                .subscribeOn(refreshScheduler)
+                .doFinally(signal -> finishRefresh(query))
+                .subscribe(products -> put(query, products),
+                        e -> log.warn("검색 캐시 백그라운드 갱신 실패: {} - {}", query, e.getMessage()));
+    }
+
+    private synchronized void finishRefresh(String query) {
+        refreshing.remove(query);
+    }
+
+    private record Entry(List<ProductCandidate> products, long storedAtNanos) {
+    }
+
+    private record Lookup(List<ProductCandidate> products, boolean refresh) {
+    }
+}
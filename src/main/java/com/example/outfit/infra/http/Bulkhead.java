@@ -0,0 +1,68 @@
+package com.example.outfit.infra.http;
+
+import com.example.outfit.config.HttpClientProperties;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 외부 API 동시 호출 수 제한 (벌크헤드)
+ * 한도에 차면 기다리지 않고 UpstreamUnavailableException으로 바로 실패한다.
+ * 허가는 응답 완료, 실패, 구독 취소 중 먼저 일어나는 시점에 한 번만 반납한다.
+ */
+@Slf4j
+public class Bulkhead {
+
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final String name;
+    private final HttpClientProperties.Bulkhead config;
+    private final Semaphore permits;
+    private final LongAdder rejected = new LongAdder();
+
+    public Bulkhead(String name, HttpClientProperties.Bulkhead config) {
+        this.name = name;
+        this.config = config;
+        this.permits = new Semaphore(config.getMaxConcurrentCalls());
+    }
+
+    /**
+     * 허가를 얻은 경우에만 요청 실행 (비활성화면 그대로 실행)
+     *
+     * @param request 구독할 때마다 새 요청을 보내는 Mono
+     */
+    public <T> Mono<T> execute(Supplier<Mono<T>> request) {
+        if (!config.isEnabled()) {
+            return Mono.defer(request);
+        }
+        return Mono.defer(() -> {
+            if (!permits.tryAcquire()) {
+                rejected.increment();
+                log.warn("[{}] 동시 호출 {}개 한도 초과, 호출하지 않고 실패", name, config.getMaxConcurrentCalls());
+                return Mono.error(new UpstreamUnavailableException(name, "동시 호출 한도 초과", RETRY_AFTER));
+            }
+            Mono<T> source;
+            try {
+                source = request.get();
+            } catch (RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+            return source.doFinally(signal -> permits.release());
+        });
+    }
+
+    public BulkheadStats stats() {
+        return BulkheadStats.builder()
+                .name(name)
+                .enabled(config.isEnabled())
+                .maxConcurrentCalls(config.getMaxConcurrentCalls())
+                .active(config.getMaxConcurrentCalls() - permits.availablePermits())
+                .rejected(rejected.sum())
+                .build();
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.outfit.infra.http;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * 벌크헤드 통계 스냅샷
+ */
+@Value
+@Builder
+@Schema(description = "벌크헤드 통계")
+public class BulkheadStats {
+
+    @Schema(description = "외부 API 이름", example = "nanobanana")
+    String name;
+
+    @Schema(description = "벌크헤드 사용 여부")
+    boolean enabled;
+
+    @Schema(description = "최대 동시 호출 수")
+    int maxConcurrentCalls;
+
+    @Schema(description = "현재 진행 중인 호출 수")
+    int active;
+
+    @Schema(description = "한도 초과로 거절한 호출 수")
+    long rejected;
+}
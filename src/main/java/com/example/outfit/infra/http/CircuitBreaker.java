@@ -0,0 +1,247 @@
+package com.example.outfit.infra.http;
+
+import com.example.outfit.config.HttpClientProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 외부 API 서킷 브레이커
+ * 최근 N개 호출의 실패율(또는 느린 호출 비율)이 임계값을 넘으면 서킷을 열고, 열려 있는 동안은
+ * 외부 API를 호출하지 않고 UpstreamUnavailableException으로 바로 실패한다.
+ * open-duration이 지나면 반열림 상태에서 몇 개만 시험 삼아 보내 모두 성공하면 닫고, 하나라도 실패하면 다시 연다.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    private static final int FAILURE = 1;
+    private static final int SLOW = 2;
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final HttpClientProperties.CircuitBreaker config;
+    private final LongSupplier nanoClock;
+
+    // 최근 호출 결과 (원형 버퍼, FAILURE/SLOW 비트)
+    private final int[] outcomes;
+    private int outcomeCount;
+    private int outcomeIndex;
+    private int failures;
+    private int slowCalls;
+
+    private State state = State.CLOSED;
+    private long openedAtNanos;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    private long opened;
+    private long rejected;
+
+    public CircuitBreaker(String name, HttpClientProperties.CircuitBreaker config) {
+        this(name, config, System::nanoTime);
+    }
+
+    /**
+     * @param nanoClock 경과 시간을 재는 단조 시계 (테스트에서 시간을 직접 움직이기 위해 교체)
+     */
+    CircuitBreaker(String name, HttpClientProperties.CircuitBreaker config, LongSupplier nanoClock) {
+        this.name = name;
+        this.config = config;
+        this.nanoClock = nanoClock;
+        this.outcomes = new int[Math.max(1, config.getSlidingWindowSize())];
+    }
+
+    /**
+     * 서킷이 허용하면 요청 실행 (비활성화면 그대로 실행)
+     *
+     * @param request 구독할 때마다 새 요청을 보내는 Mono
+     */
+    public <T> Mono<T> execute(Supplier<Mono<T>> request) {
+        if (!config.isEnabled()) {
+            return Mono.defer(request);
+        }
+        return Mono.defer(() -> {
+            State permittedIn = tryAcquire();
+            if (permittedIn == null) {
+                return Mono.error(new UpstreamUnavailableException(name, "서킷 열림", retryAfter()));
+            }
+            long start = nanoClock.getAsLong();
+            Throwable[] error = new Throwable[1];
+            Mono<T> source;
+            try {
+                source = request.get();
+            } catch (RuntimeException e) {
+                release(permittedIn);
+                throw e;
+            }
+            return source
+                    .doOnError(e -> error[0] = e)
+                    .doFinally(signal -> onFinish(permittedIn, signal, error[0], nanoClock.getAsLong() - start));
+        });
+    }
+
+    /**
+     * 호출 허가 (허가한 시점의 상태, 거절하면 null)
+     */
+    private synchronized State tryAcquire() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAtNanos < config.getOpenDuration().toNanos()) {
+                rejected++;
+                return null;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits >= config.getHalfOpenCalls()) {
+                rejected++;
+                return null;
+            }
+            halfOpenPermits++;
+        }
+        return state;
+    }
+
+    /**
+     * 다시 호출해 볼 수 있을 때까지 남은 시간 (반열림 상태면 시험 호출이 끝날 때까지 1초)
+     */
+    private synchronized Duration retryAfter() {
+        if (state == State.OPEN) {
+            Duration remaining = config.getOpenDuration().minusNanos(nanoClock.getAsLong() - openedAtNanos);
+            return remaining.isNegative() ? Duration.ZERO : remaining;
+        }
+        return Duration.ofSeconds(1);
+    }
+
+    private void onFinish(State permittedIn, SignalType signal, Throwable error, long elapsedNanos) {
+        if (signal == SignalType.CANCEL || (signal == SignalType.ON_ERROR && isIgnored(error))) {
+            release(permittedIn);
+            return;
+        }
+        int outcome = 0;
+        if (signal == SignalType.ON_ERROR && isFailure(error)) {
+            outcome |= FAILURE;
+        }
+        Duration slowCallDuration = config.getSlowCallDuration();
+        if (slowCallDuration != null && elapsedNanos > slowCallDuration.toNanos()) {
+            outcome |= SLOW;
+        }
+        record(permittedIn, outcome);
+    }
+
+    /**
+     * 외부 API 상태와 무관한 종료 (구독 취소, 벌크헤드 거절)는 집계하지 않는다
+     */
+    private boolean isIgnored(Throwable error) {
+        return error instanceof UpstreamUnavailableException;
+    }
+
+    /**
+     * 4xx는 요청 문제이므로 외부 API 장애로 보지 않는다 (429 할당량 초과는 장애로 집계)
+     */
+    private boolean isFailure(Throwable error) {
+        if (error instanceof WebClientResponseException responseException) {
+            int status = responseException.getStatusCode().value();
+            return status == 429 || status >= 500;
+        }
+        return true;
+    }
+
+    private synchronized void release(State permittedIn) {
+        if (permittedIn == State.HALF_OPEN && state == State.HALF_OPEN && halfOpenPermits > 0) {
+            halfOpenPermits--;
+        }
+    }
+
+    /**
+     * 호출 결과 집계 (허가받은 뒤 상태가 바뀌었으면 이전 상태의 결과는 버린다)
+     */
+    private synchronized void record(State permittedIn, int outcome) {
+        if (permittedIn != state) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            if (outcome != 0) {
+                transitionTo(State.OPEN);
+            } else if (++halfOpenSuccesses >= config.getHalfOpenCalls()) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+
+        if (outcomeCount == outcomes.length) {
+            int evicted = outcomes[outcomeIndex];
+            failures -= evicted & FAILURE;
+            slowCalls -= (evicted & SLOW) >> 1;
+        } else {
+            outcomeCount++;
+        }
+        outcomes[outcomeIndex] = outcome;
+        outcomeIndex = (outcomeIndex + 1) % outcomes.length;
+        failures += outcome & FAILURE;
+        slowCalls += (outcome & SLOW) >> 1;
+
+        if (outcomeCount >= config.getMinimumCalls()
+                && (failureRate() >= config.getFailureRateThreshold()
+                || slowCallRate() >= config.getSlowCallRateThreshold())) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    private void transitionTo(State next) {
+        if (next == State.OPEN && state == State.HALF_OPEN) {
+            log.warn("[{}] 반열림 상태의 시험 호출 실패, {} 동안 다시 호출 차단", name, config.getOpenDuration());
+        } else if (next == State.OPEN) {
+            log.warn("[{}] 서킷 열림 - 실패율 {}, 느린 호출 비율 {}, {} 동안 호출 차단",
+                    name, String.format("%.2f", failureRate()), String.format("%.2f", slowCallRate()),
+                    config.getOpenDuration());
+        } else {
+            log.info("[{}] 서킷 상태 변경: {} -> {}", name, state, next);
+        }
+        if (next == State.OPEN) {
+            openedAtNanos = nanoClock.getAsLong();
+            opened++;
+        }
+        if (next != State.HALF_OPEN) {
+            outcomeCount = 0;
+            outcomeIndex = 0;
+            failures = 0;
+            slowCalls = 0;
+        }
+        halfOpenPermits = 0;
+        halfOpenSuccesses = 0;
+        state = next;
+    }
+
+    private double failureRate() {
+        return outcomeCount == 0 ? 0 : (double) failures / outcomeCount;
+    }
+
+    private double slowCallRate() {
+        return outcomeCount == 0 ? 0 : (double) slowCalls / outcomeCount;
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    public synchronized CircuitBreakerStats stats() {
+        return CircuitBreakerStats.builder()
+                .name(name)
+                .enabled(config.isEnabled())
+                .state(state.name())
+                .failureRate(failureRate())
+                .slowCallRate(slowCallRate())
+                .bufferedCalls(outcomeCount)
+                .opened(opened)
+                .rejected(rejected)
+                .build();
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.outfit.infra.http;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * 서킷 브레이커 통계 스냅샷
+ */
+@Value
+@Builder
+@Schema(description = "서킷 브레이커 통계")
+public class CircuitBreakerStats {
+
+    @Schema(description = "외부 API 이름", example = "nanobanana")
+    String name;
+
+    @Schema(description = "서킷 브레이커 사용 여부")
+    boolean enabled;
+
+    @Schema(description = "상태 (CLOSED, OPEN, HALF_OPEN)", example = "CLOSED")
+    String state;
+
+    @Schema(description = "최근 호출 실패율 (0~1)")
+    double failureRate;
+
+    @Schema(description = "최근 호출 중 느린 호출 비율 (0~1)")
+    double slowCallRate;
+
+    @Schema(description = "실패율 계산에 쓰인 최근 호출 수")
+    int bufferedCalls;
+
+    @Schema(description = "서킷이 열린 횟수")
+    long opened;
+
+    @Schema(description = "서킷이 열려 있어 호출하지 않고 실패시킨 횟수")
+    long rejected;
+}
@@ -0,0 +1,35 @@
+package com.example.outfit.infra.http;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * 헤지 요청 통계 스냅샷
+ */
+@Value
+@Builder
+@Schema(description = "헤지 요청 통계")
+public class HedgeStats {
+
+    @Schema(description = "외부 API 이름", example = "search")
+    String name;
+
+    @Schema(description = "헤지 사용 여부")
+    boolean enabled;
+
+    @Schema(description = "현재 헤지 지연 시간 (최근 응답 시간 백분위수)")
+    long delayMillis;
+
+    @Schema(description = "전체 요청 수")
+    long requests;
+
+    @Schema(description = "헤지 요청을 보낸 횟수")
+    long hedged;
+
+    @Schema(description = "헤지 요청이 먼저 응답한 횟수")
+    long hedgeWins;
+
+    @Schema(description = "헤지 비율 제한으로 헤지하지 않은 횟수")
+    long suppressed;
+}
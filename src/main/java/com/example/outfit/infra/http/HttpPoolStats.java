@@ -0,0 +1,35 @@
+package com.example.outfit.infra.http;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * 외부 API별 HTTP 연결 풀 상태 스냅샷
+ */
+@Value
+@Builder
+@Schema(description = "HTTP 연결 풀 상태")
+public class HttpPoolStats {
+
+    @Schema(description = "외부 API 이름", example = "vision")
+    String name;
+
+    @Schema(description = "원격 주소별 최대 연결 수")
+    int maxConnections;
+
+    @Schema(description = "연결한 원격 주소 수")
+    int remoteAddresses;
+
+    @Schema(description = "요청에 사용 중인 연결 수")
+    int active;
+
+    @Schema(description = "재사용을 기다리는 유휴 연결 수")
+    int idle;
+
+    @Schema(description = "열려 있는 전체 연결 수")
+    int allocated;
+
+    @Schema(description = "연결을 기다리는 요청 수")
+    int pending;
+}
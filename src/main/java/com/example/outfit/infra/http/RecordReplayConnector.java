@@ -0,0 +1,250 @@
+package com.example.outfit.infra.http;
+
+import com.example.outfit.infra.cache.ContentHash;
+import com.example.outfit.infra.http.TrafficRecording.Exchange;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseCookie;
+import org.springframework.http.client.reactive.AbstractClientHttpRequest;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.http.client.reactive.ClientHttpRequestDecorator;
+import org.springframework.http.client.reactive.ClientHttpResponse;
+import org.springframework.http.client.reactive.ClientHttpResponseDecorator;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 외부 API 호출을 녹화하거나(RECORD) 녹화 파일에서 재생하는(REPLAY) ClientHttpConnector
+ * 실제 연결 바로 앞에서 동작하므로 WebClient 필터(호출 지표)와 재시도/서킷 브레이커/벌크헤드는 재생 중에도 그대로 거친다.
+ * 재생할 때는 네트워크에 연결하지 않고, 요청 지문이 같은 녹화 응답을 녹화 당시 걸린 시간만큼 기다린 뒤 돌려준다.
+ * 응답 헤더는 Content-Type과 클라이언트가 읽는 헤더(재시도 대기 시간을 정하는 Retry-After)만 녹화/재생한다.
+ */
+class RecordReplayConnector implements ClientHttpConnector {
+
+    // Content-Type 외에 녹화하는 응답 헤더
+    private static final List<String> RECORDED_HEADERS = List.of(HttpHeaders.RETRY_AFTER);
+
+    private final String upstream;
+    private final ClientHttpConnector delegate;
+    private final TrafficRecording recording;
+
+    RecordReplayConnector(String upstream, ClientHttpConnector delegate, TrafficRecording recording) {
+        this.upstream = upstream;
+        this.delegate = delegate;
+        this.recording = recording;
+    }
+
+    @Override
+    public Mono<ClientHttpResponse> connect(HttpMethod method, URI uri,
+                                            Function<? super ClientHttpRequest, Mono<Void>> requestCallback) {
+        return recording.isReplay() ? replay(method, uri, requestCallback) : record(method, uri, requestCallback);
+    }
+
+    private Mono<ClientHttpResponse> record(HttpMethod method, URI uri,
+                                            Function<? super ClientHttpRequest, Mono<Void>> requestCallback) {
+        return Mono.defer(() -> {
+            long startNanos = System.nanoTime();
+            MessageDigest requestDigest = ContentHash.newDigest();
+            return delegate.connect(method, uri, request -> requestCallback.apply(new ClientHttpRequestDecorator(request) {
+                        @Override
+                        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                            return super.writeWith(Flux.from(body).doOnNext(buffer -> update(requestDigest, buffer)));
+                        }
+                    }))
+                    .map(response -> new ClientHttpResponseDecorator(response) {
+                        @Override
+                        public Flux<DataBuffer> getBody() {
+                            ByteArrayOutputStream copy = new ByteArrayOutputStream();
+                            return super.getBody()
+                                    .doOnNext(buffer -> copy(buffer, copy))
+                                    .doOnComplete(() -> {
+                                        String request = TrafficRecording.describe(method.name(), uri);
+                                        recording.record(new Exchange(upstream, request,
+                                                TrafficRecording.fingerprint(upstream, request, requestDigest.digest()),
+                                                response.getStatusCode().value(),
+                                                response.getHeaders().getFirst(HttpHeaders.CONTENT_TYPE),
+                                                recordedHeaders(response.getHeaders()),
+                                                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos),
+                                                copy.toString(StandardCharsets.UTF_8)));
+                                    });
+                        }
+                    });
+        });
+    }
+
+    private Mono<ClientHttpResponse> replay(HttpMethod method, URI uri,
+                                            Function<? super ClientHttpRequest, Mono<Void>> requestCallback) {
+        return Mono.defer(() -> {
+            ReplayRequest request = new ReplayRequest(method, uri);
+            return requestCallback.apply(request).then(Mono.defer(() -> {
+                String description = TrafficRecording.describe(method.name(), uri);
+                Exchange exchange = recording.replay(
+                        TrafficRecording.fingerprint(upstream, description, request.digest.digest()));
+                if (exchange == null) {
+                    return Mono.error(new IllegalStateException(
+                            "녹화 파일에 없는 요청입니다 [" + upstream + "] " + description));
+                }
+                Mono<ClientHttpResponse> response = Mono.just(new ReplayResponse(exchange));
+                Duration delay = recording.delay(exchange);
+                return delay.isZero() ? response : response.delayElement(delay);
+            }));
+        });
+    }
+
+    private static Map<String, String> recordedHeaders(HttpHeaders headers) {
+        Map<String, String> recorded = new LinkedHashMap<>();
+        for (String name : RECORDED_HEADERS) {
+            String value = headers.getFirst(name);
+            if (value != null) {
+                recorded.put(name, value);
+            }
+        }
+        return recorded.isEmpty() ? null : recorded;
+    }
+
+    private static void update(MessageDigest digest, DataBuffer buffer) {
+        try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+            while (iterator.hasNext()) {
+                digest.update(iterator.next());
+            }
+        }
+    }
+
+    private static void copy(DataBuffer buffer, ByteArrayOutputStream out) {
+        try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+            while (iterator.hasNext()) {
+                ByteBuffer byteBuffer = iterator.next();
+                byte[] bytes = new byte[byteBuffer.remaining()];
+                byteBuffer.get(bytes);
+                out.writeBytes(bytes);
+            }
+        }
+    }
+
+    /**
+     * 네트워크로 보내지 않고 요청 본문의 지문만 계산하는 요청
+     */
+    private static class ReplayRequest extends AbstractClientHttpRequest {
+
+        private final HttpMethod method;
+        private final URI uri;
+        private final MessageDigest digest = ContentHash.newDigest();
+
+        private ReplayRequest(HttpMethod method, URI uri) {
+            this.method = method;
+            this.uri = uri;
+        }
+
+        @Override
+        public HttpMethod getMethod() {
+            return method;
+        }
+
+        @Override
+        public URI getURI() {
+            return uri;
+        }
+
+        @Override
+        public DataBufferFactory bufferFactory() {
+            return DefaultDataBufferFactory.sharedInstance;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T getNativeRequest() {
+            return (T) this;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return doCommit(() -> Flux.from(body)
+                    .doOnNext(buffer -> {
+                        update(digest, buffer);
+                        DataBufferUtils.release(buffer);
+                    })
+                    .then());
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return writeWith(Flux.from(body).concatMap(Flux::from));
+        }
+
+        @Override
+        public Mono<Void> setComplete() {
+            return doCommit();
+        }
+
+        @Override
+        protected void applyHeaders() {
+        }
+
+        @Override
+        protected void applyCookies() {
+        }
+    }
+
+    /**
+     * 녹화된 상태 코드, 헤더, 본문으로 만든 응답
+     */
+    private static class ReplayResponse implements ClientHttpResponse {
+
+        private final HttpStatusCode status;
+        private final HttpHeaders headers = new HttpHeaders();
+        private final byte[] body;
+
+        private ReplayResponse(Exchange exchange) {
+            this.status = HttpStatusCode.valueOf(exchange.status());
+            this.body = exchange.body() == null ? new byte[0] : exchange.body().getBytes(StandardCharsets.UTF_8);
+            if (exchange.contentType() != null) {
+                headers.set(HttpHeaders.CONTENT_TYPE, exchange.contentType());
+            }
+            if (exchange.headers() != null) {
+                exchange.headers().forEach(headers::set);
+            }
+            headers.setContentLength(body.length);
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return status;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public MultiValueMap<String, ResponseCookie> getCookies() {
+            return new LinkedMultiValueMap<>();
+        }
+
+        @Override
+        public Flux<DataBuffer> getBody() {
+            return Flux.defer(() -> Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body)));
+        }
+    }
+}
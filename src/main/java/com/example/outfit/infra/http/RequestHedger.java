@@ -0,0 +1,180 @@
+package com.example.outfit.infra.http;
+
+import com.example.outfit.config.HttpClientProperties.Hedge;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 헤지 요청 (hedged request)
+ * 첫 요청이 최근 응답 시간의 백분위수(예: p95)만큼 지나도 응답하지 않으면 같은 요청을 한 번 더 보내고
+ * 먼저 도착한 응답을 사용한다. 늦은 쪽은 구독을 취소해 연결을 바로 반납한다.
+ * 헤지 비율은 토큰 버킷으로 제한하므로 외부 API 할당량을 정해진 비율 이상 더 쓰지 않는다.
+ * 취소된 쪽의 경과 시간도 응답 시간의 하한으로 기록한다. 느린 요청이 헤지에 밀려 표본에서 빠지면
+ * 백분위수가 점점 낮아져 헤지가 더 자주 나가기 때문이다.
+ */
+@Slf4j
+public class RequestHedger {
+
+    private static final int MIN_SAMPLES = 20;
+    private static final double MAX_TOKENS = 10;
+    // 지연 시간(백분위수)을 다시 계산하는 표본 간격
+    private static final int RECOMPUTE_INTERVAL = 10;
+
+    private final String name;
+    private final Hedge config;
+    private final LongSupplier nanoClock;
+
+    // 최근 응답 시간 (원형 버퍼, 취소된 요청은 취소 시점까지의 경과 시간)
+    private final long[] latencies;
+    private final long[] sorted;
+    private int latencyCount;
+    private int latencyIndex;
+    private int samplesSinceRecompute;
+    private volatile Duration delay;
+
+    // 요청마다 maxRate만큼 쌓이고 헤지 한 번에 1씩 쓰는 토큰
+    private double tokens = 1;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder hedged = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final LongAdder suppressed = new LongAdder();
+
+    public RequestHedger(String name, Hedge config) {
+        this(name, config, System::nanoTime);
+    }
+
+    /**
+     * @param nanoClock 응답 시간 측정용 시각 (나노초, 테스트에서 교체)
+     */
+    RequestHedger(String name, Hedge config, LongSupplier nanoClock) {
+        this.name = name;
+        this.config = config;
+        this.nanoClock = nanoClock;
+        this.latencies = new long[Math.max(MIN_SAMPLES, config.getWindow())];
+        this.sorted = new long[latencies.length];
+        this.delay = config.getInitialDelay();
+    }
+
+    /**
+     * 요청 실행 (비활성화면 그대로 실행)
+     *
+     * @param request 구독할 때마다 새 요청을 보내는 Mono
+     */
+    public <T> Mono<T> execute(Supplier<Mono<T>> request) {
+        if (!config.isEnabled()) {
+            return Mono.defer(request);
+        }
+        return Mono.defer(() -> {
+            requests.increment();
+            addToken();
+            Duration delay = currentDelay();
+            Sinks.One<Boolean> primaryFailed = Sinks.one();
+
+            Mono<Attempt<T>> primary = timed(request)
+                    .doOnError(e -> primaryFailed.tryEmitValue(true))
+                    .map(value -> new Attempt<>(value, false));
+
+            // 첫 요청이 먼저 실패하면 헤지를 기다리지 않고 그 오류를 바로 전달 (재시도는 헤지의 역할이 아님)
+            Mono<Attempt<T>> hedge = Mono.delay(delay)
+                    .takeUntilOther(primaryFailed.asMono())
+                    .filter(tick -> tryAcquireHedge())
+                    .flatMap(tick -> {
+                        hedged.increment();
+                        log.debug("[{}] {}ms 동안 응답이 없어 헤지 요청 전송", name, delay.toMillis());
+                        return timed(request).map(value -> new Attempt<>(value, true));
+                    });
+
+            // 먼저 도착한 값을 사용하고 나머지는 취소 (오류는 두 요청이 모두 끝난 뒤 전달)
+            return Flux.mergeDelayError(2, primary, hedge)
+                    .next()
+                    .doOnNext(attempt -> {
+                        if (attempt.hedge()) {
+                            hedgeWins.increment();
+                        }
+                    })
+                    .map(Attempt::value);
+        });
+    }
+
+    /**
+     * 헤지 지연 시간 (표본이 충분하지 않으면 initial-delay)
+     * 요청마다 정렬하지 않도록 표본이 RECOMPUTE_INTERVAL개 쌓일 때마다 다시 계산한 값을 쓴다.
+     */
+    public Duration currentDelay() {
+        return delay;
+    }
+
+    public HedgeStats stats() {
+        return HedgeStats.builder()
+                .name(name)
+                .enabled(config.isEnabled())
+                .delayMillis(currentDelay().toMillis())
+                .requests(requests.sum())
+                .hedged(hedged.sum())
+                .hedgeWins(hedgeWins.sum())
+                .suppressed(suppressed.sum())
+                .build();
+    }
+
+    /**
+     * 요청 하나의 응답 시간 기록 (값을 받으면 응답 시간, 먼저 취소되면 취소 시점까지의 경과 시간을 한 번만 기록)
+     */
+    private <T> Mono<T> timed(Supplier<Mono<T>> request) {
+        return Mono.defer(() -> {
+            long start = nanoClock.getAsLong();
+            AtomicBoolean recorded = new AtomicBoolean();
+            Runnable record = () -> {
+                if (recorded.compareAndSet(false, true)) {
+                    recordLatency(nanoClock.getAsLong() - start);
+                }
+            };
+            return request.get()
+                    .doOnNext(value -> record.run())
+                    .doOnCancel(record);
+        });
+    }
+
+    private synchronized void recordLatency(long nanos) {
+        latencies[latencyIndex] = nanos;
+        latencyIndex = (latencyIndex + 1) % latencies.length;
+        latencyCount = Math.min(latencyCount + 1, latencies.length);
+        if (++samplesSinceRecompute >= RECOMPUTE_INTERVAL && latencyCount >= MIN_SAMPLES) {
+            samplesSinceRecompute = 0;
+            delay = percentileDelay();
+        }
+    }
+
+    private Duration percentileDelay() {
+        System.arraycopy(latencies, 0, sorted, 0, latencyCount);
+        Arrays.sort(sorted, 0, latencyCount);
+        int index = (int) Math.ceil(config.getPercentile() * latencyCount) - 1;
+        Duration percentile = Duration.ofNanos(sorted[Math.max(0, Math.min(index, latencyCount - 1))]);
+        return percentile.compareTo(config.getMinDelay()) < 0 ? config.getMinDelay() : percentile;
+    }
+
+    private synchronized void addToken() {
+        tokens = Math.min(MAX_TOKENS, tokens + config.getMaxRate());
+    }
+
+    private synchronized boolean tryAcquireHedge() {
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        suppressed.increment();
+        return false;
+    }
+
+    private record Attempt<T>(T value, boolean hedge) {
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.outfit.infra.http;
+
+import com.example.outfit.config.HttpClientProperties.Retry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * 일시적 오류 재시도
+ * 429, 502, 503, 504 응답과 연결 실패만 재시도하고, 재시도 전에는 지수 백오프 범위 안에서 무작위로 기다린다(full jitter).
+ * Retry-After 헤더가 있으면 그만큼은 기다리고, max-backoff보다 길면 재시도하지 않고 바로 실패한다.
+ * 재시도마다 공유 재시도 예산에서 토큰을 쓰므로 장애 중에도 재시도가 전체 호출의 일정 비율을 넘지 않는다.
+ */
+@Slf4j
+public class RequestRetrier {
+
+    private final String name;
+    private final Retry config;
+    private final RetryBudget budget;
+    private final LongUnaryOperator random;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder recovered = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+    private final LongAdder budgetRejected = new LongAdder();
+
+    public RequestRetrier(String name, Retry config, RetryBudget budget) {
+        this(name, config, budget, bound -> ThreadLocalRandom.current().nextLong(bound));
+    }
+
+    /**
+     * @param random 0 이상 bound 미만의 난수 (테스트에서 대기 시간을 고정하기 위해 교체)
+     */
+    RequestRetrier(String name, Retry config, RetryBudget budget, LongUnaryOperator random) {
+        this.name = name;
+        this.config = config;
+        this.budget = budget;
+        this.random = random;
+    }
+
+    /**
+     * 요청 실행 (비활성화면 그대로 실행)
+     *
+     * @param request 구독할 때마다 새 요청을 보내는 Mono (멱등 요청이어야 함)
+     */
+    public <T> Mono<T> execute(Supplier<Mono<T>> request) {
+        if (!config.isEnabled()) {
+            return Mono.defer(request);
+        }
+        return Mono.defer(() -> {
+            calls.increment();
+            budget.onCall();
+            int[] attempts = {0};
+            return attempt(request, attempts)
+                    .doOnSuccess(value -> {
+                        if (attempts[0] > 1) {
+                            recovered.increment();
+                            log.info("[{}] {}번째 시도에서 성공", name, attempts[0]);
+                        }
+                    })
+                    .doOnError(e -> {
+                        if (attempts[0] > 1) {
+                            exhausted.increment();
+                        }
+                    });
+        });
+    }
+
+    private <T> Mono<T> attempt(Supplier<Mono<T>> request, int[] attempts) {
+        return Mono.defer(() -> {
+            int attempt = ++attempts[0];
+            return request.get().onErrorResume(e -> {
+                Duration delay = retryDelay(e, attempt);
+                if (delay == null) {
+                    return Mono.error(e);
+                }
+                if (!budget.tryAcquire()) {
+                    budgetRejected.increment();
+                    log.warn("[{}] 재시도 예산 소진, 재시도하지 않음: {}", name, e.getMessage());
+                    return Mono.error(e);
+                }
+                retries.increment();
+                log.warn("[{}] 일시적 오류로 {}ms 후 재시도 ({}/{}): {}",
+                        name, delay.toMillis(), attempt + 1, config.getMaxAttempts(), e.getMessage());
+                return Mono.delay(delay).then(attempt(request, attempts));
+            });
+        });
+    }
+
+    /**
+     * 재시도 대기 시간 (재시도하지 않으면 null)
+     */
+    private Duration retryDelay(Throwable error, int attempt) {
+        if (attempt >= config.getMaxAttempts() || !isRetryable(error)) {
+            return null;
+        }
+
+        // full jitter: 0 ~ min(max-backoff, initial-backoff * 2^(attempt-1)) 사이에서 무작위
+        long capMillis = Math.min(config.getMaxBackoff().toMillis(),
+                config.getInitialBackoff().toMillis() << Math.min(attempt - 1, 20));
+        Duration delay = Duration.ofMillis(random.applyAsLong(capMillis + 1));
+
+        Duration retryAfter = retryAfter(error);
+        if (retryAfter != null) {
+            if (retryAfter.compareTo(config.getMaxBackoff()) > 0) {
+                log.warn("[{}] Retry-After {}가 최대 백오프 {}보다 길어 재시도하지 않음", name, retryAfter, config.getMaxBackoff());
+                return null;
+            }
+            if (retryAfter.compareTo(delay) > 0) {
+                delay = retryAfter;
+            }
+        }
+        return delay;
+    }
+
+    /**
+     * 429(할당량 초과), 502/503/504(일시적 서버 오류), 연결 실패만 재시도 (타임아웃은 이미 오래 기다렸으므로 제외)
+     */
+    private boolean isRetryable(Throwable error) {
+        if (error instanceof WebClientResponseException responseException) {
+            int status = responseException.getStatusCode().value();
+            return status == 429 || status == 502 || status == 503 || status == 504;
+        }
+        return error instanceof WebClientRequestException && error.getCause() instanceof ConnectException;
+    }
+
+    /**
+     * Retry-After 헤더 값 (초 또는 HTTP 날짜, 없거나 해석할 수 없으면 null)
+     */
+    private Duration retryAfter(Throwable error) {
+        if (!(error instanceof WebClientResponseException responseException)) {
+            return null;
+        }
+        String value = responseException.getHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            try {
+                Duration untilDate = Duration.between(ZonedDateTime.now(),
+                        ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME));
+                return untilDate.isNegative() ? Duration.ZERO : untilDate;
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
+
+    public RetryStats stats() {
+        return RetryStats.builder()
+                .name(name)
+                .enabled(config.isEnabled())
+                .maxAttempts(config.getMaxAttempts())
+                .calls(calls.sum())
+                .retries(retries.sum())
+                .recovered(recovered.sum())
+                .exhausted(exhausted.sum())
+                .budgetRejected(budgetRejected.sum())
+                .budgetTokens(budget.tokens())
+                .build();
+    }
+}
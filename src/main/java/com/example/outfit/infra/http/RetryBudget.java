@@ -0,0 +1,42 @@
+package com.example.outfit.infra.http;
+
+import com.example.outfit.config.HttpClientProperties;
+
+/**
+ * 모든 외부 API가 함께 쓰는 재시도 예산 (토큰 버킷)
+ * 호출마다 ratio만큼 토큰이 쌓이고 재시도 한 번에 1씩 쓴다.
+ */
+public class RetryBudget {
+
+    private final HttpClientProperties.RetryBudget config;
+
+    // 처음에는 가득 찬 상태로 시작해 호출이 적을 때도 재시도할 수 있게 한다
+    private double tokens;
+
+    public RetryBudget(HttpClientProperties.RetryBudget config) {
+        this.config = config;
+        this.tokens = config.getMaxTokens();
+    }
+
+    /**
+     * 호출 한 번 (ratio만큼 토큰 적립)
+     */
+    public synchronized void onCall() {
+        tokens = Math.min(config.getMaxTokens(), tokens + config.getRatio());
+    }
+
+    /**
+     * 재시도 허가 (토큰이 없으면 false)
+     */
+    public synchronized boolean tryAcquire() {
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    public synchronized double tokens() {
+        return tokens;
+    }
+}
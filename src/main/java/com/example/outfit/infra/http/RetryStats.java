@@ -0,0 +1,41 @@
+package com.example.outfit.infra.http;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * 재시도 통계 스냅샷
+ */
+@Value
+@Builder
+@Schema(description = "재시도 통계")
+public class RetryStats {
+
+    @Schema(description = "외부 API 이름", example = "vision")
+    String name;
+
+    @Schema(description = "재시도 사용 여부")
+    boolean enabled;
+
+    @Schema(description = "최대 시도 횟수 (첫 호출 포함)")
+    int maxAttempts;
+
+    @Schema(description = "전체 호출 수 (재시도 제외)")
+    long calls;
+
+    @Schema(description = "재시도 횟수")
+    long retries;
+
+    @Schema(description = "재시도 끝에 성공한 호출 수")
+    long recovered;
+
+    @Schema(description = "재시도했지만 결국 실패한 호출 수")
+    long exhausted;
+
+    @Schema(description = "재시도 예산이 없어 재시도하지 않은 횟수")
+    long budgetRejected;
+
+    @Schema(description = "남은 재시도 예산 (모든 외부 API 공유)")
+    double budgetTokens;
+}
@@ -0,0 +1,236 @@
+package com.example.outfit.infra.http;
+
+import com.example.outfit.config.HttpClientProperties.RecordReplay;
+import com.example.outfit.infra.cache.ContentHash;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 외부 API 호출 녹화 파일 (gzip으로 압축한 JSON lines, 한 줄에 호출 하나)
+ * 요청 본문은 지문(SHA-256)만 남기고, API 키(x-goog-api-key 헤더, key 쿼리 파라미터)는 기록하지 않는다.
+ * 녹화는 전용 스레드에서 파일에 쓰므로 이벤트 루프를 막지 않고, 재생은 시작할 때 파일 전체를 메모리에 올린다.
+ */
+@Slf4j
+public class TrafficRecording implements AutoCloseable {
+
+    private static final List<String> SECRET_QUERY_PARAMS = List.of("key");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RecordReplay config;
+    private final Map<String, ReplayQueue> exchanges = new HashMap<>();
+    private final ExecutorService writerThread;
+    private final Writer writer;
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder missed = new LongAdder();
+
+    public TrafficRecording(RecordReplay config) {
+        this.config = config;
+        Path file = config.getFile().toAbsolutePath();
+        if (config.getMode() == RecordReplay.Mode.REPLAY) {
+            this.writerThread = null;
+            this.writer = null;
+            load(file);
+            log.info("외부 API 재생 모드 - 파일 {}, 호출 {}개 (요청 {}종류), 지연 배율 {}",
+                    file, exchanges.values().stream().mapToInt(queue -> queue.exchanges.size()).sum(),
+                    exchanges.size(), config.getTimingScale());
+        } else {
+            this.writer = openWriter(file);
+            this.writerThread = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "traffic-recorder");
+                thread.setDaemon(true);
+                return thread;
+            });
+            log.info("외부 API 녹화 모드 - 파일 {}", file);
+        }
+    }
+
+    public boolean isReplay() {
+        return config.getMode() == RecordReplay.Mode.REPLAY;
+    }
+
+    /**
+     * 녹화한 호출 하나
+     *
+     * @param upstream      외부 API 이름
+     * @param request       메서드와 경로/쿼리 (API 키 제외, 사람이 읽기 위한 값)
+     * @param fingerprint   외부 API, 메서드, 경로/쿼리, 요청 본문으로 만든 지문
+     * @param status        응답 상태 코드
+     * @param contentType   응답 Content-Type
+     * @param headers       Content-Type 외에 클라이언트가 읽는 응답 헤더 (Retry-After, 이 필드가 없는 이전 녹화 파일은 null)
+     * @param latencyMillis 요청부터 응답 본문을 다 받을 때까지 걸린 시간
+     * @param body          응답 본문 (세 외부 API 모두 JSON이므로 UTF-8 문자열로 저장)
+     */
+    public record Exchange(String upstream, String request, String fingerprint, int status, String contentType,
+                           Map<String, String> headers, long latencyMillis, String body) {
+    }
+
+    /**
+     * API 키를 뺀 "메서드 경로?쿼리" (호스트는 빼서 다른 주소로 설정해도 같은 요청으로 본다)
+     */
+    public static String describe(String method, URI uri) {
+        String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+        if (uri.getRawQuery() == null) {
+            return method + " " + path;
+        }
+        String query = Arrays.stream(uri.getRawQuery().split("&"))
+                .filter(param -> !SECRET_QUERY_PARAMS.contains(param.substring(0, indexOrLength(param, '='))))
+                .collect(Collectors.joining("&"));
+        return method + " " + path + (query.isEmpty() ? "" : "?" + query);
+    }
+
+    private static int indexOrLength(String value, char ch) {
+        int index = value.indexOf(ch);
+        return index < 0 ? value.length() : index;
+    }
+
+    public static String fingerprint(String upstream, String request, byte[] bodyDigest) {
+        return ContentHash.sha256((upstream + "\n" + request + "\n" + HexFormat.of().formatHex(bodyDigest))
+                .getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 녹화 파일에 호출 추가 (전용 스레드에서 기록, 종료 중이면 버림)
+     */
+    public void record(Exchange exchange) {
+        try {
+            writerThread.execute(() -> write(exchange));
+        } catch (RejectedExecutionException e) {
+            log.debug("종료 중이라 녹화하지 않음: {} {}", exchange.upstream(), exchange.request());
+        }
+    }
+
+    private void write(Exchange exchange) {
+        try {
+            writer.write(objectMapper.writeValueAsString(exchange));
+            writer.write('\n');
+            // 동기 flush로 gzip 블록을 닫아, 비정상 종료되어도 그때까지 녹화한 호출은 읽을 수 있게 한다
+            writer.flush();
+            recorded.increment();
+        } catch (IOException e) {
+            log.warn("외부 API 호출 녹화 실패: {} {} - {}", exchange.upstream(), exchange.request(), e.getMessage());
+        }
+    }
+
+    /**
+     * 지문이 같은 녹화 호출 (같은 요청이 여러 번 녹화됐으면 녹화 순서대로 돌아가며 반환, 없으면 null)
+     */
+    public Exchange replay(String fingerprint) {
+        ReplayQueue queue = exchanges.get(fingerprint);
+        if (queue == null) {
+            missed.increment();
+            return null;
+        }
+        replayed.increment();
+        return queue.next();
+    }
+
+    /**
+     * 재생 지연 시간 (녹화된 지연 시간 × 배율)
+     */
+    public Duration delay(Exchange exchange) {
+        return Duration.ofNanos((long) (exchange.latencyMillis() * 1_000_000L * config.getTimingScale()));
+    }
+
+    private void load(Path file) {
+        if (!Files.isRegularFile(file)) {
+            throw new IllegalStateException("재생할 녹화 파일이 없습니다: " + file);
+        }
+        // 녹화를 여러 번 이어서 하면 gzip 멤버가 이어 붙은 파일이 되며, GZIPInputStream은 이를 한 스트림으로 읽는다
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                Exchange exchange = readExchange(line);
+                exchanges.computeIfAbsent(exchange.fingerprint(), key -> new ReplayQueue()).exchanges.add(exchange);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("녹화 파일을 읽을 수 없습니다: " + file, e);
+        }
+    }
+
+    private Exchange readExchange(String line) {
+        try {
+            return objectMapper.readValue(line, Exchange.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("녹화 파일 형식이 올바르지 않습니다: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private static Writer openWriter(Path file) {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            return new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(new FileOutputStream(file.toFile(), true), true), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("녹화 파일을 열 수 없습니다: " + file, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (writerThread != null) {
+            writerThread.shutdown();
+            try {
+                if (!writerThread.awaitTermination(10, TimeUnit.SECONDS)) {
+                    log.warn("녹화 대기 중인 호출을 모두 쓰지 못하고 종료합니다");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            try {
+                writer.close();
+            } catch (IOException e) {
+                log.warn("녹화 파일 닫기 실패: {}", e.getMessage());
+            }
+            log.info("외부 API 녹화 종료 - {}개 호출 기록", recorded.sum());
+        } else {
+            log.info("외부 API 재생 종료 - 재생 {}개, 녹화에 없는 요청 {}개", replayed.sum(), missed.sum());
+        }
+    }
+
+    private static final class ReplayQueue {
+
+        private final List<Exchange> exchanges = new ArrayList<>();
+        private final AtomicInteger next = new AtomicInteger();
+
+        private Exchange next() {
+            return exchanges.get(Math.floorMod(next.getAndIncrement(), exchanges.size()));
+        }
+    }
+}
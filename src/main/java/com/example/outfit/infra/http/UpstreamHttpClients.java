@@ -0,0 +1,240 @@
+package com.example.outfit.infra.http;
+
+import com.example.outfit.config.HttpClientProperties;
+import com.example.outfit.config.HttpClientProperties.RecordReplay;
+import com.example.outfit.config.HttpClientProperties.Upstream;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.ToIntFunction;
+
+/**
+ * 외부 API별 WebClient 생성
+ * 외부 API마다 연결 풀을 따로 두므로 한 API의 연결이 막혀도 다른 API 호출은 영향을 받지 않고,
+ * 연결을 재사용하므로 요청이 몰릴 때마다 TCP/TLS 핸드셰이크를 반복하지 않는다.
+ */
+@Slf4j
+@Component
+public class UpstreamHttpClients {
+
+    public static final String VISION = "vision";
+    public static final String NANOBANANA = "nanobanana";
+    public static final String SEARCH = "search";
+
+    private final WebClient.Builder webClientBuilder;
+    private final HttpClientProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final List<ConnectionProvider> providers = new ArrayList<>();
+    private final Set<String> names = new ConcurrentSkipListSet<>();
+    private final Map<String, PoolGauge> pools = new ConcurrentHashMap<>();
+    private final PoolRegistrar poolRegistrar = new PoolRegistrar();
+    private final Map<String, RequestHedger> hedgers = new ConcurrentSkipListMap<>();
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentSkipListMap<>();
+    private final Map<String, Bulkhead> bulkheads = new ConcurrentSkipListMap<>();
+    private final Map<String, RequestRetrier> retriers = new ConcurrentSkipListMap<>();
+    private final RetryBudget retryBudget;
+    private final TrafficRecording recording;
+
+    public UpstreamHttpClients(WebClient.Builder webClientBuilder, HttpClientProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.webClientBuilder = webClientBuilder;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.retryBudget = new RetryBudget(properties.getRetryBudget());
+        this.recording = properties.getRecordReplay().getMode() == RecordReplay.Mode.OFF
+                ? null
+                : new TrafficRecording(properties.getRecordReplay());
+    }
+
+    /**
+     * 외부 API 전용 연결 풀과 타임아웃이 설정된 WebClient.Builder (호출 시간/본문 크기 지표 기록)
+     * 녹화/재생 모드(outfit.http.record-replay.mode)이면 실제 연결 대신 RecordReplayConnector를 거친다.
+     *
+     * @param name VISION, NANOBANANA, SEARCH 중 하나
+     */
+    public synchronized WebClient.Builder builder(String name) {
+        Upstream config = config(name);
+
+        ConnectionProvider provider = ConnectionProvider.builder(name)
+                .maxConnections(config.getMaxConnections())
+                .pendingAcquireMaxCount(config.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(config.getPendingAcquireTimeout())
+                .maxIdleTime(config.getMaxIdleTime())
+                .maxLifeTime(config.getMaxLifeTime())
+                .evictInBackground(config.getEvictionInterval())
+                .metrics(true, () -> poolRegistrar)
+                .build();
+        providers.add(provider);
+        names.add(name);
+
+        HttpClient httpClient = HttpClient.create(provider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) config.getConnectTimeout().toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, config.isKeepAlive())
+                .keepAlive(true);
+        if (config.getResponseTimeout() != null) {
+            httpClient = httpClient.responseTimeout(config.getResponseTimeout());
+        }
+        if (config.isHttp2()) {
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
+
+        log.info("HTTP 클라이언트 [{}] - 최대 연결 {}, 대기 {}개/{}, 유휴 {}, 연결 타임아웃 {}, 응답 타임아웃 {}, HTTP/2 {}",
+                name, config.getMaxConnections(), config.getPendingAcquireMaxCount(), config.getPendingAcquireTimeout(),
+                config.getMaxIdleTime(), config.getConnectTimeout(), config.getResponseTimeout(), config.isHttp2());
+
+        ClientHttpConnector connector = new ReactorClientHttpConnector(httpClient);
+        if (recording != null) {
+            connector = new RecordReplayConnector(name, connector, recording);
+        }
+
+        return webClientBuilder.clone()
+                .clientConnector(connector)
+                .filter(new UpstreamMetricsFilter(name, meterRegistry));
+    }
+
+    /**
+     * 외부 API 설정(outfit.http.<api>.hedge)대로 동작하는 헤지 실행기 (외부 API마다 하나)
+     */
+    public RequestHedger hedger(String name) {
+        return hedgers.computeIfAbsent(name, key -> new RequestHedger(key, config(key).getHedge()));
+    }
+
+    /**
+     * 헤지 실행기별 통계
+     */
+    public List<HedgeStats> hedgeStats() {
+        return hedgers.values().stream()
+                .map(RequestHedger::stats)
+                .toList();
+    }
+
+    /**
+     * 외부 API 설정(outfit.http.<api>.circuit-breaker)대로 동작하는 서킷 브레이커 (외부 API마다 하나)
+     */
+    public CircuitBreaker circuitBreaker(String name) {
+        return circuitBreakers.computeIfAbsent(name, key -> new CircuitBreaker(key, config(key).getCircuitBreaker()));
+    }
+
+    /**
+     * 외부 API 설정(outfit.http.<api>.bulkhead)대로 동시 호출 수를 제한하는 벌크헤드 (외부 API마다 하나)
+     */
+    public Bulkhead bulkhead(String name) {
+        return bulkheads.computeIfAbsent(name, key -> new Bulkhead(key, config(key).getBulkhead()));
+    }
+
+    /**
+     * 외부 API 설정(outfit.http.<api>.retry)대로 재시도하는 실행기 (외부 API마다 하나, 재시도 예산은 공유)
+     */
+    public RequestRetrier retrier(String name) {
+        return retriers.computeIfAbsent(name, key -> new RequestRetrier(key, config(key).getRetry(), retryBudget));
+    }
+
+    /**
+     * 재시도 실행기별 통계
+     */
+    public List<RetryStats> retryStats() {
+        return retriers.values().stream()
+                .map(RequestRetrier::stats)
+                .toList();
+    }
+
+    /**
+     * 서킷 브레이커별 상태
+     */
+    public List<CircuitBreakerStats> circuitBreakerStats() {
+        return circuitBreakers.values().stream()
+                .map(CircuitBreaker::stats)
+                .toList();
+    }
+
+    /**
+     * 벌크헤드별 동시 호출 수
+     */
+    public List<BulkheadStats> bulkheadStats() {
+        return bulkheads.values().stream()
+                .map(Bulkhead::stats)
+                .toList();
+    }
+
+    /**
+     * 외부 API별 연결 풀 상태 (원격 주소별로 풀이 나뉘면 합산)
+     */
+    public List<HttpPoolStats> stats() {
+        return names.stream()
+                .map(name -> {
+                    List<ConnectionPoolMetrics> metrics = pools.values().stream()
+                            .filter(gauge -> gauge.name().equals(name))
+                            .map(PoolGauge::metrics)
+                            .toList();
+                    return HttpPoolStats.builder()
+                            .name(name)
+                            .maxConnections(config(name).getMaxConnections())
+                            .remoteAddresses(metrics.size())
+                            .active(sum(metrics, ConnectionPoolMetrics::acquiredSize))
+                            .idle(sum(metrics, ConnectionPoolMetrics::idleSize))
+                            .allocated(sum(metrics, ConnectionPoolMetrics::allocatedSize))
+                            .pending(sum(metrics, ConnectionPoolMetrics::pendingAcquireSize))
+                            .build();
+                })
+                .toList();
+    }
+
+    private static int sum(List<ConnectionPoolMetrics> metrics,
+                           ToIntFunction<ConnectionPoolMetrics> value) {
+        return metrics.stream().mapToInt(value).sum();
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        providers.forEach(ConnectionProvider::dispose);
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    private Upstream config(String name) {
+        return switch (name) {
+            case VISION -> properties.getVision();
+            case NANOBANANA -> properties.getNanobanana();
+            case SEARCH -> properties.getSearch();
+            default -> throw new IllegalArgumentException("알 수 없는 외부 API: " + name);
+        };
+    }
+
+    /**
+     * 원격 주소별 풀이 만들어지거나 정리될 때 Reactor Netty가 호출 (Micrometer 없이 풀 상태를 직접 보관)
+     */
+    private class PoolRegistrar implements ConnectionProvider.MeterRegistrar {
+
+        @Override
+        public void registerMetrics(String poolName, String id, SocketAddress remoteAddress, ConnectionPoolMetrics metrics) {
+            pools.put(poolName + "|" + id + "|" + remoteAddress, new PoolGauge(poolName, metrics));
+        }
+
+        @Override
+        public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+            pools.remove(poolName + "|" + id + "|" + remoteAddress);
+        }
+    }
+
+    private record PoolGauge(String name, ConnectionPoolMetrics metrics) {
+    }
+}
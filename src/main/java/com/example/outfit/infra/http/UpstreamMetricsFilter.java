@@ -0,0 +1,140 @@
+package com.example.outfit.infra.http;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.client.reactive.ClientHttpRequestDecorator;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 외부 API 호출 지표 기록
+ * - outfit.upstream.requests: 요청부터 응답 본문을 다 읽을 때까지 걸린 시간 (upstream, status, outcome, exception 태그)
+ * - outfit.upstream.request.size / outfit.upstream.response.size: 요청/응답 본문 크기 (바이트)
+ * 재시도, 헤지 요청은 HTTP 요청마다 따로 기록된다.
+ */
+public class UpstreamMetricsFilter implements ExchangeFilterFunction {
+
+    public static final String REQUEST_TIMER = "outfit.upstream.requests";
+    public static final String REQUEST_SIZE = "outfit.upstream.request.size";
+    public static final String RESPONSE_SIZE = "outfit.upstream.response.size";
+
+    // Nano Banana 응답 타임아웃(120초)과 이미지가 든 요청/응답 크기까지 히스토그램 구간에 들어오도록 설정
+    private static final Duration MAX_EXPECTED_DURATION = Duration.ofMinutes(3);
+    private static final double MAX_EXPECTED_BYTES = 64 * 1024 * 1024;
+
+    private final String upstream;
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary requestSize;
+    private final DistributionSummary responseSize;
+
+    public UpstreamMetricsFilter(String upstream, MeterRegistry meterRegistry) {
+        this.upstream = upstream;
+        this.meterRegistry = meterRegistry;
+        this.requestSize = sizeSummary(REQUEST_SIZE, "외부 API 요청 본문 크기");
+        this.responseSize = sizeSummary(RESPONSE_SIZE, "외부 API 응답 본문 크기");
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            Exchange exchange = new Exchange();
+            ClientRequest counted = ClientRequest.from(request)
+                    .body((message, context) -> request.body().insert(new ClientHttpRequestDecorator(message) {
+                        @Override
+                        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                            return super.writeWith(Flux.from(body)
+                                    .doOnNext(buffer -> exchange.requestBytes.addAndGet(buffer.readableByteCount())));
+                        }
+                    }, context))
+                    .build();
+
+            return next.exchange(counted)
+                    .doOnError(e -> exchange.record("CLIENT_ERROR", "UNKNOWN", e))
+                    .doOnCancel(() -> exchange.record("CANCELLED", "UNKNOWN", null))
+                    .map(response -> response.mutate()
+                            .body(body -> body
+                                    .doOnNext(buffer -> exchange.responseBytes.addAndGet(buffer.readableByteCount()))
+                                    .doOnError(e -> exchange.record(
+                                            String.valueOf(response.statusCode().value()), "UNKNOWN", e))
+                                    .doFinally(signal -> exchange.record(response, signal)))
+                            .build());
+        });
+    }
+
+    private DistributionSummary sizeSummary(String name, String description) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .baseUnit("bytes")
+                .tag("upstream", upstream)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(MAX_EXPECTED_BYTES)
+                .register(meterRegistry);
+    }
+
+    /**
+     * HTTP 요청 하나의 측정 상태 (응답 본문을 읽지 않고 버려도 한 번만 기록)
+     */
+    private class Exchange {
+
+        private final long startNanos = System.nanoTime();
+        private final AtomicLong requestBytes = new AtomicLong();
+        private final AtomicLong responseBytes = new AtomicLong();
+        private final AtomicBoolean recorded = new AtomicBoolean();
+
+        private void record(ClientResponse response, SignalType signal) {
+            int status = response.statusCode().value();
+            if (signal == SignalType.CANCEL) {
+                record(String.valueOf(status), "UNKNOWN", null);
+            } else {
+                record(String.valueOf(status), outcome(status), null);
+            }
+        }
+
+        private void record(String status, String outcome, Throwable error) {
+            if (!recorded.compareAndSet(false, true)) {
+                return;
+            }
+            Timer.builder(REQUEST_TIMER)
+                    .description("외부 API 호출 시간 (응답 본문 수신 완료까지)")
+                    .tag("upstream", upstream)
+                    .tag("status", status)
+                    .tag("outcome", outcome)
+                    .tag("exception", error == null ? "none" : error.getClass().getSimpleName())
+                    .publishPercentileHistogram()
+                    .maximumExpectedValue(MAX_EXPECTED_DURATION)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            requestSize.record(requestBytes.get());
+            if (error == null) {
+                responseSize.record(responseBytes.get());
+            }
+        }
+
+        private String outcome(int status) {
+            if (status >= 500) {
+                return "SERVER_ERROR";
+            }
+            if (status >= 400) {
+                return "CLIENT_ERROR";
+            }
+            if (status >= 300) {
+                return "REDIRECTION";
+            }
+            return status >= 200 ? "SUCCESS" : "INFORMATIONAL";
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.outfit.infra.http;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * 서킷이 열려 있거나 동시 호출 한도에 차서 외부 API를 호출하지 않고 바로 실패할 때 발생
+ */
+@Getter
+public class UpstreamUnavailableException extends RuntimeException {
+
+    private final String upstream;
+    private final Duration retryAfter;
+
+    public UpstreamUnavailableException(String upstream, String reason, Duration retryAfter) {
+        super("외부 API [" + upstream + "] 사용 불가: " + reason);
+        this.upstream = upstream;
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * 예외 원인 체인에서 UpstreamUnavailableException 찾기 (없으면 null)
+     */
+    public static UpstreamUnavailableException find(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof UpstreamUnavailableException unavailable) {
+                return unavailable;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.outfit.infra.image;
+
+import com.example.outfit.infra.cache.ContentHash;
+import com.example.outfit.infra.cache.PerceptualHash;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 파이프라인 한 번 동안 여러 단계/클라이언트에 전달되는 이미지 (불변)
+ * MIME 타입, SHA-256, 지각 해시, 변환본(전처리 결과 등)은 처음 필요할 때 한 번만 계산하고 재사용한다.
+ * base64는 Data URL로 받았거나 작은 이미지만 보관한다 (전처리하지 못한 수십 MB 원본의 base64를 힙에 들고 있지 않도록).
+ * 두 스레드가 동시에 처음 요청하면 중복 계산될 수 있지만 결과가 같으므로 어느 값을 써도 된다.
+ */
+public final class ImageArtifact {
+
+    // 이 크기 이하 이미지만 base64를 보관 (전처리한 업로드는 보통 수백 KB)
+    private static final int RETAINED_BASE64_MAX_BYTES = 1024 * 1024;
+
+    private volatile byte[] bytes;
+    private volatile byte[] base64;
+    private volatile String mimeType;
+    private volatile String sha256;
+    private volatile Optional<PerceptualHash.Fingerprint> perceptualHash;
+    private final Map<String, ImageArtifact> variants = new ConcurrentHashMap<>();
+
+    private ImageArtifact(byte[] bytes, byte[] base64, String mimeType, String sha256) {
+        this.bytes = bytes;
+        this.base64 = base64;
+        this.mimeType = mimeType;
+        this.sha256 = sha256;
+    }
+
+    public static ImageArtifact of(byte[] bytes) {
+        return new ImageArtifact(bytes, null, null, null);
+    }
+
+    /**
+     * MIME 타입과 해시를 이미 알고 있는 이미지 (저장소에서 읽은 이미지 등)
+     */
+    public static ImageArtifact of(byte[] bytes, String mimeType, String sha256) {
+        return new ImageArtifact(bytes, null, mimeType, sha256);
+    }
+
+    /**
+     * data:image/png;base64,xxxx 형식 (base64는 그대로 재사용하고, 바이트는 필요할 때 디코딩)
+     */
+    public static ImageArtifact fromDataUrl(String dataUrl) {
+        int comma = dataUrl.indexOf(',');
+        if (!dataUrl.startsWith("data:") || comma < 0) {
+            throw new IllegalArgumentException("Data URL 형식이 아닙니다");
+        }
+        String header = dataUrl.substring("data:".length(), comma);
+        int semicolon = header.indexOf(';');
+        String mimeType = semicolon >= 0 ? header.substring(0, semicolon) : header;
+        byte[] base64 = dataUrl.substring(comma + 1).getBytes(StandardCharsets.US_ASCII);
+        return new ImageArtifact(null, base64, mimeType.isEmpty() ? null : mimeType, null);
+    }
+
+    /**
+     * 이미지 바이트 (공유되는 배열이므로 수정하면 안 됨)
+     */
+    public byte[] bytes() {
+        byte[] value = bytes;
+        if (value == null) {
+            value = Base64.getDecoder().decode(base64);
+            bytes = value;
+        }
+        return value;
+    }
+
+    public int size() {
+        return bytes().length;
+    }
+
+    /**
+     * MIME 타입 (파일 시그니처 기준)
+     */
+    public String mimeType() {
+        String value = mimeType;
+        if (value == null) {
+            value = ImageFormats.detectMimeType(bytes());
+            mimeType = value;
+        }
+        return value;
+    }
+
+    /**
+     * 내용의 SHA-256 (hex)
+     */
+    public String sha256() {
+        String value = sha256;
+        if (value == null) {
+            value = ContentHash.sha256(bytes());
+            sha256 = value;
+        }
+        return value;
+    }
+
+    /**
+     * base64 인코딩 (ASCII 바이트, 줄바꿈 없음, 공유되는 배열이므로 수정하면 안 됨)
+     * 보관 중인 값이 있으면 재사용하고, 없으면 새로 인코딩한다.
+     */
+    public byte[] base64() {
+        byte[] value = retainedBase64();
+        return value != null ? value : Base64.getEncoder().encode(bytes());
+    }
+
+    /**
+     * 보관 중인 base64 (Data URL로 받은 값, 또는 작은 이미지는 처음 요청할 때 인코딩해서 보관)
+     * 같은 이미지를 여러 API 호출/재시도에 보내도 인코딩은 한 번만 한다.
+     *
+     * @return 보관하지 않는 큰 이미지면 null (호출자가 bytes()를 스트리밍 인코딩)
+     */
+    public byte[] retainedBase64() {
+        byte[] value = base64;
+        if (value == null && bytes().length <= RETAINED_BASE64_MAX_BYTES) {
+            value = Base64.getEncoder().encode(bytes());
+            base64 = value;
+        }
+        return value;
+    }
+
+    /**
+     * 지각 해시 dHash와 색 시그니처 (디코딩할 수 없는 형식이면 empty)
+     */
+    public Optional<PerceptualHash.Fingerprint> perceptualHash() {
+        Optional<PerceptualHash.Fingerprint> value = perceptualHash;
+        if (value == null) {
+            value = PerceptualHash.fingerprint(bytes());
+            perceptualHash = value;
+        }
+        return value;
+    }
+
+    /**
+     * 이름별로 한 번만 만드는 변환본 (예: 전처리한 업로드 이미지)
+     *
+     * @param name 변환 종류와 설정을 구분하는 이름
+     */
+    public ImageArtifact variant(String name, Function<ImageArtifact, ImageArtifact> factory) {
+        return variants.computeIfAbsent(name, key -> factory.apply(this));
+    }
+
+    public String toDataUrl() {
+        return "data:" + mimeType() + ";base64," + new String(base64(), StandardCharsets.US_ASCII);
+    }
+}
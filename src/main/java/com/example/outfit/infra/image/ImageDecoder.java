@@ -0,0 +1,74 @@
+package com.example.outfit.infra.image;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * 크기 제한이 있는 이미지 디코딩
+ * ImageIO.read는 헤더의 가로/세로만큼 픽셀 버퍼를 바로 할당하므로, 작은 파일이 수십억 픽셀을 선언하면(decompression bomb)
+ * OutOfMemoryError가 난다. 헤더에서 크기를 먼저 읽어 최대 픽셀 수를 넘으면 거절하고,
+ * 필요한 크기보다 크면 서브샘플링해서 디코딩한다.
+ */
+public final class ImageDecoder {
+
+    /**
+     * 기본 최대 픽셀 수 (약 8000x5000)
+     */
+    public static final long DEFAULT_MAX_PIXELS = 40_000_000L;
+
+    private ImageDecoder() {
+    }
+
+    /**
+     * 디코딩한 이미지와 원본 크기
+     *
+     * @param image  디코딩한 이미지 (서브샘플링했으면 원본보다 작음)
+     * @param width  원본 가로 픽셀
+     * @param height 원본 세로 픽셀
+     */
+    public record Decoded(BufferedImage image, int width, int height) {
+    }
+
+    /**
+     * 이미지 디코딩
+     *
+     * @param minDimension 필요한 긴 변 최소 픽셀 (원본이 이보다 두 배 이상 크면 긴 변이 이 값 이상이 되는 만큼만 읽음)
+     * @param maxPixels    원본 최대 픽셀 수 (넘으면 디코딩하지 않고 IOException)
+     * @return 지원하지 않는 형식이면 null
+     * @throws IOException 디코딩 실패, 크기 제한 초과 (깨진 파일에서 디코더가 던지는 RuntimeException 포함)
+     */
+    public static Decoded decode(byte[] imageBytes, int minDimension, long maxPixels) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(imageBytes))) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if (width <= 0 || height <= 0 || (long) width * height > maxPixels) {
+                    throw new IOException("이미지 크기 제한 초과: " + width + "x" + height + " (최대 " + maxPixels + " 픽셀)");
+                }
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, Math.max(width, height) / Math.max(1, minDimension));
+                if (subsampling > 1) {
+                    param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                }
+                return new Decoded(reader.read(0, param), width, height);
+            } catch (RuntimeException e) {
+                throw new IOException("이미지 디코딩 실패: " + e, e);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+}
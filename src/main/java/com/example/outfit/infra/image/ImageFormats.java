@@ -0,0 +1,38 @@
+package com.example.outfit.infra.image;
+
+/**
+ * 이미지 형식 판별 (파일 시그니처 기준)
+ */
+public final class ImageFormats {
+
+    public static final String JPEG = "image/jpeg";
+    public static final String PNG = "image/png";
+    public static final String WEBP = "image/webp";
+    public static final String GIF = "image/gif";
+
+    private ImageFormats() {
+    }
+
+    /**
+     * 바이트 앞부분으로 MIME 타입 판별 (알 수 없으면 image/png)
+     */
+    public static String detectMimeType(byte[] bytes) {
+        if (bytes == null) {
+            return PNG;
+        }
+        if (bytes.length >= 3 && (bytes[0] & 0xFF) == 0xFF && (bytes[1] & 0xFF) == 0xD8 && (bytes[2] & 0xFF) == 0xFF) {
+            return JPEG;
+        }
+        if (bytes.length >= 8 && (bytes[0] & 0xFF) == 0x89 && bytes[1] == 'P' && bytes[2] == 'N' && bytes[3] == 'G') {
+            return PNG;
+        }
+        if (bytes.length >= 12 && bytes[0] == 'R' && bytes[1] == 'I' && bytes[2] == 'F' && bytes[3] == 'F'
+                && bytes[8] == 'W' && bytes[9] == 'E' && bytes[10] == 'B' && bytes[11] == 'P') {
+            return WEBP;
+        }
+        if (bytes.length >= 4 && bytes[0] == 'G' && bytes[1] == 'I' && bytes[2] == 'F' && bytes[3] == '8') {
+            return GIF;
+        }
+        return PNG;
+    }
+}
@@ -0,0 +1,264 @@
+package com.example.outfit.infra.image;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * 업로드 이미지 전처리
+ * 외부 API로 보내기 전에 긴 변을 최대 크기로 줄이고, EXIF 방향을 실제 픽셀에 반영한 뒤
+ * 메타데이터 없이 JPEG로 다시 인코딩한다. 디코딩할 수 없는 형식은 원본을 그대로 사용한다.
+ */
+@Slf4j
+@Component
+public class ImagePreprocessor {
+
+    private final boolean enabled;
+    private final int maxDimension;
+    private final float jpegQuality;
+    private final long maxPixels;
+
+    public ImagePreprocessor(
+            @Value("${outfit.preprocess.enabled:true}") boolean enabled,
+            @Value("${outfit.preprocess.max-dimension:1024}") int maxDimension,
+            @Value("${outfit.preprocess.jpeg-quality:0.85}") float jpegQuality,
+            @Value("${outfit.preprocess.max-pixels:" + ImageDecoder.DEFAULT_MAX_PIXELS + "}") long maxPixels) {
+        this.enabled = enabled;
+        this.maxDimension = maxDimension;
+        this.jpegQuality = jpegQuality;
+        this.maxPixels = maxPixels;
+        log.info("업로드 이미지 전처리 - 사용 {}, 최대 {}px, JPEG 품질 {}, 원본 최대 {} 픽셀",
+                enabled, maxDimension, jpegQuality, maxPixels);
+    }
+
+    /**
+     * 업로드 이미지를 외부 API 전송용으로 변환 (같은 이미지는 한 번만 변환)
+     *
+     * @return 변환된 JPEG 이미지 (비활성화/디코딩 불가/이득이 없으면 원본)
+     */
+    public ImageArtifact prepare(ImageArtifact upload) {
+        if (!enabled) {
+            return upload;
+        }
+        return upload.variant("upload-" + maxDimension + "-" + jpegQuality, this::encode);
+    }
+
+    private ImageArtifact encode(ImageArtifact upload) {
+        byte[] imageBytes = upload.bytes();
+        long start = System.nanoTime();
+        ImageDecoder.Decoded decoded;
+        try {
+            // 축소할 때 계단 현상이 생기지 않도록 목표 크기의 두 배 이상은 읽는다
+            decoded = ImageDecoder.decode(imageBytes, maxDimension * 2, maxPixels);
+        } catch (IOException e) {
+            log.warn("업로드 이미지 디코딩 실패, 원본 사용: {}", e.getMessage());
+            return upload;
+        }
+        if (decoded == null) {
+            log.warn("지원하지 않는 이미지 형식, 원본 사용 ({})", upload.mimeType());
+            return upload;
+        }
+
+        boolean jpeg = ImageFormats.JPEG.equals(upload.mimeType());
+        int orientation = jpeg ? ExifOrientation.read(imageBytes) : 1;
+        boolean needsResize = Math.max(decoded.width(), decoded.height()) > maxDimension;
+
+        BufferedImage image = toRgb(decoded.image());
+        if (needsResize) {
+            image = downscale(image, maxDimension);
+        }
+        if (orientation > 1) {
+            image = ExifOrientation.apply(image, orientation);
+        }
+
+        byte[] encoded = encodeJpeg(image);
+        // 크기를 줄일 필요도, 회전할 필요도 없는데 다시 인코딩한 결과가 더 크면 원본 유지
+        if (jpeg && !needsResize && orientation <= 1 && encoded.length >= imageBytes.length) {
+            return upload;
+        }
+
+        log.info("업로드 이미지 전처리: {}x{} {} bytes → {}x{} {} bytes ({} ms)",
+                decoded.width(), decoded.height(), imageBytes.length,
+                image.getWidth(), image.getHeight(), encoded.length,
+                (System.nanoTime() - start) / 1_000_000);
+        return ImageArtifact.of(encoded);
+    }
+
+    /**
+     * 알파 채널을 흰 배경에 합성해 JPEG로 쓸 수 있는 RGB 이미지로 변환
+     */
+    private BufferedImage toRgb(BufferedImage source) {
+        if (source.getType() == BufferedImage.TYPE_INT_RGB || source.getType() == BufferedImage.TYPE_3BYTE_BGR) {
+            return source;
+        }
+        BufferedImage rgb = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = rgb.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, rgb.getWidth(), rgb.getHeight());
+            g.drawImage(source, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return rgb;
+    }
+
+    /**
+     * 긴 변이 maxDimension이 되도록 축소 (절반씩 여러 번 줄여 한 번에 줄일 때의 계단 현상 방지)
+     */
+    private BufferedImage downscale(BufferedImage source, int maxDimension) {
+        double scale = (double) maxDimension / Math.max(source.getWidth(), source.getHeight());
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        while (width != targetWidth || height != targetHeight) {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage next = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        }
+        return current;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOut = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.setOutput(imageOut);
+            // 메타데이터(EXIF 등) 없이 픽셀만 기록
+            writer.write(null, new IIOImage(image, null, null), param);
+        } catch (IOException e) {
+            throw new UncheckedIOException("JPEG 인코딩 실패", e);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * JPEG EXIF 방향(Orientation, 0x0112) 태그 처리
+     * 재인코딩하면 EXIF가 사라지므로 방향을 픽셀에 먼저 반영해야 한다.
+     */
+    static final class ExifOrientation {
+
+        private ExifOrientation() {
+        }
+
+        /**
+         * EXIF 방향 값 (1~8, 없으면 1)
+         */
+        static int read(byte[] jpeg) {
+            int offset = 2;
+            while (offset + 4 <= jpeg.length && (jpeg[offset] & 0xFF) == 0xFF) {
+                int marker = jpeg[offset + 1] & 0xFF;
+                int length = ((jpeg[offset + 2] & 0xFF) << 8) | (jpeg[offset + 3] & 0xFF);
+                if (marker == 0xDA || length < 2) {
+                    // 이미지 데이터 시작 (이후에는 APP 세그먼트 없음)
+                    return 1;
+                }
+                if (marker == 0xE1 && offset + 10 <= jpeg.length
+                        && jpeg[offset + 4] == 'E' && jpeg[offset + 5] == 'x' && jpeg[offset + 6] == 'i' && jpeg[offset + 7] == 'f') {
+                    return readTiffOrientation(jpeg, offset + 10, Math.min(jpeg.length, offset + 2 + length));
+                }
+                offset += 2 + length;
+            }
+            return 1;
+        }
+
+        private static int readTiffOrientation(byte[] data, int tiff, int end) {
+            if (tiff + 8 > end) {
+                return 1;
+            }
+            boolean littleEndian = data[tiff] == 'I' && data[tiff + 1] == 'I';
+            int ifd = tiff + (int) readInt(data, tiff + 4, littleEndian);
+            if (ifd + 2 > end || ifd < tiff) {
+                return 1;
+            }
+            int entries = readShort(data, ifd, littleEndian);
+            for (int i = 0; i < entries; i++) {
+                int entry = ifd + 2 + i * 12;
+                if (entry + 12 > end) {
+                    return 1;
+                }
+                if (readShort(data, entry, littleEndian) == 0x0112) {
+                    int value = readShort(data, entry + 8, littleEndian);
+                    return value >= 1 && value <= 8 ? value : 1;
+                }
+            }
+            return 1;
+        }
+
+        private static int readShort(byte[] data, int offset, boolean littleEndian) {
+            int b0 = data[offset] & 0xFF;
+            int b1 = data[offset + 1] & 0xFF;
+            return littleEndian ? (b1 << 8) | b0 : (b0 << 8) | b1;
+        }
+
+        private static long readInt(byte[] data, int offset, boolean littleEndian) {
+            long high = readShort(data, littleEndian ? offset + 2 : offset, littleEndian);
+            long low = readShort(data, littleEndian ? offset : offset + 2, littleEndian);
+            return (high << 16) | low;
+        }
+
+        /**
+         * 방향 값에 맞게 회전/반전한 이미지 반환
+         */
+        static BufferedImage apply(BufferedImage image, int orientation) {
+            int width = image.getWidth();
+            int height = image.getHeight();
+            boolean swap = orientation >= 5;
+
+            // AffineTransform(m00, m10, m01, m11, m02, m12): x' = m00*x + m01*y + m02, y' = m10*x + m11*y + m12
+            AffineTransform transform = switch (orientation) {
+                case 2 -> new AffineTransform(-1, 0, 0, 1, width, 0);       // 좌우 반전
+                case 3 -> new AffineTransform(-1, 0, 0, -1, width, height); // 180도 회전
+                case 4 -> new AffineTransform(1, 0, 0, -1, 0, height);      // 상하 반전
+                case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);            // 대각선 반전
+                case 6 -> new AffineTransform(0, 1, -1, 0, height, 0);      // 시계 방향 90도
+                case 7 -> new AffineTransform(0, -1, -1, 0, height, width); // 반대 대각선 반전
+                case 8 -> new AffineTransform(0, -1, 1, 0, 0, width);       // 반시계 방향 90도
+                default -> null;
+            };
+            if (transform == null) {
+                return image;
+            }
+
+            BufferedImage rotated = new BufferedImage(swap ? height : width, swap ? width : height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = rotated.createGraphics();
+            try {
+                g.drawImage(image, transform, null);
+            } finally {
+                g.dispose();
+            }
+            return rotated;
+        }
+    }
+}
@@ -1,14 +1,40 @@
 package com.example.outfit.infra.nanobanana;
 
+import com.example.outfit.infra.cache.ContentHash;
+import com.example.outfit.infra.cache.SingleFlight;
+import com.example.outfit.infra.gemini.GeminiQuotaScheduler;
+import com.example.outfit.infra.gemini.GeminiRequestBody;
+import com.example.outfit.infra.http.Bulkhead;
+import com.example.outfit.infra.http.CircuitBreaker;
+import com.example.outfit.infra.http.RequestRetrier;
+import com.example.outfit.infra.http.UpstreamHttpClients;
+import com.example.outfit.infra.http.UpstreamUnavailableException;
+import com.example.outfit.infra.image.ImageArtifact;
+import com.example.outfit.infra.storage.ImageStore;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpHeaders;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.HexFormat;
 
 /**
  * Nano Banana (Gemini Image) API를 사용하여 코디 이미지 생성
@@ -17,8 +43,19 @@ import org.springframework.web.reactive.function.client.WebClient;
 @Component
 public class NanoBananaClient {
 
+    /**
+     * 응답 예상 토큰 수 (할당량 계산용, 생성 이미지 1장 1290토큰 + 설명 텍스트)
+     */
+    private static final long ESTIMATED_OUTPUT_TOKENS = 1290 + 256;
+
     private final WebClient webClient;
+    private final RequestRetrier retrier;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final GeminiQuotaScheduler quotaScheduler;
     private final ObjectMapper objectMapper;
+    private final ImageStore imageStore;
+    private final SingleFlight<String, String> generationFlight = new SingleFlight<>("nanobanana-generation");
 
     @Value("${nanobanana.api.key}")
     private String apiKey;
@@ -29,16 +66,16 @@ public class NanoBananaClient {
     @Value("${nanobanana.api.model}")
     private String model;
 
-    public NanoBananaClient(WebClient.Builder webClientBuilder, ObjectMapper objectMapper) {
-        // 이미지 응답이 크기 때문에 버퍼 크기를 10MB로 증가
-        ExchangeStrategies strategies = ExchangeStrategies.builder()
-                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(10 * 1024 * 1024))
-                .build();
-        
-        this.webClient = webClientBuilder
-                .exchangeStrategies(strategies)
-                .build();
+    public NanoBananaClient(UpstreamHttpClients httpClients, GeminiQuotaScheduler quotaScheduler,
+                            ObjectMapper objectMapper, ImageStore imageStore) {
+        // 응답은 메모리에 모으지 않고 파일로 흘려보내므로 버퍼 크기 제한을 늘릴 필요가 없다
+        this.webClient = httpClients.builder(UpstreamHttpClients.NANOBANANA).build();
+        this.retrier = httpClients.retrier(UpstreamHttpClients.NANOBANANA);
+        this.circuitBreaker = httpClients.circuitBreaker(UpstreamHttpClients.NANOBANANA);
+        this.bulkhead = httpClients.bulkhead(UpstreamHttpClients.NANOBANANA);
+        this.quotaScheduler = quotaScheduler;
         this.objectMapper = objectMapper;
+        this.imageStore = imageStore;
     }
 
     /**
@@ -52,183 +89,251 @@ public class NanoBananaClient {
      * 원본 이미지와 프롬프트를 기반으로 코디 이미지 생성
      * 원본 이미지의 얼굴과 옷을 최대한 유지하면서 추천 옷을 입은 모습으로 생성
      * 
-     * @param originalImageBytes 원본 이미지 바이트 (null이면 텍스트만 사용)
+     * @param originalImage 원본 이미지 (null이면 텍스트만 사용)
      * @param prompt 이미지 생성 프롬프트
-     * @return 생성된 이미지의 Data URL
+     * @return 생성된 이미지 URL (이미지 저장소 URL, 저장소를 끈 경우 Data URL)
      */
-    public String generateImage(byte[] originalImageBytes, String prompt) {
-        try {
-            // Gemini API 형식으로 요청 본문 생성
-            java.util.Map<String, Object> requestMap = new java.util.HashMap<>();
-            java.util.List<Object> parts = new java.util.ArrayList<>();
-            
-            // 원본 이미지가 있으면 먼저 이미지 추가
-            if (originalImageBytes != null && originalImageBytes.length > 0) {
-                // 이미지 MIME 타입 감지 (간단하게 PNG로 가정, 필요시 확장)
-                String mimeType = "image/png";
-                if (originalImageBytes.length >= 2) {
-                    // JPEG 시그니처 확인
-                    if (originalImageBytes[0] == (byte)0xFF && originalImageBytes[1] == (byte)0xD8) {
-                        mimeType = "image/jpeg";
-                    }
-                }
-                
-                // 이미지를 base64로 인코딩
-                String base64Image = java.util.Base64.getEncoder().encodeToString(originalImageBytes);
-                
-                // 이미지 part 추가
-                java.util.Map<String, Object> imagePart = new java.util.HashMap<>();
-                java.util.Map<String, Object> inlineData = new java.util.HashMap<>();
-                inlineData.put("mimeType", mimeType);
-                inlineData.put("data", base64Image);
-                imagePart.put("inlineData", inlineData);
-                parts.add(imagePart);
-                
-                log.info("원본 이미지 포함: {} bytes, MIME 타입: {}", originalImageBytes.length, mimeType);
-            }
-            
-            // 프롬프트에 원본 이미지 유지 지시사항 추가
-            String enhancedPrompt = prompt;
-            if (originalImageBytes != null && originalImageBytes.length > 0) {
-                enhancedPrompt = "Based on the provided reference image, maintain the person's face, body shape, and existing clothing as much as possible. " +
-                        "Only change the recommended clothing item while keeping everything else identical. " +
-                        "The result should look like the same person wearing the new recommended item. " + prompt;
-            }
-            
-            // 텍스트 part 추가
-            java.util.Map<String, String> textPart = new java.util.HashMap<>();
-            textPart.put("text", enhancedPrompt);
-            parts.add(textPart);
-            
-            java.util.Map<String, Object> content = new java.util.HashMap<>();
-            content.put("parts", parts);
-            
-            java.util.List<Object> contentsList = new java.util.ArrayList<>();
-            contentsList.add(content);
-            
-            requestMap.put("contents", contentsList);
-
-            String requestBody = objectMapper.writeValueAsString(requestMap);
-            log.debug("Nano Banana API Request Body (처음 500자): {}", 
-                    requestBody.length() > 500 ? requestBody.substring(0, 500) + "..." : requestBody);
-            log.debug("Nano Banana API URL: {}", endpoint);
-
-            String response = webClient.post()
-                    .uri(endpoint)
-                    .header("x-goog-api-key", apiKey)
-                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                    .bodyValue(requestBody)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
-
-            log.info("Nano Banana API 응답 길이: {} bytes", response != null ? response.length() : 0);
-            if (response != null && response.length() < 2000) {
-                log.info("Nano Banana API Response (전체): {}", response);
-            } else if (response != null) {
-                log.info("Nano Banana API Response (처음 1000자): {}", response.substring(0, Math.min(1000, response.length())));
-            }
+    public String generateImage(ImageArtifact originalImage, String prompt) {
+        return generateImageAsync(originalImage, prompt).block();
+    }
 
-            return parseImageUrl(response);
+    /**
+     * 코디 이미지 생성 (논블로킹)
+     * 같은 원본 이미지 + 프롬프트의 동시 호출은 하나의 API 호출로 병합
+     */
+    public Mono<String> generateImageAsync(ImageArtifact originalImage, String prompt) {
+        String imageKey = originalImage != null ? originalImage.sha256() : "";
+        return generationFlight.execute(imageKey + "|" + prompt,
+                () -> requestImage(originalImage, prompt));
+    }
 
-        } catch (Exception e) {
-            log.error("Nano Banana API 호출 실패", e);
-            throw new RuntimeException("코디 이미지 생성 실패: " + e.getMessage(), e);
+    /**
+     * 응답 본문은 청크 단위로 임시 파일에 기록한 뒤 스트리밍 파싱하므로,
+     * 수 MB의 base64 응답 전체를 String/JsonNode로 메모리에 올리지 않는다.
+     * 429/503 등 일시적 오류는 재시도하고, 서킷이 열려 있거나 동시 호출 한도에 차면
+     * 호출하지 않고 UpstreamUnavailableException으로 실패한다 (재시도도 하지 않음).
+     * 할당량 스케줄러를 켜면 Vision 호출보다 뒤로 밀려 큐에서 기다린다 (서킷 브레이커 바깥이므로 대기 시간은 집계하지 않음).
+     */
+    private Mono<String> requestImage(ImageArtifact originalImage, String prompt) {
+        return Mono.defer(() -> {
+                    // 요청 본문은 전송하면서 직렬화 (JSON 문자열을 미리 만들지 않음, 재시도해도 다시 만들 필요 없음)
+                    GeminiRequestBody requestBody = buildRequestBody(originalImage, prompt);
+                    long tokens = requestBody.estimatedTokens() + ESTIMATED_OUTPUT_TOKENS;
+                    return retrier.execute(() -> quotaScheduler.execute(GeminiQuotaScheduler.Priority.IMAGE_GENERATION, tokens,
+                            () -> circuitBreaker.execute(
+                                    () -> bulkhead.execute(() -> postImageRequest(requestBody)))));
+                })
+                .onErrorMap(e -> !(e instanceof UpstreamUnavailableException), e -> {
+                    log.error("Nano Banana API 호출 실패", e);
+                    return new RuntimeException("코디 이미지 생성 실패: " + e.getMessage(), e);
+                });
+    }
+
+    private Mono<String> postImageRequest(GeminiRequestBody requestBody) {
+        return Mono.usingWhen(
+                Mono.fromCallable(() -> Files.createTempFile("nanobanana-response-", ".json"))
+                        .subscribeOn(Schedulers.boundedElastic()),
+                responseFile -> DataBufferUtils.write(
+                                webClient.post()
+                                        .uri(endpoint)
+                                        .header("x-goog-api-key", apiKey)
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .body(requestBody.toInserter(objectMapper))
+                                        .retrieve()
+                                        .bodyToFlux(DataBuffer.class),
+                                responseFile)
+                        .then(Mono.fromCallable(() -> readGeneratedImage(responseFile))
+                                .subscribeOn(Schedulers.boundedElastic())),
+                responseFile -> Mono.fromRunnable(() -> deleteQuietly(responseFile))
+                        .subscribeOn(Schedulers.boundedElastic()));
+    }
+
+    private GeminiRequestBody buildRequestBody(ImageArtifact originalImage, String prompt) {
+        GeminiRequestBody body = GeminiRequestBody.camelCase();
+        boolean hasOriginal = originalImage != null && originalImage.size() > 0;
+
+        // 원본 이미지가 있으면 먼저 이미지 추가
+        if (hasOriginal) {
+            body.image(originalImage);
+            log.info("원본 이미지 포함: {} bytes, MIME 타입: {}", originalImage.size(), originalImage.mimeType());
         }
+        
+        // 프롬프트에 원본 이미지 유지 지시사항 추가
+        String enhancedPrompt = prompt;
+        if (hasOriginal) {
+            enhancedPrompt = "Based on the provided reference image, maintain the person's face, body shape, and existing clothing as much as possible. " +
+                    "Only change the recommended clothing item while keeping everything else identical. " +
+                    "The result should look like the same person wearing the new recommended item. " + prompt;
+        }
+        
+        // 텍스트 part 추가
+        body.text(enhancedPrompt);
+
+        log.debug("Nano Banana API 요청 본문 약 {} bytes", body.estimatedSize());
+        log.debug("Nano Banana API URL: {}", endpoint);
+
+        return body;
     }
 
-    private String parseImageUrl(String response) {
+    /**
+     * 응답 파일에서 이미지를 디코딩해 저장소에 기록하고 URL 반환 (저장소를 끈 경우 Data URL)
+     * base64는 디코딩하면서 바로 임시 파일에 쓰고 해시도 함께 계산한다.
+     */
+    private String readGeneratedImage(Path responseFile) throws IOException {
+        log.info("Nano Banana API 응답 길이: {} bytes", Files.size(responseFile));
+
+        Path imageFile = imageStore.newTempFile();
         try {
-            JsonNode root = objectMapper.readTree(response);
-            
-            // 에러 확인
-            if (root.has("error")) {
-                JsonNode error = root.path("error");
-                log.error("Nano Banana API 에러: {}", error.toPrettyString());
-                throw new RuntimeException("Nano Banana API 에러: " + error.toPrettyString());
+            MessageDigest digest = ContentHash.newDigest();
+            String mimeType;
+            try (InputStream in = Files.newInputStream(responseFile);
+                 OutputStream out = new DigestOutputStream(
+                         new BufferedOutputStream(Files.newOutputStream(imageFile)), digest)) {
+                mimeType = parseImage(in, out);
+            }
+
+            if (!imageStore.isEnabled()) {
+                return "data:" + mimeType + ";base64," + Base64.getEncoder().encodeToString(Files.readAllBytes(imageFile));
             }
-            
-            log.info("Nano Banana API 응답 JSON 구조 확인:");
-            java.util.Iterator<String> fieldNames = root.fieldNames();
-            java.util.List<String> fields = new java.util.ArrayList<>();
-            while (fieldNames.hasNext()) {
-                fields.add(fieldNames.next());
+            return imageStore.storeFile(imageFile, HexFormat.of().formatHex(digest.digest()), mimeType).getUrl();
+        } finally {
+            deleteQuietly(imageFile);
+        }
+    }
+
+    /**
+     * 응답 JSON을 스트리밍 파싱해 candidates[0].content.parts[*]의 첫 inlineData(또는 inline_data) 이미지를
+     * sink에 디코딩해서 쓴다. 나머지 필드는 트리로 만들지 않고 건너뛴다.
+     *
+     * @return 이미지 MIME 타입
+     */
+    String parseImage(InputStream response, OutputStream sink) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(response)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new RuntimeException("Nano Banana API 응답이 JSON 객체가 아닙니다");
             }
-            log.info("  - root 필드들: {}", fields.isEmpty() ? "없음" : String.join(", ", fields));
-            
-            // Gemini API 형식
-            JsonNode candidates = root.path("candidates");
-            log.info("  - candidates 노드 존재: {}, 타입: {}", !candidates.isMissingNode(), candidates.getNodeType());
-            
-            if (candidates.isArray() && candidates.size() > 0) {
-                log.info("  - candidates 배열 크기: {}", candidates.size());
-                JsonNode firstCandidate = candidates.get(0);
-                
-                java.util.Iterator<String> candidateFields = firstCandidate.fieldNames();
-                java.util.List<String> candidateFieldList = new java.util.ArrayList<>();
-                while (candidateFields.hasNext()) {
-                    candidateFieldList.add(candidateFields.next());
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+
+                if ("error".equals(field)) {
+                    JsonNode error = objectMapper.readTree(parser);
+                    log.error("Nano Banana API 에러: {}", error.toPrettyString());
+                    throw new RuntimeException("Nano Banana API 에러: " + error.toPrettyString());
                 }
-                log.info("  - candidate 필드들: {}", candidateFieldList.isEmpty() ? "없음" : String.join(", ", candidateFieldList));
-                
-                JsonNode content = firstCandidate.path("content");
-                log.info("  - content 노드 존재: {}", !content.isMissingNode());
-                
-                JsonNode parts = content.path("parts");
-                log.info("  - parts 노드 존재: {}, 타입: {}, 배열 크기: {}", 
-                        !parts.isMissingNode(), parts.getNodeType(), 
-                        parts.isArray() ? parts.size() : "배열 아님");
-                
-                if (parts.isArray() && parts.size() > 0) {
-                    // 모든 parts를 순회하면서 inlineData 찾기
-                    for (int i = 0; i < parts.size(); i++) {
-                        JsonNode part = parts.get(i);
-                        java.util.Iterator<String> partFieldNames = part.fieldNames();
-                        java.util.List<String> partFields = new java.util.ArrayList<>();
-                        while (partFieldNames.hasNext()) {
-                            partFields.add(partFieldNames.next());
-                        }
-                        log.debug("  - part {} 필드들: {}", i, partFields.isEmpty() ? "없음" : String.join(", ", partFields));
-                        
-                        // inlineData 형식 확인
-                        JsonNode inlineData = part.path("inlineData");
-                        if (!inlineData.isMissingNode()) {
-                            log.info("  - part {}에 inlineData 발견", i);
-                            String mimeType = inlineData.path("mimeType").asText("image/png");
-                            String data = inlineData.path("data").asText();
-                            if (data != null && !data.isEmpty()) {
-                                log.info("  - 이미지 데이터 크기: {} bytes", data.length());
-                                return "data:" + mimeType + ";base64," + data;
-                            } else {
-                                log.warn("  - inlineData.data가 비어있음");
-                            }
+
+                if ("candidates".equals(field) && value == JsonToken.START_ARRAY) {
+                    // 첫 번째 candidate만 확인
+                    if (parser.nextToken() == JsonToken.START_OBJECT) {
+                        String mimeType = parseCandidate(parser, sink);
+                        if (mimeType != null) {
+                            return mimeType;
                         }
-                        
-                        // inline_data 형식도 확인 (snake_case)
-                        JsonNode inline_data = part.path("inline_data");
-                        if (!inline_data.isMissingNode()) {
-                            log.info("  - part {}에 inline_data 발견", i);
-                            String mimeType = inline_data.path("mime_type").asText("image/png");
-                            String data = inline_data.path("data").asText();
-                            if (data != null && !data.isEmpty()) {
-                                log.info("  - 이미지 데이터 크기: {} bytes", data.length());
-                                return "data:" + mimeType + ";base64," + data;
+                    }
+                    while (parser.currentToken() != JsonToken.END_ARRAY && parser.nextToken() != JsonToken.END_ARRAY) {
+                        parser.skipChildren();
+                    }
+                    continue;
+                }
+
+                parser.skipChildren();
+            }
+        }
+
+        log.error("이미지 데이터를 찾을 수 없습니다.");
+        throw new RuntimeException("이미지 데이터를 찾을 수 없습니다");
+    }
+
+    /**
+     * candidate 객체에서 content.parts 순회 (현재 토큰: candidate START_OBJECT)
+     */
+    private String parseCandidate(JsonParser parser, OutputStream sink) throws IOException {
+        String found = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (found == null && "content".equals(field) && value == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String contentField = parser.currentName();
+                    JsonToken contentValue = parser.nextToken();
+                    if (found == null && "parts".equals(contentField) && contentValue == JsonToken.START_ARRAY) {
+                        int index = 0;
+                        while (parser.nextToken() != JsonToken.END_ARRAY) {
+                            if (found == null && parser.currentToken() == JsonToken.START_OBJECT) {
+                                found = parsePart(parser, sink, index);
                             } else {
-                                log.warn("  - inline_data.data가 비어있음");
+                                parser.skipChildren();
                             }
+                            index++;
                         }
+                    } else {
+                        parser.skipChildren();
                     }
                 }
+            } else {
+                if ("finishReason".equals(field) && value == JsonToken.VALUE_STRING) {
+                    log.info("  - finishReason: {}", parser.getText());
+                }
+                parser.skipChildren();
             }
+        }
+        return found;
+    }
 
-            log.error("이미지 데이터를 찾을 수 없습니다.");
-            log.error("응답 전체 구조 (처음 2000자): {}", root.toPrettyString().substring(0, Math.min(2000, root.toPrettyString().length())));
-            throw new RuntimeException("이미지 데이터를 찾을 수 없습니다");
+    /**
+     * part 객체에서 inlineData(camelCase) 또는 inline_data(snake_case) 처리 (현재 토큰: part START_OBJECT)
+     */
+    private String parsePart(JsonParser parser, OutputStream sink, int index) throws IOException {
+        String found = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (found == null && ("inlineData".equals(field) || "inline_data".equals(field))
+                    && value == JsonToken.START_OBJECT) {
+                log.info("  - part {}에 {} 발견", index, field);
+                found = parseInlineData(parser, sink);
+            } else if ("text".equals(field) && value == JsonToken.VALUE_STRING) {
+                String text = parser.getText();
+                log.info("  - part {} 텍스트: {}", index, text.length() > 200 ? text.substring(0, 200) + "..." : text);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return found;
+    }
 
-        } catch (Exception e) {
-            log.error("응답 파싱 실패", e);
-            throw new RuntimeException("이미지 URL 파싱 실패: " + e.getMessage(), e);
+    /**
+     * inlineData 객체의 data(base64)를 sink에 디코딩 (현재 토큰: inlineData START_OBJECT)
+     *
+     * @return 데이터가 있으면 MIME 타입, 비어 있으면 null
+     */
+    private String parseInlineData(JsonParser parser, OutputStream sink) throws IOException {
+        String mimeType = "image/png";
+        long decoded = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (("mimeType".equals(field) || "mime_type".equals(field)) && value == JsonToken.VALUE_STRING) {
+                mimeType = parser.getText();
+            } else if ("data".equals(field) && value == JsonToken.VALUE_STRING) {
+                decoded = parser.readBinaryValue(sink);
+            } else {
+                parser.skipChildren();
+            }
         }
+        if (decoded == 0) {
+            log.warn("  - inlineData.data가 비어있음");
+            return null;
+        }
+        log.info("  - 이미지 데이터 크기: {} bytes (디코딩 후)", decoded);
+        return mimeType;
     }
-}
 
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("임시 파일 삭제 실패: {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.example.outfit.infra.storage;
+
+import com.example.outfit.infra.cache.ContentHash;
+import com.example.outfit.infra.image.ImageArtifact;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 생성 이미지 로컬 저장소 (content-addressed)
+ * 파일 이름이 내용의 SHA-256이므로 같은 이미지는 한 번만 기록되고, 한 번 기록된 파일은 바뀌지 않는다.
+ * 임시 파일에 쓴 뒤 이동하므로 읽는 쪽은 항상 완성된 파일만 본다.
+ * 주기적으로 보관 기간(max-age)이 지난 이미지를 지우고, 전체 크기가 max-bytes를 넘으면 오래된 이미지부터 지운다.
+ */
+@Slf4j
+@Component
+public class ImageStore {
+
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+    // 비정상 종료 등으로 남은 임시 파일을 지우기까지의 시간 (기록 중인 파일은 건드리지 않도록 넉넉하게)
+    private static final Duration TEMP_FILE_MAX_AGE = Duration.ofHours(1);
+
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            "image/png", "png",
+            "image/jpeg", "jpg",
+            "image/webp", "webp",
+            "image/gif", "gif");
+
+    private final Path root;
+    private final String baseUrl;
+    private final boolean enabled;
+    private final long maxBytes;
+    private final Duration maxAge;
+    private final Disposable sweeper;
+
+    @Autowired
+    public ImageStore(
+            @Value("${outfit.images.dir:data/outfit-images}") Path root,
+            @Value("${outfit.images.base-url:/api/outfit/images}") String baseUrl,
+            @Value("${outfit.images.enabled:true}") boolean enabled,
+            @Value("${outfit.images.max-bytes:1073741824}") long maxBytes,
+            @Value("${outfit.images.max-age:7d}") Duration maxAge,
+            @Value("${outfit.images.sweep-interval:10m}") Duration sweepInterval) {
+        // 파일 목록 조회/삭제는 블로킹 I/O이므로 boundedElastic에서 실행
+        this(root, baseUrl, enabled, maxBytes, maxAge, sweepInterval, Schedulers.boundedElastic());
+    }
+
+    ImageStore(Path root, String baseUrl, boolean enabled, long maxBytes, Duration maxAge, Duration sweepInterval,
+               Scheduler sweepScheduler) {
+        this.root = root.toAbsolutePath();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.enabled = enabled;
+        this.maxBytes = maxBytes;
+        this.maxAge = maxAge;
+        if (enabled) {
+            try {
+                Files.createDirectories(this.root);
+            } catch (IOException e) {
+                throw new UncheckedIOException("이미지 저장소 디렉터리 생성 실패: " + this.root, e);
+            }
+            this.sweeper = sweepScheduler.schedulePeriodically(this::sweep,
+                    0, sweepInterval.toMillis(), TimeUnit.MILLISECONDS);
+            log.info("이미지 저장소 - 경로 {}, URL {}, 최대 {} bytes, 보관 기간 {}, 정리 주기 {}",
+                    this.root, this.baseUrl, maxBytes, maxAge, sweepInterval);
+        } else {
+            this.sweeper = null;
+        }
+    }
+
+    /**
+     * false이면 생성 이미지를 저장하지 않고 기존처럼 data URL로 응답한다
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 이미지 저장 (이미 같은 내용이 있으면 기존 파일 사용)
+     */
+    public StoredImage store(byte[] bytes, String mimeType) {
+        String hash = ContentHash.sha256(bytes);
+        Path target = root.resolve(hash + "." + extensionOf(mimeType));
+        try {
+            if (Files.exists(target)) {
+                touch(target);
+            } else {
+                Path temp = Files.createTempFile(root, hash, ".tmp");
+                try {
+                    Files.write(temp, bytes);
+                    moveIntoPlace(temp, target);
+                } finally {
+                    Files.deleteIfExists(temp);
+                }
+                log.info("생성 이미지 저장: {} ({} bytes)", target.getFileName(), bytes.length);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("생성 이미지 저장 실패: " + hash, e);
+        }
+        return new StoredImage(hash, mimeType, target, bytes.length, baseUrl + "/" + hash);
+    }
+
+    /**
+     * 이미 디코딩해 둔 임시 파일을 저장소로 이동 (파일은 newTempFile로 만든 것이어야 함)
+     *
+     * @param file 이미지 바이트가 기록된 임시 파일 (이동 후에는 남지 않음)
+     * @param hash 파일 내용의 SHA-256 (hex)
+     */
+    public StoredImage storeFile(Path file, String hash, String mimeType) {
+        Path target = root.resolve(hash + "." + extensionOf(mimeType));
+        try {
+            long size = Files.size(file);
+            if (Files.exists(target)) {
+                Files.deleteIfExists(file);
+                touch(target);
+            } else {
+                moveIntoPlace(file, target);
+                log.info("생성 이미지 저장: {} ({} bytes)", target.getFileName(), size);
+            }
+            return new StoredImage(hash, mimeType, target, size, baseUrl + "/" + hash);
+        } catch (IOException e) {
+            throw new UncheckedIOException("생성 이미지 저장 실패: " + hash, e);
+        }
+    }
+
+    /**
+     * 저장할 이미지를 기록할 임시 파일 생성 (저장소와 같은 디렉터리라 이동이 원자적)
+     */
+    public Path newTempFile() throws IOException {
+        if (!enabled) {
+            return Files.createTempFile("outfit-image-", ".tmp");
+        }
+        return Files.createTempFile(root, "image-", ".tmp");
+    }
+
+    /**
+     * 해시로 저장된 이미지 조회 (형식이 잘못됐거나 없으면 empty)
+     */
+    public Optional<StoredImage> find(String hash) {
+        if (hash == null || !HASH_PATTERN.matcher(hash).matches()) {
+            return Optional.empty();
+        }
+        for (Map.Entry<String, String> entry : EXTENSIONS.entrySet()) {
+            Path path = root.resolve(hash + "." + entry.getValue());
+            if (Files.isRegularFile(path)) {
+                try {
+                    return Optional.of(new StoredImage(hash, entry.getKey(), path, Files.size(path), baseUrl + "/" + hash));
+                } catch (IOException e) {
+                    log.warn("저장된 이미지 크기 조회 실패: {}", path, e);
+                    return Optional.empty();
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * store가 반환한 URL로 이미지 읽기 (파일 이름의 해시와 확장자의 MIME 타입을 그대로 사용)
+     */
+    public ImageArtifact load(String url) {
+        String hash = url.substring(url.lastIndexOf('/') + 1);
+        StoredImage image = find(hash)
+                .orElseThrow(() -> new IllegalArgumentException("저장된 이미지를 찾을 수 없습니다: " + url));
+        try {
+            return ImageArtifact.of(Files.readAllBytes(image.getPath()), image.getMimeType(), image.getHash());
+        } catch (IOException e) {
+            throw new UncheckedIOException("저장된 이미지 읽기 실패: " + hash, e);
+        }
+    }
+
+    /**
+     * 보관 기간이 지난 이미지와 최대 크기를 넘는 오래된 이미지, 오래된 임시 파일 삭제
+     * 같은 이미지를 다시 저장하면 수정 시각을 갱신하므로, 다시 생성된 이미지는 최근 이미지로 취급한다.
+     */
+    void sweep() {
+        try {
+            long now = System.currentTimeMillis();
+            List<StoredFile> files = new ArrayList<>();
+            long totalBytes = 0;
+            try (Stream<Path> paths = Files.list(root)) {
+                for (Path path : (Iterable<Path>) paths::iterator) {
+                    BasicFileAttributes attributes;
+                    try {
+                        attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                    } catch (NoSuchFileException e) {
+                        continue;
+                    }
+                    long modified = attributes.lastModifiedTime().toMillis();
+                    if (path.getFileName().toString().endsWith(".tmp")) {
+                        if (now - modified > TEMP_FILE_MAX_AGE.toMillis()) {
+                            Files.deleteIfExists(path);
+                        }
+                        continue;
+                    }
+                    if (attributes.isRegularFile()) {
+                        files.add(new StoredFile(path, attributes.size(), modified));
+                        totalBytes += attributes.size();
+                    }
+                }
+            }
+
+            // 오래된 것부터 지우다가 보관 기간 안이고 최대 크기 이하가 되면 중단
+            files.sort(Comparator.comparingLong(StoredFile::modifiedMillis));
+            int deleted = 0;
+            long freedBytes = 0;
+            for (StoredFile file : files) {
+                if (now - file.modifiedMillis() <= maxAge.toMillis() && totalBytes <= maxBytes) {
+                    break;
+                }
+                Files.deleteIfExists(file.path());
+                totalBytes -= file.size();
+                freedBytes += file.size();
+                deleted++;
+            }
+            if (deleted > 0) {
+                log.info("이미지 저장소 정리 - {}개 삭제 ({} bytes), 남은 크기 {} bytes", deleted, freedBytes, totalBytes);
+            }
+        } catch (IOException | RuntimeException e) {
+            // 예외가 나가면 주기 실행이 멈추므로 다음 주기에 다시 시도
+            log.warn("이미지 저장소 정리 실패: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        if (sweeper != null) {
+            sweeper.dispose();
+        }
+    }
+
+    private void touch(Path target) {
+        try {
+            Files.setLastModifiedTime(target, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            log.debug("저장된 이미지 수정 시각 갱신 실패: {}", target, e);
+        }
+    }
+
+    private record StoredFile(Path path, long size, long modifiedMillis) {
+    }
+
+    private void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            try {
+                Files.move(temp, target);
+            } catch (FileAlreadyExistsException ignored) {
+                // 동시에 같은 이미지를 저장한 경우 (내용이 같으므로 무시)
+            }
+        }
+    }
+
+    private String extensionOf(String mimeType) {
+        String extension = EXTENSIONS.get(mimeType);
+        if (extension == null) {
+            throw new IllegalArgumentException("지원하지 않는 이미지 형식: " + mimeType);
+        }
+        return extension;
+    }
+}
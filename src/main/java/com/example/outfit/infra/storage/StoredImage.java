@@ -0,0 +1,24 @@
+package com.example.outfit.infra.storage;
+
+import lombok.Value;
+
+import java.nio.file.Path;
+
+/**
+ * 이미지 저장소에 저장된 이미지 (내용 해시로 식별)
+ */
+@Value
+public class StoredImage {
+
+    /** 이미지 바이트의 SHA-256 (hex) */
+    String hash;
+
+    String mimeType;
+
+    Path path;
+
+    long size;
+
+    /** 클라이언트가 이미지를 가져갈 URL */
+    String url;
+}
@@ -1,18 +1,38 @@
 package com.example.outfit.infra.vision;
 
 import com.example.outfit.domain.FashionAttributes;
+import com.example.outfit.domain.OutfitAnalysis;
+import com.example.outfit.infra.cache.PerceptualHash;
+import com.example.outfit.infra.cache.PerceptualHashCache;
+import com.example.outfit.infra.cache.SingleFlight;
+import com.example.outfit.infra.gemini.GeminiQuotaScheduler;
+import com.example.outfit.infra.gemini.GeminiRequestBody;
+import com.example.outfit.infra.http.Bulkhead;
+import com.example.outfit.infra.http.CircuitBreaker;
+import com.example.outfit.infra.http.RequestRetrier;
+import com.example.outfit.infra.http.UpstreamHttpClients;
+import com.example.outfit.infra.http.UpstreamUnavailableException;
+import com.example.outfit.infra.image.ImageArtifact;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.util.ArrayList;
-import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * Gemini Vision API를 사용하여 이미지에서 패션 속성 추출
@@ -21,8 +41,39 @@ import java.util.List;
 @Component
 public class VisionClient {
 
+    private static final List<String> ATTRIBUTE_FIELDS = List.of(
+            "colors", "style", "clothingType", "pattern", "season", "material", "additionalAttributes");
+
+    private static final Map<String, Object> STRING_SCHEMA = Map.of("type", "STRING");
+    private static final Map<String, Object> STRING_LIST_SCHEMA = listSchema(STRING_SCHEMA);
+
+    /**
+     * 속성 추출 응답 스키마
+     */
+    private static final Map<String, Object> ATTRIBUTES_SCHEMA = objectSchema(attributeProperties(), ATTRIBUTE_FIELDS);
+
+    /**
+     * 통합 분석(속성 + 추천 제품명) 응답 스키마
+     */
+    private static final Map<String, Object> ANALYSIS_SCHEMA = analysisSchema();
+
+    /**
+     * 응답 예상 토큰 수 (할당량 계산용, 속성 JSON 또는 제품명 한 줄)
+     */
+    private static final long ESTIMATED_OUTPUT_TOKENS = 256;
+
     private final WebClient webClient;
+    private final RequestRetrier retrier;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final GeminiQuotaScheduler quotaScheduler;
     private final ObjectMapper objectMapper;
+    private final PerceptualHashCache<FashionAttributes> attributeCache;
+    private final PerceptualHashCache<OutfitAnalysis> analysisCache;
+
+    private final SingleFlight<String, OutfitAnalysis> analysisFlight = new SingleFlight<>("vision-analysis");
+    private final SingleFlight<String, FashionAttributes> attributeFlight = new SingleFlight<>("vision-attributes");
+    private final SingleFlight<String, String> recommendationFlight = new SingleFlight<>("vision-recommendation");
 
     @Value("${google.gemini.api-key}")
     private String apiKey;
@@ -30,189 +81,163 @@ public class VisionClient {
     @Value("${google.gemini.vision.endpoint}")
     private String visionEndpoint;
 
-    public VisionClient(WebClient.Builder webClientBuilder, ObjectMapper objectMapper) {
-        this.webClient = webClientBuilder.build();
+    public VisionClient(UpstreamHttpClients httpClients, GeminiQuotaScheduler quotaScheduler, ObjectMapper objectMapper,
+                        PerceptualHashCache<FashionAttributes> attributeCache,
+                        PerceptualHashCache<OutfitAnalysis> analysisCache) {
+        this.webClient = httpClients.builder(UpstreamHttpClients.VISION).build();
+        this.retrier = httpClients.retrier(UpstreamHttpClients.VISION);
+        this.circuitBreaker = httpClients.circuitBreaker(UpstreamHttpClients.VISION);
+        this.bulkhead = httpClients.bulkhead(UpstreamHttpClients.VISION);
+        this.quotaScheduler = quotaScheduler;
         this.objectMapper = objectMapper;
+        this.attributeCache = attributeCache;
+        this.analysisCache = analysisCache;
+    }
+
+    // 키가 둘 이상인 스키마 맵은 LinkedHashMap으로 만든다 (Map.of는 JVM 실행마다 순회 순서가 달라져 요청 본문이 바뀌므로
+    // 녹화/재생 모드에서 같은 요청의 지문이 달라진다. 키가 하나인 STRING_SCHEMA는 Map.of로 충분하다)
+    private static Map<String, Object> attributeProperties() {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("colors", STRING_LIST_SCHEMA);
+        properties.put("style", STRING_SCHEMA);
+        properties.put("clothingType", STRING_SCHEMA);
+        properties.put("pattern", STRING_SCHEMA);
+        properties.put("season", STRING_SCHEMA);
+        properties.put("material", STRING_SCHEMA);
+        properties.put("additionalAttributes", STRING_LIST_SCHEMA);
+        return properties;
+    }
+
+    private static Map<String, Object> analysisSchema() {
+        Map<String, Object> properties = attributeProperties();
+        properties.put("recommendedProduct", STRING_SCHEMA);
+
+        List<String> required = new ArrayList<>(ATTRIBUTE_FIELDS);
+        required.add("recommendedProduct");
+
+        return objectSchema(properties, required);
+    }
+
+    private static Map<String, Object> listSchema(Map<String, Object> items) {
+        Map<String, Object> schema = new LinkedHashMap<>();
+        schema.put("type", "ARRAY");
+        schema.put("items", items);
+        return Collections.unmodifiableMap(schema);
+    }
+
+    private static Map<String, Object> objectSchema(Map<String, Object> properties, List<String> required) {
+        Map<String, Object> schema = new LinkedHashMap<>();
+        schema.put("type", "OBJECT");
+        schema.put("properties", properties);
+        schema.put("required", required);
+        return Collections.unmodifiableMap(schema);
     }
 
     /**
      * 속성 기반 추천 제품명 추출
      * 패션 속성을 분석하여 어울리는 옷을 추천
      */
-    public String extractRecommendedProductName(byte[] imageBytes, FashionAttributes attributes) {
-        try {
-            // API 키 검증
-            if (apiKey == null || apiKey.isEmpty()) {
-                log.error("❌ Vision API 키가 설정되지 않았습니다!");
-                throw new RuntimeException("Vision API 키가 설정되지 않았습니다. GEMINI_API_KEY 환경 변수를 확인하세요.");
-            }
-            
-            log.info("✅ Vision API 키 확인 - API 키: {}...", 
-                    apiKey.substring(0, Math.min(10, apiKey.length())));
-            
-            String base64Image = Base64.getEncoder().encodeToString(imageBytes);
-            
-            // 속성 정보를 문자열로 변환
-            String colorsStr = attributes.getColors() != null && !attributes.getColors().isEmpty() 
-                ? String.join(", ", attributes.getColors()) : "미지정";
-            String styleStr = attributes.getStyle() != null && !attributes.getStyle().isEmpty() 
-                ? attributes.getStyle() : "미지정";
-            String patternStr = attributes.getPattern() != null && !attributes.getPattern().isEmpty() 
-                ? attributes.getPattern() : "미지정";
-            String seasonStr = attributes.getSeason() != null && !attributes.getSeason().isEmpty() 
-                ? attributes.getSeason() : "미지정";
-            String materialStr = attributes.getMaterial() != null && !attributes.getMaterial().isEmpty() 
-                ? attributes.getMaterial() : "미지정";
-            String clothingTypeStr = attributes.getClothingType() != null && !attributes.getClothingType().isEmpty() 
-                ? attributes.getClothingType() : "미지정";
-            
-            String prompt = String.format("""
-                다음 패션 속성을 분석하여 어울리는 옷 하나를 추천해주세요:
-                - 색상: %s
-                - 스타일: %s
-                - 의류 종류: %s
-                - 패턴: %s
-                - 계절: %s
-                - 재질: %s
-                
-                이 속성들에 어울리는 다른 옷 하나만 구체적인 제품명으로 추천해주세요.
-                예시: "캐주얼 브라운 재킷", "검정 슬랙스", "베이지 가디건", "화이트 셔츠" 등
-                
-                추천 제품명만 응답해주세요 (설명 없이 제품명만).
-                """, colorsStr, styleStr, clothingTypeStr, patternStr, seasonStr, materialStr);
-
-            String mimeType = "image/png";
-            
-            java.util.Map<String, Object> requestMap = new java.util.HashMap<>();
-            java.util.List<Object> parts = new java.util.ArrayList<>();
-            
-            java.util.Map<String, String> textPart = new java.util.HashMap<>();
-            textPart.put("text", prompt);
-            parts.add(textPart);
-            
-            java.util.Map<String, Object> inlineData = new java.util.HashMap<>();
-            inlineData.put("mime_type", mimeType);
-            inlineData.put("data", base64Image);
-            
-            java.util.Map<String, Object> imagePart = new java.util.HashMap<>();
-            imagePart.put("inline_data", inlineData);
-            parts.add(imagePart);
-            
-            java.util.Map<String, Object> content = new java.util.HashMap<>();
-            content.put("parts", parts);
-            
-            java.util.List<Object> contentsList = new java.util.ArrayList<>();
-            contentsList.add(content);
-            
-            requestMap.put("contents", contentsList);
-
-            String requestBody = objectMapper.writeValueAsString(requestMap);
-            log.debug("Vision API Request (속성 기반 추천 제품명): {}", requestBody);
-            log.info("속성 기반 추천 - 색상: {}, 스타일: {}, 의류 종류: {}", colorsStr, styleStr, clothingTypeStr);
-
-            try {
-                String response = webClient.post()
-                        .uri(visionEndpoint)
-                        .header("x-goog-api-key", apiKey)
-                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                        .bodyValue(requestBody)
-                        .retrieve()
-                        .bodyToMono(String.class)
-                        .block();
-
-                log.debug("Vision API Response (속성 기반 추천 제품명): {}", response);
-
-                return parseRecommendedProductName(response);
-
-            } catch (org.springframework.web.reactive.function.client.WebClientResponseException e) {
-                String errorBody = e.getResponseBodyAsString();
-                log.error("Vision API 호출 실패 - Status: {}, Body: {}", e.getStatusCode(), errorBody);
-                throw new RuntimeException("속성 기반 추천 제품명 추출 실패: " + e.getStatusCode() + " - " + errorBody, e);
-            }
+    public String extractRecommendedProductName(ImageArtifact image, FashionAttributes attributes) {
+        return extractRecommendedProductNameAsync(image, attributes).block();
+    }
 
-        } catch (Exception e) {
-            log.error("Vision API 호출 실패", e);
-            throw new RuntimeException("속성 기반 추천 제품명 추출 실패: " + e.getMessage(), e);
+    /**
+     * 속성 기반 추천 제품명 추출 (논블로킹, 같은 이미지 + 속성의 동시 호출은 하나로 병합)
+     */
+    public Mono<String> extractRecommendedProductNameAsync(ImageArtifact image, FashionAttributes attributes) {
+        return recommendationFlight.execute(image.sha256() + "|" + attributes,
+                () -> requestRecommendedProductName(image, attributes));
+    }
+
+    private Mono<String> requestRecommendedProductName(ImageArtifact image, FashionAttributes attributes) {
+        // API 키 검증
+        if (apiKey == null || apiKey.isEmpty()) {
+            log.error("❌ Vision API 키가 설정되지 않았습니다!");
+            return Mono.error(new RuntimeException("Vision API 키가 설정되지 않았습니다. GEMINI_API_KEY 환경 변수를 확인하세요."));
         }
+
+        log.info("✅ Vision API 키 확인 - API 키: {}...",
+                apiKey.substring(0, Math.min(10, apiKey.length())));
+
+        // 속성 정보를 문자열로 변환
+        String colorsStr = attributes.getColors() != null && !attributes.getColors().isEmpty()
+            ? String.join(", ", attributes.getColors()) : "미지정";
+        String styleStr = attributes.getStyle() != null && !attributes.getStyle().isEmpty()
+            ? attributes.getStyle() : "미지정";
+        String patternStr = attributes.getPattern() != null && !attributes.getPattern().isEmpty()
+            ? attributes.getPattern() : "미지정";
+        String seasonStr = attributes.getSeason() != null && !attributes.getSeason().isEmpty()
+            ? attributes.getSeason() : "미지정";
+        String materialStr = attributes.getMaterial() != null && !attributes.getMaterial().isEmpty()
+            ? attributes.getMaterial() : "미지정";
+        String clothingTypeStr = attributes.getClothingType() != null && !attributes.getClothingType().isEmpty()
+            ? attributes.getClothingType() : "미지정";
+
+        String prompt = String.format("""
+            다음 패션 속성을 분석하여 어울리는 옷 하나를 추천해주세요:
+            - 색상: %s
+            - 스타일: %s
+            - 의류 종류: %s
+            - 패턴: %s
+            - 계절: %s
+            - 재질: %s
+            
+            이 속성들에 어울리는 다른 옷 하나만 구체적인 제품명으로 추천해주세요.
+            예시: "캐주얼 브라운 재킷", "검정 슬랙스", "베이지 가디건", "화이트 셔츠" 등
+            
+            추천 제품명만 응답해주세요 (설명 없이 제품명만).
+            """, colorsStr, styleStr, clothingTypeStr, patternStr, seasonStr, materialStr);
+
+        log.info("속성 기반 추천 - 색상: {}, 스타일: {}, 의류 종류: {}", colorsStr, styleStr, clothingTypeStr);
+
+        return post(prompt, image, null)
+                .map(response -> {
+                    log.debug("Vision API Response (속성 기반 추천 제품명): {}", response);
+                    return parseRecommendedProductName(response);
+                })
+                .onErrorMap(e -> failure("속성 기반 추천 제품명 추출 실패", e));
     }
 
     /**
      * 생성된 코디 이미지에서 추천 제품명 하나만 추출
      * AI에게 "이 이미지에 어울리는 옷 하나만 추천해줘"라고 요청
      */
-    public String extractRecommendedProductName(byte[] imageBytes) {
-        try {
-            // API 키 검증
-            if (apiKey == null || apiKey.isEmpty()) {
-                log.error("❌ Vision API 키가 설정되지 않았습니다!");
-                throw new RuntimeException("Vision API 키가 설정되지 않았습니다. GEMINI_API_KEY 환경 변수를 확인하세요.");
-            }
-            
-            log.info("✅ Vision API 키 확인 - API 키: {}...", 
-                    apiKey.substring(0, Math.min(10, apiKey.length())));
-            
-            String base64Image = Base64.getEncoder().encodeToString(imageBytes);
-            
-            String prompt = """
-                이 옷 이미지를 보고, 이 옷에 어울리는 다른 옷 하나만 추천해주세요.
-                구체적인 제품명을 한글로 하나만 추천해주세요.
-                예시: "캐주얼 브라운 재킷", "검정 슬랙스", "베이지 가디건", "화이트 셔츠" 등
-                
-                추천 제품명만 응답해주세요 (설명 없이 제품명만).
-                """;
-
-            String mimeType = "image/png";
-            
-            java.util.Map<String, Object> requestMap = new java.util.HashMap<>();
-            java.util.List<Object> parts = new java.util.ArrayList<>();
-            
-            java.util.Map<String, String> textPart = new java.util.HashMap<>();
-            textPart.put("text", prompt);
-            parts.add(textPart);
-            
-            java.util.Map<String, Object> inlineData = new java.util.HashMap<>();
-            inlineData.put("mime_type", mimeType);
-            inlineData.put("data", base64Image);
-            
-            java.util.Map<String, Object> imagePart = new java.util.HashMap<>();
-            imagePart.put("inline_data", inlineData);
-            parts.add(imagePart);
-            
-            java.util.Map<String, Object> content = new java.util.HashMap<>();
-            content.put("parts", parts);
-            
-            java.util.List<Object> contentsList = new java.util.ArrayList<>();
-            contentsList.add(content);
-            
-            requestMap.put("contents", contentsList);
-
-            String requestBody = objectMapper.writeValueAsString(requestMap);
-            log.debug("Vision API Request (추천 제품명): {}", requestBody);
+    public String extractRecommendedProductName(ImageArtifact image) {
+        return extractRecommendedProductNameAsync(image).block();
+    }
 
-            try {
-                String response = webClient.post()
-                        .uri(visionEndpoint)
-                        .header("x-goog-api-key", apiKey)
-                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                        .bodyValue(requestBody)
-                        .retrieve()
-                        .bodyToMono(String.class)
-                        .block();
+    /**
+     * 이미지에서 추천 제품명 하나만 추출 (논블로킹, 같은 이미지의 동시 호출은 하나로 병합)
+     */
+    public Mono<String> extractRecommendedProductNameAsync(ImageArtifact image) {
+        return recommendationFlight.execute(image.sha256(),
+                () -> requestRecommendedProductName(image));
+    }
 
-                log.debug("Vision API Response (추천 제품명): {}", response);
+    private Mono<String> requestRecommendedProductName(ImageArtifact image) {
+        // API 키 검증
+        if (apiKey == null || apiKey.isEmpty()) {
+            log.error("❌ Vision API 키가 설정되지 않았습니다!");
+            return Mono.error(new RuntimeException("Vision API 키가 설정되지 않았습니다. GEMINI_API_KEY 환경 변수를 확인하세요."));
+        }
 
-                return parseRecommendedProductName(response);
+        log.info("✅ Vision API 키 확인 - API 키: {}...",
+                apiKey.substring(0, Math.min(10, apiKey.length())));
 
-            } catch (org.springframework.web.reactive.function.client.WebClientResponseException e) {
-                String errorBody = e.getResponseBodyAsString();
-                log.error("Vision API 호출 실패 - Status: {}, Body: {}", e.getStatusCode(), errorBody);
-                throw new RuntimeException("추천 제품명 추출 실패: " + e.getStatusCode() + " - " + errorBody, e);
-            }
+        String prompt = """
+            이 옷 이미지를 보고, 이 옷에 어울리는 다른 옷 하나만 추천해주세요.
+            구체적인 제품명을 한글로 하나만 추천해주세요.
+            예시: "캐주얼 브라운 재킷", "검정 슬랙스", "베이지 가디건", "화이트 셔츠" 등
+            
+            추천 제품명만 응답해주세요 (설명 없이 제품명만).
+            """;
 
-        } catch (Exception e) {
-            log.error("Vision API 호출 실패", e);
-            throw new RuntimeException("추천 제품명 추출 실패: " + e.getMessage(), e);
-        }
+        return post(prompt, image, null)
+                .map(response -> {
+                    log.debug("Vision API Response (추천 제품명): {}", response);
+                    return parseRecommendedProductName(response);
+                })
+                .onErrorMap(e -> failure("추천 제품명 추출 실패", e));
     }
     
     /**
@@ -249,130 +274,249 @@ public class VisionClient {
         }
     }
 
+    /**
+     * 원본 이미지 속성 + 어울리는 추천 제품명을 한 번의 호출로 추출
+     */
+    public OutfitAnalysis analyzeOutfit(ImageArtifact image) {
+        return analyzeOutfitAsync(image).block();
+    }
+
+    /**
+     * 원본 이미지 속성 + 어울리는 추천 제품명을 한 번의 호출로 추출 (논블로킹)
+     * 보기에 같은 이미지를 이미 분석했다면 근사 중복 캐시 결과를 반환하고,
+     * 같은 이미지의 동시 호출은 하나의 API 호출로 병합한다.
+     */
+    public Mono<OutfitAnalysis> analyzeOutfitAsync(ImageArtifact image) {
+        return withPerceptualCache(image, analysisCache, analysisFlight, () -> requestAnalysis(image));
+    }
+
     /**
      * 이미지에서 패션 속성 추출
      */
-    public FashionAttributes extractAttributes(byte[] imageBytes) {
-        try {
-            String base64Image = Base64.getEncoder().encodeToString(imageBytes);
-            
-            String prompt = """
-                이 이미지의 패션 아이템을 분석하여 다음 정보를 JSON 형식으로 추출해주세요:
-                - colors: 주요 색상 리스트
-                - style: 스타일 (캐주얼, 포멀, 스포츠, 스트릿 등)
-                - clothingType: 의류 종류 (상의, 하의, 아우터, 원피스 등)
-                - pattern: 패턴 (스트라이프, 체크, 플레인, 도트 등)
-                - season: 계절성 (봄, 여름, 가을, 겨울)
-                - material: 재질 (면, 폴리에스터, 니트, 데님 등)
-                - additionalAttributes: 기타 특징 리스트
-                
-                JSON 형식으로만 응답해주세요.
-                """;
-
-            // 이미지 타입 자동 감지 (일반적으로 PNG 또는 JPEG)
-            String mimeType = "image/png"; // 기본값
-            
-            // ObjectMapper를 사용하여 JSON 생성
-            java.util.Map<String, Object> requestMap = new java.util.HashMap<>();
-            java.util.List<Object> parts = new java.util.ArrayList<>();
-            
-            java.util.Map<String, String> textPart = new java.util.HashMap<>();
-            textPart.put("text", prompt);
-            parts.add(textPart);
-            
-            java.util.Map<String, Object> inlineData = new java.util.HashMap<>();
-            inlineData.put("mime_type", mimeType);
-            inlineData.put("data", base64Image);
-            
-            java.util.Map<String, Object> imagePart = new java.util.HashMap<>();
-            imagePart.put("inline_data", inlineData);
-            parts.add(imagePart);
-            
-            java.util.Map<String, Object> content = new java.util.HashMap<>();
-            content.put("parts", parts);
-            
-            java.util.List<Object> contentsList = new java.util.ArrayList<>();
-            contentsList.add(content);
-            
-            requestMap.put("contents", contentsList);
-
-            String requestBody = objectMapper.writeValueAsString(requestMap);
-            log.debug("Vision API Request Body: {}", requestBody);
-            log.debug("Vision API URL: {}", visionEndpoint);
-
-            try {
-                String response = webClient.post()
-                        .uri(visionEndpoint)
-                        .header("x-goog-api-key", apiKey)
-                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                        .bodyValue(requestBody)
-                        .retrieve()
-                        .bodyToMono(String.class)
-                        .block();
-
-                log.debug("Vision API Response: {}", response);
-
-                return parseResponse(response);
-            } catch (org.springframework.web.reactive.function.client.WebClientResponseException e) {
-                String errorBody = e.getResponseBodyAsString();
-                log.error("Vision API 호출 실패 - Status: {}, Body: {}", e.getStatusCode(), errorBody);
-                throw new RuntimeException("이미지 속성 추출 실패: " + e.getStatusCode() + " - " + errorBody, e);
+    public FashionAttributes extractAttributes(ImageArtifact image) {
+        return extractAttributesAsync(image).block();
+    }
+
+    /**
+     * 이미지에서 패션 속성 추출 (논블로킹)
+     * 보기에 같은 이미지를 이미 분석했다면 근사 중복 캐시 결과를 반환하고,
+     * 같은 이미지의 동시 호출은 하나의 API 호출로 병합한다.
+     */
+    public Mono<FashionAttributes> extractAttributesAsync(ImageArtifact image) {
+        return withPerceptualCache(image, attributeCache, attributeFlight, () -> requestAttributes(image));
+    }
+
+    /**
+     * 근사 중복 캐시 조회 → 미스면 동일 호출 병합을 거쳐 API 호출 후 캐시에 저장
+     */
+    private <T> Mono<T> withPerceptualCache(ImageArtifact image, PerceptualHashCache<T> cache,
+                                            SingleFlight<String, T> flight, Supplier<Mono<T>> request) {
+        return perceptualHash(image, cache).flatMap(hash -> {
+            if (hash.isPresent()) {
+                Optional<T> cached = cache.get(hash.get());
+                if (cached.isPresent()) {
+                    return Mono.just(cached.get());
+                }
             }
+            return flight.execute(image.sha256(), request)
+                    .doOnNext(result -> hash.ifPresent(value -> cache.put(value, result)));
+        });
+    }
 
-        } catch (Exception e) {
-            log.error("Vision API 호출 실패", e);
-            throw new RuntimeException("이미지 속성 추출 실패: " + e.getMessage(), e);
+    /**
+     * 지각 해시 계산 (이미지 디코딩은 CPU 작업이므로 parallel 스케줄러에서 실행)
+     */
+    private Mono<Optional<PerceptualHash.Fingerprint>> perceptualHash(ImageArtifact image, PerceptualHashCache<?> cache) {
+        if (!cache.isEnabled()) {
+            return Mono.just(Optional.empty());
         }
+        return Mono.fromCallable(() -> {
+            Optional<PerceptualHash.Fingerprint> hash = image.perceptualHash();
+            if (hash.isEmpty()) {
+                log.debug("이미지를 디코딩할 수 없어 지각 해시 캐시를 건너뜁니다");
+            }
+            return hash;
+        }).subscribeOn(Schedulers.parallel());
+    }
+
+    /**
+     * 통합 분석 API 호출
+     * JSON 응답 모드(responseSchema)를 사용하므로 응답 텍스트 자체가 스키마에 맞는 JSON이다.
+     */
+    private Mono<OutfitAnalysis> requestAnalysis(ImageArtifact image) {
+        String prompt = """
+            이 이미지의 패션 아이템을 분석하여 다음 정보를 추출하고,
+            이 옷에 어울리는 다른 옷 하나를 추천해주세요:
+            - colors: 주요 색상 리스트
+            - style: 스타일 (캐주얼, 포멀, 스포츠, 스트릿 등)
+            - clothingType: 의류 종류 (상의, 하의, 아우터, 원피스 등)
+            - pattern: 패턴 (스트라이프, 체크, 플레인, 도트 등)
+            - season: 계절성 (봄, 여름, 가을, 겨울)
+            - material: 재질 (면, 폴리에스터, 니트, 데님 등)
+            - additionalAttributes: 기타 특징 리스트
+            - recommendedProduct: 이 옷에 어울리는 다른 옷 하나의 구체적인 한글 제품명
+              (예: "캐주얼 브라운 재킷", "검정 슬랙스", "베이지 가디건", "화이트 셔츠")
+            """;
+
+        log.debug("Vision API URL (통합 분석): {}", visionEndpoint);
+
+        return post(prompt, image, ANALYSIS_SCHEMA)
+                .map(response -> {
+                    log.debug("Vision API Response (통합 분석): {}", response);
+                    return parseAnalysis(response);
+                })
+                .onErrorMap(e -> failure("이미지 통합 분석 실패", e));
+    }
+
+    /**
+     * 속성 추출 API 호출
+     */
+    private Mono<FashionAttributes> requestAttributes(ImageArtifact image) {
+        String prompt = """
+            이 이미지의 패션 아이템을 분석하여 다음 정보를 추출해주세요:
+            - colors: 주요 색상 리스트
+            - style: 스타일 (캐주얼, 포멀, 스포츠, 스트릿 등)
+            - clothingType: 의류 종류 (상의, 하의, 아우터, 원피스 등)
+            - pattern: 패턴 (스트라이프, 체크, 플레인, 도트 등)
+            - season: 계절성 (봄, 여름, 가을, 겨울)
+            - material: 재질 (면, 폴리에스터, 니트, 데님 등)
+            - additionalAttributes: 기타 특징 리스트
+            """;
+
+        log.debug("Vision API URL: {}", visionEndpoint);
+
+        return post(prompt, image, ATTRIBUTES_SCHEMA)
+                .map(response -> {
+                    log.debug("Vision API Response: {}", response);
+                    return parseResponse(response);
+                })
+                .onErrorMap(e -> failure("이미지 속성 추출 실패", e));
     }
 
-    private FashionAttributes parseResponse(String response) {
+    /**
+     * API 오류를 작업 이름이 붙은 예외로 변환 (HTTP 오류면 상태 코드와 본문 포함)
+     */
+    private RuntimeException failure(String action, Throwable e) {
+        if (e instanceof UpstreamUnavailableException unavailable) {
+            return unavailable;
+        }
+        if (e instanceof WebClientResponseException responseException) {
+            String errorBody = responseException.getResponseBodyAsString();
+            log.error("Vision API 호출 실패 - Status: {}, Body: {}", responseException.getStatusCode(), errorBody);
+            return new RuntimeException(action + ": " + responseException.getStatusCode() + " - " + errorBody, e);
+        }
+        log.error("Vision API 호출 실패", e);
+        return new RuntimeException(action + ": " + e.getMessage(), e);
+    }
+
+    /**
+     * 텍스트 프롬프트 + 이미지로 Gemini 요청 본문 생성
+     * responseSchema가 있으면 JSON 응답 모드로 요청한다.
+     */
+    private GeminiRequestBody buildRequestBody(String prompt, ImageArtifact image, Map<String, Object> responseSchema) {
+        GeminiRequestBody body = GeminiRequestBody.snakeCase()
+                .text(prompt)
+                .image(image);
+
+        if (responseSchema != null) {
+            Map<String, Object> generationConfig = new HashMap<>();
+            generationConfig.put("responseMimeType", MediaType.APPLICATION_JSON_VALUE);
+            generationConfig.put("responseSchema", responseSchema);
+            body.generationConfig(generationConfig);
+        }
+        return body;
+    }
+
+    /**
+     * Vision API 호출 (이미지는 전송하면서 base64로 인코딩)
+     * 429/503 등 일시적 오류는 재시도하고, 서킷이 열려 있거나 동시 호출 한도에 차면
+     * 호출하지 않고 UpstreamUnavailableException으로 실패한다 (재시도도 하지 않음).
+     * 할당량 스케줄러를 켜면 분당 할당량이 부족할 때 보내기 전에 큐에서 기다린다.
+     * 할당량은 서킷 브레이커 바깥에서 받으므로 큐 대기 시간은 느린 호출 집계와 반열림 시험 호출 수에 들어가지 않는다.
+     */
+    private Mono<String> post(String prompt, ImageArtifact image, Map<String, Object> responseSchema) {
+        return Mono.defer(() -> {
+            GeminiRequestBody requestBody = buildRequestBody(prompt, image, responseSchema);
+            long tokens = requestBody.estimatedTokens() + ESTIMATED_OUTPUT_TOKENS;
+            log.debug("Vision API 요청 본문 약 {} bytes, 약 {} 토큰", requestBody.estimatedSize(), tokens);
+            return retrier.execute(() -> quotaScheduler.execute(GeminiQuotaScheduler.Priority.VISION, tokens,
+                    () -> circuitBreaker.execute(
+                            () -> bulkhead.execute(() -> webClient.post()
+                                    .uri(visionEndpoint)
+                                    .header("x-goog-api-key", apiKey)
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .body(requestBody.toInserter(objectMapper))
+                                    .retrieve()
+                                    .bodyToMono(String.class)))));
+        });
+    }
+
+    OutfitAnalysis parseAnalysis(String response) {
         try {
-            JsonNode root = objectMapper.readTree(response);
-            JsonNode candidates = root.path("candidates");
-            
-            if (candidates.isEmpty() || !candidates.has(0)) {
-                throw new RuntimeException("Vision API 응답에 후보가 없습니다");
+            JsonNode json = readStructuredContent(response);
+            String recommendedProduct = json.path("recommendedProduct").asText("").trim();
+            if (recommendedProduct.isEmpty()) {
+                throw new RuntimeException("Vision API 응답에 추천 제품명이 없습니다");
             }
 
-            String content = candidates.get(0).path("content").path("parts").get(0).path("text").asText();
-            
-            // JSON 추출 (응답에서 JSON 부분만 파싱)
-            String jsonContent = extractJsonFromText(content);
-            JsonNode attributesJson = objectMapper.readTree(jsonContent);
-
-            return FashionAttributes.builder()
-                    .colors(parseStringList(attributesJson, "colors"))
-                    .style(attributesJson.path("style").asText())
-                    .clothingType(attributesJson.path("clothingType").asText())
-                    .pattern(attributesJson.path("pattern").asText())
-                    .season(attributesJson.path("season").asText())
-                    .material(attributesJson.path("material").asText())
-                    .additionalAttributes(parseStringList(attributesJson, "additionalAttributes"))
+            OutfitAnalysis analysis = OutfitAnalysis.builder()
+                    .attributes(parseAttributes(json))
+                    .recommendedProduct(recommendedProduct)
                     .build();
+            log.info("통합 분석 결과 - 속성: {}, 추천 제품명: {}", analysis.getAttributes(), recommendedProduct);
+            return analysis;
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("통합 분석 응답 파싱 실패: " + e.getMessage(), e);
+        }
+    }
 
-        } catch (Exception e) {
-            log.error("응답 파싱 실패", e);
-            // 기본값 반환
-            return FashionAttributes.builder()
-                    .colors(new ArrayList<>())
-                    .style("캐주얼")
-                    .clothingType("상의")
-                    .pattern("플레인")
-                    .season("사계절")
-                    .material("면")
-                    .additionalAttributes(new ArrayList<>())
-                    .build();
+    FashionAttributes parseResponse(String response) {
+        try {
+            return parseAttributes(readStructuredContent(response));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("속성 응답 파싱 실패: " + e.getMessage(), e);
         }
     }
 
-    private String extractJsonFromText(String text) {
-        // JSON 객체 찾기
-        int start = text.indexOf("{");
-        int end = text.lastIndexOf("}");
-        if (start >= 0 && end > start) {
-            return text.substring(start, end + 1);
+    /**
+     * JSON 응답 모드 응답에서 첫 번째 후보의 JSON 객체 추출 (형식이 다르면 예외)
+     */
+    private JsonNode readStructuredContent(String response) throws JsonProcessingException {
+        JsonNode root = objectMapper.readTree(response);
+        JsonNode candidates = root.path("candidates");
+
+        if (!candidates.isArray() || candidates.isEmpty()) {
+            throw new RuntimeException("Vision API 응답에 후보가 없습니다");
         }
-        return "{}";
+
+        JsonNode text = candidates.get(0).path("content").path("parts").path(0).path("text");
+        if (!text.isTextual()) {
+            throw new RuntimeException("Vision API 응답에 텍스트 파트가 없습니다");
+        }
+
+        JsonNode json = objectMapper.readTree(text.asText());
+        if (json == null || !json.isObject()) {
+            throw new RuntimeException("Vision API 응답이 JSON 객체가 아닙니다: " + text.asText());
+        }
+        return json;
+    }
+
+    private FashionAttributes parseAttributes(JsonNode json) {
+        for (String field : ATTRIBUTE_FIELDS) {
+            if (!json.has(field)) {
+                throw new RuntimeException("Vision API 응답에 '" + field + "' 필드가 없습니다: " + json);
+            }
+        }
+
+        return FashionAttributes.builder()
+                .colors(parseStringList(json, "colors"))
+                .style(json.path("style").asText())
+                .clothingType(json.path("clothingType").asText())
+                .pattern(json.path("pattern").asText())
+                .season(json.path("season").asText())
+                .material(json.path("material").asText())
+                .additionalAttributes(parseStringList(json, "additionalAttributes"))
+                .build();
     }
 
     private List<String> parseStringList(JsonNode node, String fieldName) {
@@ -0,0 +1,152 @@
+package com.example.outfit.api;
+
+import com.example.outfit.infra.storage.ImageStore;
+import com.example.outfit.infra.storage.StoredImage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ImageControllerTest {
+
+    private static final int LENGTH = 100;
+
+    @TempDir
+    Path root;
+
+    private ImageStore imageStore;
+    private MockMvc mockMvc;
+    private byte[] bytes;
+    private String hash;
+    private String etag;
+
+    @BeforeEach
+    void setUp() {
+        imageStore = new ImageStore(root, "/api/outfit/images", true, Long.MAX_VALUE, Duration.ofDays(7),
+                Duration.ofHours(1));
+        mockMvc = MockMvcBuilders.standaloneSetup(new ImageController(imageStore)).build();
+        bytes = new byte[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            bytes[i] = (byte) i;
+        }
+        StoredImage stored = imageStore.store(bytes, "image/png");
+        hash = stored.getHash();
+        etag = "\"" + hash + "\"";
+    }
+
+    @AfterEach
+    void tearDown() {
+        imageStore.close();
+    }
+
+    @Test
+    @DisplayName("Range가 없으면 전체 이미지를 캐시 헤더와 함께 반환한다")
+    void fullImage() throws Exception {
+        mockMvc.perform(get("/api/outfit/images/{hash}", hash))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, LENGTH))
+                .andExpect(content().contentType("image/png"))
+                .andExpect(content().bytes(bytes));
+    }
+
+    @Test
+    @DisplayName("bytes=0-9는 앞 10바이트를 206으로 반환한다")
+    void firstBytes() throws Exception {
+        mockMvc.perform(get("/api/outfit/images/{hash}", hash).header(HttpHeaders.RANGE, "bytes=0-9"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 0-9/" + LENGTH))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 10))
+                .andExpect(content().bytes(Arrays.copyOfRange(bytes, 0, 10)));
+    }
+
+    @Test
+    @DisplayName("bytes=-10은 마지막 10바이트를 반환한다")
+    void suffixRange() throws Exception {
+        mockMvc.perform(get("/api/outfit/images/{hash}", hash).header(HttpHeaders.RANGE, "bytes=-10"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 90-99/" + LENGTH))
+                .andExpect(content().bytes(Arrays.copyOfRange(bytes, 90, LENGTH)));
+    }
+
+    @Test
+    @DisplayName("bytes=5-는 5번째 바이트부터 끝까지 반환한다")
+    void openEndedRange() throws Exception {
+        mockMvc.perform(get("/api/outfit/images/{hash}", hash).header(HttpHeaders.RANGE, "bytes=5-"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 5-99/" + LENGTH))
+                .andExpect(content().bytes(Arrays.copyOfRange(bytes, 5, LENGTH)));
+    }
+
+    @Test
+    @DisplayName("시작 위치가 길이를 넘으면 416과 Content-Range: bytes */길이")
+    void unsatisfiableRange() throws Exception {
+        mockMvc.perform(get("/api/outfit/images/{hash}", hash).header(HttpHeaders.RANGE, "bytes=" + LENGTH + "-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + LENGTH));
+    }
+
+    @Test
+    @DisplayName("여러 범위 요청은 Range를 무시하고 전체를 200으로 반환한다")
+    void multipleRangesReturnFullImage() throws Exception {
+        mockMvc.perform(get("/api/outfit/images/{hash}", hash).header(HttpHeaders.RANGE, "bytes=0-1,5-6"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+                .andExpect(content().bytes(bytes));
+    }
+
+    @Test
+    @DisplayName("If-None-Match가 ETag와 같으면 304")
+    void notModified() throws Exception {
+        mockMvc.perform(get("/api/outfit/images/{hash}", hash).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    @DisplayName("If-Range가 ETag와 다르면 Range를 무시하고 전체를 200으로 반환한다")
+    void ifRangeMismatch() throws Exception {
+        mockMvc.perform(get("/api/outfit/images/{hash}", hash)
+                        .header(HttpHeaders.RANGE, "bytes=0-9")
+                        .header(HttpHeaders.IF_RANGE, "\"other\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(bytes));
+    }
+
+    @Test
+    @DisplayName("If-Range가 ETag와 같으면 Range를 적용한다")
+    void ifRangeMatch() throws Exception {
+        mockMvc.perform(get("/api/outfit/images/{hash}", hash)
+                        .header(HttpHeaders.RANGE, "bytes=0-9")
+                        .header(HttpHeaders.IF_RANGE, etag))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().bytes(Arrays.copyOfRange(bytes, 0, 10)));
+    }
+
+    @Test
+    @DisplayName("해시 형식이 잘못됐거나 없는 이미지는 404")
+    void notFound() throws Exception {
+        mockMvc.perform(get("/api/outfit/images/{hash}", "../etc/passwd"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/outfit/images/{hash}", "not-a-hash"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/outfit/images/{hash}", "0".repeat(64)))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.outfit.application;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.ClassPathResource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeywordTranslatorTest {
+
+    private final KeywordTranslator translator = KeywordTranslator.of(Map.of(
+            "면", "cotton",
+            "봄", "spring",
+            "스트", "st",
+            "스트릿", "street",
+            "스트라이프", "striped"));
+
+    @Test
+    @DisplayName("한 글자 키워드는 다른 단어의 일부(표면, 라면)이면 치환하지 않는다")
+    void keepsSingleCharKeywordInsideWord() {
+        assertThat(translator.translate("표면 처리")).isEqualTo("표면 처리");
+        assertThat(translator.translate("라면")).isEqualTo("라면");
+        assertThat(translator.translate("면봄")).isEqualTo("면봄");
+    }
+
+    @Test
+    @DisplayName("한 글자 키워드가 단어 전체이거나 뒤에 조사가 붙으면 치환한다")
+    void translatesSingleCharKeywordAsWholeWord() {
+        assertThat(translator.translate("면 소재")).isEqualTo("cotton 소재");
+        assertThat(translator.translate("봄에 입기 좋은")).isEqualTo("spring에 입기 좋은");
+        assertThat(translator.translate("(면)")).isEqualTo("(cotton)");
+    }
+
+    @Test
+    @DisplayName("같은 위치에서 여러 키워드가 맞으면 가장 긴 키워드로 치환한다")
+    void longestMatchWins() {
+        assertThat(translator.translate("스트라이프 셔츠")).isEqualTo("striped 셔츠");
+        assertThat(translator.translate("스트릿 룩")).isEqualTo("street 룩");
+        assertThat(translator.translate("스트라")).isEqualTo("st라");
+    }
+
+    @Test
+    @DisplayName("사전 순서와 관계없이 결과가 같다")
+    void resultDoesNotDependOnDictionaryOrder() {
+        Map<String, String> shortFirst = new LinkedHashMap<>();
+        shortFirst.put("스트", "st");
+        shortFirst.put("스트라이프", "striped");
+        Map<String, String> longFirst = new LinkedHashMap<>();
+        longFirst.put("스트라이프", "striped");
+        longFirst.put("스트", "st");
+
+        String text = "스트라이프와 스트";
+        assertThat(KeywordTranslator.of(shortFirst).translate(text))
+                .isEqualTo(KeywordTranslator.of(longFirst).translate(text))
+                .isEqualTo("striped와 st");
+    }
+
+    @Test
+    @DisplayName("바꿀 키워드가 없으면 입력 인스턴스를 그대로 돌려준다")
+    void returnsSameInstanceWhenNothingMatches() {
+        String text = "검정 셔츠와 라면";
+        assertThat(translator.translate(text)).isSameAs(text);
+    }
+
+    @Test
+    @DisplayName("prefix와 suffix를 붙여 치환한다")
+    void translatesWithPrefixAndSuffix() {
+        assertThat(translator.translate("A ", "봄 스트릿", " B")).isEqualTo("A spring street B");
+        assertThat(translator.translate("A ", "셔츠", " B")).isEqualTo("A 셔츠 B");
+    }
+
+    @Test
+    @DisplayName("빈 키워드는 IllegalArgumentException")
+    void rejectsEmptyKeyword() {
+        assertThatThrownBy(() -> KeywordTranslator.of(Map.of("", "empty")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("사전 파일은 주석과 빈 줄을 건너뛰고, 형식이 잘못된 줄은 IllegalArgumentException")
+    void loadsDictionaryFile() {
+        KeywordTranslator loaded = KeywordTranslator.load(resource("# 주석\n\n면 = cotton\n봄=spring\n"));
+        assertThat(loaded.size()).isEqualTo(2);
+        assertThat(loaded.translate("봄 면")).isEqualTo("spring cotton");
+
+        assertThatThrownBy(() -> KeywordTranslator.load(resource("면=cotton\n=empty\n")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("2행");
+    }
+
+    @Test
+    @DisplayName("기본 사전을 읽을 수 있다")
+    void loadsDefaultDictionary() {
+        KeywordTranslator defaults = KeywordTranslator.load(new ClassPathResource("prompt-dictionary.txt"));
+        assertThat(defaults.size()).isPositive();
+        assertThat(defaults.translate("면 소재 표면")).isEqualTo("cotton 소재 표면");
+    }
+
+    private static ByteArrayResource resource(String content) {
+        return new ByteArrayResource(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
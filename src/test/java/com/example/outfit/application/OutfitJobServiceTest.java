@@ -0,0 +1,173 @@
+package com.example.outfit.application;
+
+import com.example.outfit.domain.JobStatus;
+import com.example.outfit.domain.OutfitJob;
+import com.example.outfit.domain.OutfitSuggestion;
+import com.example.outfit.infra.http.UpstreamUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OutfitJobServiceTest {
+
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(10);
+    private static final Duration RETENTION = Duration.ofMinutes(30);
+
+    private final OutfitService outfitService = mock(OutfitService.class);
+    private final AtomicLong clock = new AtomicLong(1_000);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private OutfitJobService service;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    private OutfitJobService service(int queueCapacity, long maxQueuedBytes) {
+        service = new OutfitJobService(outfitService, 1, queueCapacity, maxQueuedBytes, RETRY_AFTER, RETENTION,
+                clock::get);
+        return service;
+    }
+
+    private void blockUntilReleased() {
+        when(outfitService.processOutfitRecommendation(any())).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return OutfitSuggestion.builder().description("result").build();
+        });
+    }
+
+    @Test
+    @DisplayName("대기 큐가 가득 차면 Retry-After와 함께 거절한다")
+    void rejectsWhenQueueFull() throws InterruptedException {
+        blockUntilReleased();
+        OutfitJobService service = service(1, Long.MAX_VALUE);
+
+        OutfitJob running = service.submit(OutfitJobService.TYPE_RECOMMEND, new byte[10]);
+        awaitStatus(service, running.getId(), JobStatus.RUNNING);
+        OutfitJob queued = service.submit(OutfitJobService.TYPE_RECOMMEND, new byte[10]);
+
+        assertThatThrownBy(() -> service.submit(OutfitJobService.TYPE_RECOMMEND, new byte[10]))
+                .isInstanceOfSatisfying(JobQueueFullException.class,
+                        e -> assertThat(e.getRetryAfter()).isEqualTo(RETRY_AFTER));
+        assertThat(service.find(queued.getId())).map(OutfitJob::getStatus).contains(JobStatus.QUEUED);
+        assertThat(service.stats().getRejected()).isEqualTo(1);
+        assertThat(service.stats().getQueuedBytes()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("대기 중인 이미지 총 바이트가 한도를 넘으면 거절하고, 실행을 시작한 작업의 바이트는 빠진다")
+    void rejectsWhenQueuedBytesFull() throws InterruptedException {
+        blockUntilReleased();
+        OutfitJobService service = service(10, 100);
+
+        OutfitJob running = service.submit(OutfitJobService.TYPE_RECOMMEND, new byte[80]);
+        awaitStatus(service, running.getId(), JobStatus.RUNNING);
+        service.submit(OutfitJobService.TYPE_RECOMMEND, new byte[60]);
+
+        assertThatThrownBy(() -> service.submit(OutfitJobService.TYPE_RECOMMEND, new byte[60]))
+                .isInstanceOfSatisfying(JobQueueFullException.class,
+                        e -> assertThat(e.getRetryAfter()).isEqualTo(RETRY_AFTER));
+        assertThat(service.stats().getQueuedBytes()).isEqualTo(60);
+
+        service.submit(OutfitJobService.TYPE_RECOMMEND, new byte[40]);
+        assertThat(service.stats().getQueuedBytes()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("작업은 QUEUED → RUNNING → SUCCEEDED 순서로 진행되고 결과를 돌려준다")
+    void succeededLifecycle() throws InterruptedException {
+        blockUntilReleased();
+        OutfitJobService service = service(1, Long.MAX_VALUE);
+
+        // 하나뿐인 워커를 먼저 점유해 두어야 다음 작업이 QUEUED 상태로 남는다
+        OutfitJob blocker = service.submit(OutfitJobService.TYPE_RECOMMEND, new byte[10]);
+        awaitStatus(service, blocker.getId(), JobStatus.RUNNING);
+        OutfitJob job = service.submit(OutfitJobService.TYPE_RECOMMEND, new byte[10]);
+        assertThat(job.getStatus()).isEqualTo(JobStatus.QUEUED);
+        assertThat(service.find(job.getId())).map(OutfitJob::getStatus).contains(JobStatus.QUEUED);
+
+        release.countDown();
+        OutfitJob finished = awaitStatus(service, job.getId(), JobStatus.SUCCEEDED);
+
+        assertThat(finished.getResult().getDescription()).isEqualTo("result");
+        assertThat(finished.getStartedAt()).isNotNull();
+        assertThat(finished.getFinishedAt()).isNotNull();
+        assertThat(finished.getError()).isNull();
+        assertThat(service.stats().getSucceeded()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("실패한 작업은 FAILED가 되고 내부 오류 대신 고정 문구를 돌려준다")
+    void failedLifecycle() throws InterruptedException {
+        when(outfitService.processProductRecommendation(any()))
+                .thenThrow(new UpstreamUnavailableException("gemini", "circuit open", Duration.ofSeconds(5)));
+        OutfitJobService service = service(1, Long.MAX_VALUE);
+
+        OutfitJob job = service.submit(OutfitJobService.TYPE_PRODUCTS, new byte[10]);
+        OutfitJob finished = awaitStatus(service, job.getId(), JobStatus.FAILED);
+
+        assertThat(finished.getResult()).isNull();
+        assertThat(finished.getError()).doesNotContain("circuit open").contains("외부 API");
+        assertThat(service.stats().getFailed()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("보관 기간이 지난 완료 작업만 정리한다")
+    void purgesFinishedJobsAfterRetention() throws InterruptedException {
+        when(outfitService.processProductRecommendation(any()))
+                .thenReturn(OutfitSuggestion.builder().description("done").build());
+        blockUntilReleased();
+        OutfitJobService service = service(1, Long.MAX_VALUE);
+
+        OutfitJob finished = service.submit(OutfitJobService.TYPE_PRODUCTS, new byte[10]);
+        awaitStatus(service, finished.getId(), JobStatus.SUCCEEDED);
+        OutfitJob running = service.submit(OutfitJobService.TYPE_RECOMMEND, new byte[10]);
+        awaitStatus(service, running.getId(), JobStatus.RUNNING);
+
+        clock.addAndGet(RETENTION.toNanos());
+        service.purgeExpired();
+        assertThat(service.find(finished.getId())).isPresent();
+
+        clock.addAndGet(1);
+        service.purgeExpired();
+        assertThat(service.find(finished.getId())).isEmpty();
+        assertThat(service.find(running.getId())).isPresent();
+    }
+
+    @Test
+    @DisplayName("알 수 없는 작업 종류는 접수하지 않는다")
+    void rejectsUnknownType() {
+        OutfitJobService service = service(1, Long.MAX_VALUE);
+
+        assertThatThrownBy(() -> service.submit("unknown", new byte[10]))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(service.stats().getQueuedBytes()).isZero();
+    }
+
+    private static OutfitJob awaitStatus(OutfitJobService service, String id, JobStatus status)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            OutfitJob job = service.find(id).orElseThrow();
+            if (job.getStatus() == status) {
+                return job;
+            }
+            Thread.sleep(5);
+        }
+        throw new AssertionError("작업 상태가 " + status + "가 되지 않았습니다: " + service.find(id));
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.outfit.application;
+
+import com.example.outfit.domain.OutfitSuggestion;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OutfitResultCacheTest {
+
+    // outfitImageUrl 1000자 결과 하나의 추정 크기는 약 2.3KB
+    private static final int URL_LENGTH = 1000;
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @Test
+    @DisplayName("같은 이미지와 엔드포인트는 파이프라인을 다시 실행하지 않는다")
+    void returnsCachedResult() {
+        OutfitResultCache cache = cache(1_000_000, Duration.ofMinutes(10));
+
+        OutfitResultCache.Lookup first = cache.lookup("recommend", image("a"), () -> suggestion("a"));
+        OutfitResultCache.Lookup second = cache.lookup("recommend", image("a"), () -> suggestion("other"));
+
+        assertThat(first.cached()).isFalse();
+        assertThat(second.cached()).isTrue();
+        assertThat(second.suggestion()).isSameAs(first.suggestion());
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("같은 이미지라도 recommend와 products는 다른 키다")
+    void endpointIsPartOfKey() {
+        OutfitResultCache cache = cache(1_000_000, Duration.ofMinutes(10));
+
+        cache.lookup("recommend", image("a"), () -> suggestion("recommend"));
+        OutfitResultCache.Lookup products = cache.lookup("products", image("a"), () -> suggestion("products"));
+
+        assertThat(products.cached()).isFalse();
+        assertThat(products.suggestion().getDescription()).isEqualTo("products");
+        assertThat(runs).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("총 추정 크기를 넘으면 가장 오래 사용되지 않은 항목부터 축출한다")
+    void evictsByWeightInLruOrder() {
+        // 항목 두 개만 들어가는 크기
+        OutfitResultCache cache = cache(5_000, Duration.ofMinutes(10));
+        cache.lookup("recommend", image("a"), () -> suggestion("a"));
+        cache.lookup("recommend", image("b"), () -> suggestion("b"));
+        // a를 조회해 b가 가장 오래 사용되지 않은 항목이 됨
+        assertThat(cache.lookup("recommend", image("a"), () -> suggestion("a")).cached()).isTrue();
+
+        cache.lookup("recommend", image("c"), () -> suggestion("c"));
+
+        assertThat(cache.stats().getSize()).isEqualTo(2);
+        assertThat(cache.stats().getEvictions()).isEqualTo(1);
+        assertThat(cache.stats().getWeightBytes()).isLessThanOrEqualTo(5_000);
+        assertThat(cache.lookup("recommend", image("a"), () -> suggestion("a")).cached()).isTrue();
+        assertThat(cache.lookup("recommend", image("c"), () -> suggestion("c")).cached()).isTrue();
+        assertThat(cache.lookup("recommend", image("b"), () -> suggestion("b")).cached()).isFalse();
+    }
+
+    @Test
+    @DisplayName("최대 크기보다 큰 결과는 저장하지 않는다")
+    void skipsResultLargerThanCapacity() {
+        OutfitResultCache cache = cache(1_000, Duration.ofMinutes(10));
+
+        cache.lookup("recommend", image("a"), () -> suggestion("a"));
+
+        assertThat(cache.stats().getSize()).isZero();
+        assertThat(cache.stats().getWeightBytes()).isZero();
+    }
+
+    @Test
+    @DisplayName("TTL이 지난 항목은 반환하지 않는다")
+    void expiresAfterTtl() {
+        OutfitResultCache cache = cache(1_000_000, Duration.ofMinutes(10));
+        cache.lookup("recommend", image("a"), () -> suggestion("a"));
+
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(10));
+        assertThat(cache.lookup("recommend", image("a"), () -> suggestion("a")).cached()).isTrue();
+
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(10) + 1);
+        assertThat(cache.lookup("recommend", image("a"), () -> suggestion("a")).cached()).isFalse();
+        assertThat(runs).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("일부가 빠진(degraded) 결과는 저장하지 않는다")
+    void doesNotStoreDegradedResult() {
+        OutfitResultCache cache = cache(1_000_000, Duration.ofMinutes(10));
+
+        cache.lookup("recommend", image("a"), () -> {
+            OutfitSuggestion degraded = suggestion("a");
+            degraded.setOutfitImageUrl(null);
+            degraded.setDegraded(true);
+            return degraded;
+        });
+
+        assertThat(cache.lookup("recommend", image("a"), () -> suggestion("a")).cached()).isFalse();
+        assertThat(runs).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("비동기 조회도 같은 캐시를 쓴다")
+    void asyncLookupSharesEntries() {
+        OutfitResultCache cache = cache(1_000_000, Duration.ofMinutes(10));
+        cache.lookup("products", image("a"), () -> suggestion("a"));
+
+        OutfitSuggestion cached = cache.getOrComputeAsync("products", image("a"),
+                () -> Mono.fromSupplier(() -> suggestion("other"))).block();
+
+        assertThat(cached.getDescription()).isEqualTo("a");
+        assertThat(runs).hasValue(1);
+    }
+
+    private OutfitResultCache cache(long maxBytes, Duration ttl) {
+        return new OutfitResultCache(maxBytes, ttl, clock::get);
+    }
+
+    private OutfitSuggestion suggestion(String description) {
+        runs.incrementAndGet();
+        return OutfitSuggestion.builder()
+                .description(description)
+                .outfitImageUrl("/api/outfit/images/" + "x".repeat(URL_LENGTH))
+                .build();
+    }
+
+    private static byte[] image(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.outfit.application;
+
+import com.example.outfit.application.StageGraph.Stage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StageGraphTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final StageGraph graph = new StageGraph("test", executor, new PipelineMetrics(new SimpleMeterRegistry()));
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("선행 단계 결과를 받아 다음 단계를 실행한다")
+    void runsDependentStages() {
+        Stage<Integer> first = graph.stage("first", () -> 1);
+        Stage<Integer> second = graph.stage("second", () -> 2);
+        Stage<Integer> sum = graph.stage("sum", first, second, Integer::sum);
+        Stage<String> text = graph.stage("text", sum, String::valueOf);
+
+        assertThat(text.join()).isEqualTo("3");
+    }
+
+    @Test
+    @DisplayName("한 단계가 실패하면 다른 단계의 결과를 기다리던 단계는 시작하지 않고, join은 원래 예외를 던진다")
+    void cancelsSiblingStagesOnFailure() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean dependentRan = new AtomicBoolean();
+
+        Stage<String> slow = graph.stage("slow", () -> {
+            await(release);
+            return "slow";
+        });
+        Stage<String> failing = graph.stage("failing", () -> {
+            throw new IllegalStateException("boom");
+        });
+        Stage<String> afterSlow = graph.stage("afterSlow", slow, value -> {
+            dependentRan.set(true);
+            return value;
+        });
+
+        assertThatThrownBy(failing::join).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+        // 실행 중인 단계가 끝나기 전에 취소되어, 그 결과를 기다리던 단계의 join도 바로 원래 예외를 던짐
+        assertThatThrownBy(afterSlow::join).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+        assertThatThrownBy(slow::join).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+
+        release.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(dependentRan).isFalse();
+    }
+
+    @Test
+    @DisplayName("실패 후에 등록한 단계는 바로 취소된다")
+    void cancelsStageRegisteredAfterFailure() {
+        Stage<String> failing = graph.stage("failing", () -> {
+            throw new IllegalStateException("boom");
+        });
+        assertThatThrownBy(failing::join).isInstanceOf(IllegalStateException.class);
+
+        Stage<String> late = graph.stage("late", () -> "late");
+
+        assertThatThrownBy(late::join).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.outfit.infra.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PerceptualHashCacheTest {
+
+    private static final long COLORS = 0L;
+    private final AtomicLong clock = new AtomicLong();
+
+    private PerceptualHashCache<String> cache(int maxEntries) {
+        return new PerceptualHashCache<>("test", 6, 24, maxEntries, Duration.ofMinutes(10), clock::get);
+    }
+
+    private static PerceptualHash.Fingerprint fingerprint(long hash) {
+        return new PerceptualHash.Fingerprint(hash, COLORS);
+    }
+
+    @Test
+    @DisplayName("허용 거리 안의 항목 중 가장 가까운 항목을 반환한다")
+    void returnsNearestWithinDistance() {
+        PerceptualHashCache<String> cache = cache(10);
+        cache.put(fingerprint(0b1111L), "four-bits");
+        cache.put(fingerprint(0b1L), "one-bit");
+
+        assertThat(cache.get(fingerprint(0L))).contains("one-bit");
+        assertThat(cache.get(fingerprint(0b111_1111L))).contains("four-bits");
+        assertThat(cache.get(fingerprint(0xFF00L))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("해시가 같아도 사분면 색 차이가 허용치를 넘으면 미스")
+    void colorDifferenceMisses() {
+        PerceptualHashCache<String> cache = cache(10);
+        // 한 채널 5비트 양자화 값 차이 2 = 16 (허용), 4 = 32 (초과)
+        cache.put(new PerceptualHash.Fingerprint(42L, 0L), "black");
+
+        assertThat(cache.get(new PerceptualHash.Fingerprint(42L, 2L))).contains("black");
+        assertThat(cache.get(new PerceptualHash.Fingerprint(42L, 4L))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("TTL이 지난 항목은 적중하지 않고 제거된다")
+    void expiresAfterTtl() {
+        PerceptualHashCache<String> cache = cache(10);
+        cache.put(fingerprint(7L), "value");
+
+        clock.addAndGet(Duration.ofMinutes(10).toNanos());
+        assertThat(cache.get(fingerprint(7L))).contains("value");
+
+        clock.addAndGet(1);
+        assertThat(cache.get(fingerprint(7L))).isEmpty();
+        assertThat(cache.stats().getSize()).isZero();
+        assertThat(cache.stats().getEvictions()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("최대 항목 수를 넘으면 가장 오래 사용되지 않은 항목부터 제거한다")
+    void evictsLeastRecentlyUsed() {
+        PerceptualHashCache<String> cache = cache(2);
+        cache.put(fingerprint(0xFFL), "first");
+        cache.put(fingerprint(0xFF00L), "second");
+        assertThat(cache.get(fingerprint(0xFFL))).contains("first");
+
+        cache.put(fingerprint(0xFF0000L), "third");
+
+        assertThat(cache.get(fingerprint(0xFF00L))).isEmpty();
+        assertThat(cache.get(fingerprint(0xFFL))).contains("first");
+        assertThat(cache.get(fingerprint(0xFF0000L))).contains("third");
+        assertThat(cache.stats().getEvictions()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.outfit.infra.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PerceptualHashTest {
+
+    private static final int MAX_DISTANCE = 6;
+    private static final int MAX_COLOR_DIFFERENCE = 24;
+
+    @Test
+    @DisplayName("JPEG로 재압축한 같은 이미지는 허용 거리와 색 차이 안에 있다")
+    void reencodedImageIsNearDuplicate() throws IOException {
+        BufferedImage original = outfit(Color.BLACK, 400, 300);
+
+        PerceptualHash.Fingerprint png = fingerprint(png(original));
+        PerceptualHash.Fingerprint jpeg = fingerprint(jpeg(original, 0.6f));
+
+        assertThat(PerceptualHash.distance(png.hash(), jpeg.hash())).isLessThanOrEqualTo(MAX_DISTANCE);
+        assertThat(PerceptualHash.colorDifference(png.colors(), jpeg.colors())).isLessThanOrEqualTo(MAX_COLOR_DIFFERENCE);
+    }
+
+    @Test
+    @DisplayName("리사이즈한 같은 이미지는 허용 거리와 색 차이 안에 있다")
+    void resizedImageIsNearDuplicate() throws IOException {
+        PerceptualHash.Fingerprint large = fingerprint(png(outfit(Color.BLACK, 800, 600)));
+        PerceptualHash.Fingerprint small = fingerprint(jpeg(resize(outfit(Color.BLACK, 800, 600), 200, 150), 0.85f));
+
+        assertThat(PerceptualHash.distance(large.hash(), small.hash())).isLessThanOrEqualTo(MAX_DISTANCE);
+        assertThat(PerceptualHash.colorDifference(large.colors(), small.colors())).isLessThanOrEqualTo(MAX_COLOR_DIFFERENCE);
+    }
+
+    @Test
+    @DisplayName("구도가 다른 이미지는 허용 거리를 넘는다")
+    void differentImageIsFar() throws IOException {
+        PerceptualHash.Fingerprint first = fingerprint(png(outfit(Color.BLACK, 400, 300)));
+        PerceptualHash.Fingerprint second = fingerprint(png(stripes(400, 300)));
+
+        assertThat(PerceptualHash.distance(first.hash(), second.hash())).isGreaterThan(MAX_DISTANCE);
+    }
+
+    @Test
+    @DisplayName("밝기 패턴이 같아도 색이 다르면 색 시그니처로 구분된다")
+    void sameLuminancePatternDifferentColor() throws IOException {
+        PerceptualHash.Fingerprint black = fingerprint(png(outfit(Color.BLACK, 400, 300)));
+        PerceptualHash.Fingerprint navy = fingerprint(png(outfit(new Color(0, 0, 128), 400, 300)));
+
+        assertThat(PerceptualHash.distance(black.hash(), navy.hash())).isLessThanOrEqualTo(MAX_DISTANCE);
+        assertThat(PerceptualHash.colorDifference(black.colors(), navy.colors())).isGreaterThan(MAX_COLOR_DIFFERENCE);
+    }
+
+    @Test
+    @DisplayName("디코딩할 수 없는 바이트는 empty")
+    void undecodableBytes() {
+        assertThat(PerceptualHash.fingerprint(new byte[]{1, 2, 3, 4})).isEmpty();
+    }
+
+    private static PerceptualHash.Fingerprint fingerprint(byte[] bytes) {
+        return PerceptualHash.fingerprint(bytes).orElseThrow();
+    }
+
+    /**
+     * 밝은 배경에 옷 모양 도형을 그린 이미지
+     */
+    private static BufferedImage outfit(Color garment, int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        graphics.setPaint(new GradientPaint(0, 0, new Color(235, 230, 220), width, height, new Color(200, 200, 205)));
+        graphics.fillRect(0, 0, width, height);
+        graphics.setColor(garment);
+        graphics.fillRect(width / 3, height / 5, width / 3, height * 3 / 5);
+        graphics.fillRect(width / 5, height / 5, width * 3 / 5, height / 6);
+        graphics.setColor(new Color(180, 40, 40));
+        graphics.fillOval(width * 3 / 4, height * 3 / 4, width / 8, height / 8);
+        graphics.dispose();
+        return image;
+    }
+
+    private static BufferedImage stripes(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        for (int x = 0; x < width; x += width / 9) {
+            graphics.setColor(x / (width / 9) % 2 == 0 ? Color.WHITE : Color.DARK_GRAY);
+            graphics.fillRect(x, 0, width / 9, height);
+        }
+        graphics.dispose();
+        return image;
+    }
+
+    private static BufferedImage resize(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(source, 0, 0, width, height, null);
+        graphics.dispose();
+        return target;
+    }
+
+    private static byte[] png(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    private static byte[] jpeg(BufferedImage image, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(stream);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
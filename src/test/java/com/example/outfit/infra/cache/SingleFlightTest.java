@@ -0,0 +1,95 @@
+package com.example.outfit.infra.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>("test");
+
+    @Test
+    @DisplayName("진행 중인 같은 키 호출은 한 번만 실행하고 결과를 함께 받는다")
+    void sharesInFlightCall() {
+        Sinks.One<String> upstream = Sinks.one();
+        AtomicInteger calls = new AtomicInteger();
+        Mono<String> first = singleFlight.execute("key", () -> {
+            calls.incrementAndGet();
+            return upstream.asMono();
+        });
+        Mono<String> second = singleFlight.execute("key", () -> {
+            calls.incrementAndGet();
+            return Mono.just("other");
+        });
+
+        StepVerifier.create(Mono.zip(first, second))
+                .then(() -> upstream.tryEmitValue("result"))
+                .assertNext(results -> {
+                    assertThat(results.getT1()).isEqualTo("result");
+                    assertThat(results.getT2()).isEqualTo("result");
+                })
+                .verifyComplete();
+        assertThat(calls).hasValue(1);
+        assertThat(singleFlight.sharedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("실패한 호출은 대기자 모두에게 전달하고 키를 지워 다음 호출은 새로 실행한다")
+    void removesFailedCall() {
+        Sinks.One<String> upstream = Sinks.one();
+        Mono<String> first = singleFlight.execute("key", upstream::asMono);
+        Mono<String> second = singleFlight.execute("key", () -> Mono.just("unused"));
+
+        StepVerifier.create(Mono.zipDelayError(first.onErrorReturn("failed"), second.onErrorReturn("failed")))
+                .then(() -> upstream.tryEmitError(new IllegalStateException("boom")))
+                .assertNext(results -> {
+                    assertThat(results.getT1()).isEqualTo("failed");
+                    assertThat(results.getT2()).isEqualTo("failed");
+                })
+                .verifyComplete();
+
+        StepVerifier.create(singleFlight.execute("key", () -> Mono.just("retried")))
+                .expectNext("retried")
+                .verifyComplete();
+        assertThat(singleFlight.executedCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("대기자가 실패 콜백 안에서 바로 다시 호출해도 끝난 호출을 공유받지 않는다")
+    void retryFromErrorCallbackRunsNewCall() {
+        Sinks.One<String> upstream = Sinks.one();
+        AtomicReference<String> retried = new AtomicReference<>();
+        singleFlight.execute("key", upstream::asMono)
+                .onErrorResume(e -> singleFlight.execute("key", () -> Mono.just("retried")))
+                .subscribe(retried::set);
+
+        upstream.tryEmitError(new IllegalStateException("boom"));
+
+        assertThat(retried.get()).isEqualTo("retried");
+        assertThat(singleFlight.executedCount()).isEqualTo(2);
+        assertThat(singleFlight.sharedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("호출 생성 중 예외가 나도 키를 남기지 않는다")
+    void removesCallThatThrowsOnCreate() {
+        StepVerifier.create(singleFlight.execute("key", () -> {
+                    throw new IllegalStateException("boom");
+                }))
+                .expectError(IllegalStateException.class)
+                .verify(Duration.ofSeconds(1));
+
+        StepVerifier.create(singleFlight.execute("key", () -> Mono.just("ok")))
+                .expectNext("ok")
+                .verifyComplete();
+        assertThat(singleFlight.sharedCount()).isZero();
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.outfit.infra.gemini;
+
+import com.example.outfit.config.HttpClientProperties;
+import com.example.outfit.infra.cache.PerceptualHashCache;
+import com.example.outfit.infra.http.UpstreamHttpClients;
+import com.example.outfit.infra.image.ImageArtifact;
+import com.example.outfit.infra.nanobanana.NanoBananaClient;
+import com.example.outfit.infra.storage.ImageStore;
+import com.example.outfit.infra.vision.VisionClient;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.client.reactive.MockClientHttpRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vision/Nano Banana가 실제로 전송하는 이미지 payload 확인
+ * 요청 본문은 가짜 ExchangeFunction에서 끝까지 직렬화해서 받는다.
+ */
+class GeminiImagePayloadTest {
+
+    private static final String VISION_URL = "http://vision.test/generateContent";
+    private static final String NANOBANANA_URL = "http://nanobanana.test/generateContent";
+
+    @TempDir
+    Path root;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, JsonNode> requests = new ConcurrentHashMap<>();
+    private byte[] generatedImage;
+    private UpstreamHttpClients httpClients;
+    private ImageStore imageStore;
+    private VisionClient visionClient;
+    private NanoBananaClient nanoBananaClient;
+
+    @AfterEach
+    void tearDown() {
+        httpClients.close();
+        imageStore.close();
+    }
+
+    private void setUp(boolean storeEnabled) {
+        ExchangeFunction exchange = request -> {
+            MockClientHttpRequest captured = new MockClientHttpRequest(request.method(), request.url());
+            return request.writeTo(captured, ExchangeStrategies.withDefaults())
+                    .then(Mono.defer(captured::getBodyAsString))
+                    .map(body -> {
+                        String url = request.url().toString();
+                        requests.put(url, readTree(body));
+                        return ClientResponse.create(HttpStatus.OK)
+                                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                .body(VISION_URL.equals(url) ? visionResponse() : nanoBananaResponse())
+                                .build();
+                    });
+        };
+        httpClients = new UpstreamHttpClients(WebClient.builder().exchangeFunction(exchange),
+                new HttpClientProperties(), new SimpleMeterRegistry());
+        GeminiQuotaScheduler quotaScheduler = new GeminiQuotaScheduler(false, 0, 0, Duration.ofSeconds(10), 0.2);
+        imageStore = new ImageStore(root, "/api/outfit/images", storeEnabled, Long.MAX_VALUE, Duration.ofDays(7),
+                Duration.ofHours(1));
+
+        visionClient = new VisionClient(httpClients, quotaScheduler, objectMapper,
+                new PerceptualHashCache<>("vision-attributes", 6, 24, 0, Duration.ofHours(1)),
+                new PerceptualHashCache<>("vision-analysis", 6, 24, 0, Duration.ofHours(1)));
+        ReflectionTestUtils.setField(visionClient, "apiKey", "test-key");
+        ReflectionTestUtils.setField(visionClient, "visionEndpoint", VISION_URL);
+
+        nanoBananaClient = new NanoBananaClient(httpClients, quotaScheduler, objectMapper, imageStore);
+        ReflectionTestUtils.setField(nanoBananaClient, "apiKey", "test-key");
+        ReflectionTestUtils.setField(nanoBananaClient, "endpoint", NANOBANANA_URL);
+        ReflectionTestUtils.setField(nanoBananaClient, "model", "test-model");
+    }
+
+    @ParameterizedTest(name = "{0} bytes")
+    @ValueSource(ints = {200 * 1024, 3 * 1024 * 1024})
+    @DisplayName("같은 업로드 이미지는 Vision과 Nano Banana에 같은 payload로 전송된다 (보관 base64/스트리밍 인코딩)")
+    void uploadPayloadIsIdentical(int size) {
+        setUp(true);
+        byte[] upload = jpeg(size, 1);
+        ImageArtifact image = ImageArtifact.of(upload);
+
+        visionClient.extractRecommendedProductName(image);
+        nanoBananaClient.generateImage(image, "brown jacket with black jeans");
+
+        JsonNode vision = imagePart(VISION_URL).path("inline_data");
+        JsonNode nanoBanana = imagePart(NANOBANANA_URL).path("inlineData");
+        String expected = Base64.getEncoder().encodeToString(upload);
+        assertThat(vision.path("data").asText()).isEqualTo(expected);
+        assertThat(nanoBanana.path("data").asText()).isEqualTo(expected);
+        assertThat(vision.path("mime_type").asText()).isEqualTo("image/jpeg");
+        assertThat(nanoBanana.path("mimeType").asText()).isEqualTo("image/jpeg");
+        // 1MB를 넘는 이미지는 base64를 보관하지 않고 전송할 때마다 인코딩한다
+        assertThat(image.retainedBase64() == null).isEqualTo(size > 1024 * 1024);
+    }
+
+    @ParameterizedTest(name = "storeEnabled={0}")
+    @ValueSource(booleans = {true, false})
+    @DisplayName("생성 이미지는 저장소 사용 여부와 관계없이 Nano Banana가 준 바이트 그대로 Vision에 전송된다")
+    void generatedImagePayloadIsIdentical(boolean storeEnabled) {
+        setUp(storeEnabled);
+        generatedImage = png(1_300_000, 2);
+
+        String url = nanoBananaClient.generateImage("brown jacket with black jeans");
+        assertThat(url.startsWith("data:")).isEqualTo(!storeEnabled);
+        // OutfitService.loadGeneratedImage와 같은 경로로 읽기
+        ImageArtifact generated = url.startsWith("data:") ? ImageArtifact.fromDataUrl(url) : imageStore.load(url);
+        visionClient.extractRecommendedProductName(generated);
+
+        JsonNode vision = imagePart(VISION_URL).path("inline_data");
+        assertThat(vision.path("mime_type").asText()).isEqualTo("image/png");
+        assertThat(vision.path("data").asText()).isEqualTo(Base64.getEncoder().encodeToString(generatedImage));
+    }
+
+    private JsonNode imagePart(String url) {
+        JsonNode request = requests.get(url);
+        assertThat(request).as(url).isNotNull();
+        for (JsonNode part : request.path("contents").path(0).path("parts")) {
+            if (part.has("inline_data") || part.has("inlineData")) {
+                return part;
+            }
+        }
+        throw new AssertionError("이미지 part가 없습니다: " + url);
+    }
+
+    private String visionResponse() {
+        return """
+                {"candidates": [{"content": {"parts": [{"text": "검정 슬랙스"}]}}]}
+                """;
+    }
+
+    private String nanoBananaResponse() {
+        byte[] image = generatedImage != null ? generatedImage : png(1024, 3);
+        return """
+                {"candidates": [{"content": {"parts": [
+                  {"text": "Here is the outfit."},
+                  {"inlineData": {"mimeType": "image/png", "data": "%s"}}
+                ]}}]}
+                """.formatted(Base64.getEncoder().encodeToString(image));
+    }
+
+    private JsonNode readTree(String body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * JPEG 시그니처로 시작하는 임의 바이트 (전송 경로는 디코딩하지 않으므로 시그니처만 맞으면 됨)
+     */
+    private static byte[] jpeg(int size, long seed) {
+        byte[] bytes = random(size, seed);
+        bytes[0] = (byte) 0xFF;
+        bytes[1] = (byte) 0xD8;
+        bytes[2] = (byte) 0xFF;
+        return bytes;
+    }
+
+    private static byte[] png(int size, long seed) {
+        byte[] bytes = random(size, seed);
+        byte[] signature = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+        System.arraycopy(signature, 0, bytes, 0, signature.length);
+        return bytes;
+    }
+
+    private static byte[] random(int size, long seed) {
+        byte[] bytes = new byte[size];
+        new Random(seed).nextBytes(bytes);
+        return bytes;
+    }
+}
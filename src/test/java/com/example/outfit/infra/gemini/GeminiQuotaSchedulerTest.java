@@ -0,0 +1,117 @@
+package com.example.outfit.infra.gemini;
+
+import com.example.outfit.infra.gemini.GeminiQuotaScheduler.Priority;
+import com.example.outfit.infra.http.UpstreamUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeminiQuotaSchedulerTest {
+
+    private final VirtualTimeScheduler time = VirtualTimeScheduler.create();
+    private final List<String> sent = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        time.dispose();
+    }
+
+    @Test
+    @DisplayName("할당량이 채워지면 먼저 도착한 이미지 생성보다 Vision 호출을 먼저 보낸다")
+    void grantsVisionBeforeImageGeneration() {
+        GeminiQuotaScheduler scheduler = scheduler(1, Duration.ofMinutes(3), 0);
+        call(scheduler, Priority.VISION, "first");
+        call(scheduler, Priority.IMAGE_GENERATION, "image");
+        call(scheduler, Priority.VISION, "vision");
+        assertThat(sent).containsExactly("first");
+        assertThat(scheduler.stats().getQueued()).isEqualTo(2);
+
+        time.advanceTimeBy(Duration.ofSeconds(60));
+        assertThat(sent).containsExactly("first", "vision");
+
+        time.advanceTimeBy(Duration.ofSeconds(60));
+        assertThat(sent).containsExactly("first", "vision", "image");
+        assertThat(scheduler.stats().getGranted()).isEqualTo(3);
+        assertThat(scheduler.stats().getWaited()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("이미지 생성은 예비 비율만큼 할당량이 남아 있을 때만 보낸다")
+    void holdsBackImageGenerationBelowReserve() {
+        GeminiQuotaScheduler scheduler = scheduler(10, Duration.ofMinutes(1), 0.2);
+        for (int i = 0; i < 8; i++) {
+            call(scheduler, Priority.VISION, "vision-" + i);
+        }
+
+        // 남은 요청 2개: 이미지 생성은 1 + 예비 2개가 필요하므로 대기, Vision은 바로 보냄
+        call(scheduler, Priority.IMAGE_GENERATION, "image");
+        assertThat(sent).doesNotContain("image");
+        call(scheduler, Priority.VISION, "vision-8");
+        assertThat(sent).contains("vision-8");
+    }
+
+    @Test
+    @DisplayName("최대 대기 시간 안에 보낼 수 없는 호출은 기다리지 않고 바로 실패한다")
+    void rejectsImmediatelyWhenWaitExceedsMaxWait() {
+        GeminiQuotaScheduler scheduler = scheduler(1, Duration.ofSeconds(10), 0);
+        call(scheduler, Priority.VISION, "first");
+
+        AtomicReference<Throwable> error = call(scheduler, Priority.VISION, "second");
+
+        assertThat(error.get()).isInstanceOf(UpstreamUnavailableException.class);
+        assertThat(((UpstreamUnavailableException) error.get()).getUpstream()).isEqualTo(GeminiQuotaScheduler.NAME);
+        assertThat(sent).containsExactly("first");
+        assertThat(scheduler.stats().getRejected()).isEqualTo(1);
+        assertThat(scheduler.stats().getQueued()).isZero();
+    }
+
+    @Test
+    @DisplayName("앞 호출을 보낸 뒤 남은 대기 시간으로 보낼 수 없게 된 호출은 그 시점에 실패한다")
+    void rejectsQueuedCallWhenDeadlineBecomesUnreachable() {
+        GeminiQuotaScheduler scheduler = scheduler(1, Duration.ofSeconds(90), 0);
+        call(scheduler, Priority.VISION, "first");
+        call(scheduler, Priority.VISION, "second");
+        AtomicReference<Throwable> third = call(scheduler, Priority.VISION, "third");
+
+        time.advanceTimeBy(Duration.ofSeconds(59));
+        assertThat(third.get()).isNull();
+
+        time.advanceTimeBy(Duration.ofSeconds(1));
+        assertThat(sent).containsExactly("first", "second");
+        assertThat(third.get()).isInstanceOf(UpstreamUnavailableException.class);
+    }
+
+    @Test
+    @DisplayName("보내지 못하고 UpstreamUnavailableException으로 끝난 호출의 할당량은 돌려준다")
+    void refundsQuotaWhenRequestIsNotSent() {
+        GeminiQuotaScheduler scheduler = scheduler(1, Duration.ofSeconds(10), 0);
+        scheduler.execute(Priority.VISION, 100,
+                        () -> Mono.error(new UpstreamUnavailableException("vision", "서킷 열림", Duration.ofSeconds(1))))
+                .subscribe(value -> { }, e -> { });
+
+        call(scheduler, Priority.VISION, "second");
+        assertThat(sent).containsExactly("second");
+    }
+
+    private GeminiQuotaScheduler scheduler(long rpm, Duration maxWait, double lowPriorityReserve) {
+        return new GeminiQuotaScheduler(true, rpm, 0, maxWait, lowPriorityReserve,
+                () -> time.now(TimeUnit.NANOSECONDS), time);
+    }
+
+    private AtomicReference<Throwable> call(GeminiQuotaScheduler scheduler, Priority priority, String name) {
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        scheduler.execute(priority, 100, () -> Mono.fromCallable(() -> sent.add(name)))
+                .subscribe(value -> { }, error::set);
+        return error;
+    }
+}
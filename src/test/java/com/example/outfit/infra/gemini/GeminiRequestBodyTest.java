@@ -0,0 +1,121 @@
+package com.example.outfit.infra.gemini;
+
+import com.example.outfit.infra.image.ImageArtifact;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeminiRequestBodyTest {
+
+    private static final String PROMPT = "이 이미지의 \"패션\" 아이템을 분석하세요.\n- colors: 주요 색상";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Vision 요청: text 다음 inline_data 순서의 snake_case 본문")
+    void visionBody() throws IOException {
+        ImageArtifact image = ImageArtifact.of(png());
+        Map<String, Object> generationConfig = new HashMap<>();
+        generationConfig.put("responseMimeType", "application/json");
+        generationConfig.put("responseSchema", Map.of("type", "OBJECT"));
+
+        JsonNode written = write(GeminiRequestBody.snakeCase()
+                .text(PROMPT)
+                .image(image)
+                .generationConfig(generationConfig));
+
+        JsonNode parts = written.path("contents").path(0).path("parts");
+        assertThat(parts).hasSize(2);
+        assertThat(parts.path(0).path("text").asText()).isEqualTo(PROMPT);
+        assertThat(parts.path(1).has("inlineData")).isFalse();
+        assertThat(parts.path(1).path("inline_data").path("mime_type").asText()).isEqualTo("image/png");
+        assertThat(parts.path(1).path("inline_data").path("data").asText())
+                .isEqualTo(Base64.getEncoder().encodeToString(png()));
+        assertThat(written.path("generationConfig").path("responseSchema").path("type").asText()).isEqualTo("OBJECT");
+
+        // 기존 HashMap + writeValueAsString 방식과 같은 JSON
+        Map<String, Object> request = legacyRequest(List.of(
+                Map.of("text", PROMPT),
+                Map.of("inline_data", Map.of("mime_type", "image/png",
+                        "data", Base64.getEncoder().encodeToString(png())))));
+        request.put("generationConfig", generationConfig);
+        assertThat(written).isEqualTo(objectMapper.readTree(objectMapper.writeValueAsString(request)));
+    }
+
+    @Test
+    @DisplayName("Nano Banana 요청: inlineData 다음 text 순서의 camelCase 본문")
+    void nanoBananaBody() throws IOException {
+        ImageArtifact image = ImageArtifact.of(png());
+
+        JsonNode written = write(GeminiRequestBody.camelCase()
+                .image(image)
+                .text(PROMPT));
+
+        JsonNode parts = written.path("contents").path(0).path("parts");
+        assertThat(parts).hasSize(2);
+        assertThat(parts.path(0).has("inline_data")).isFalse();
+        assertThat(parts.path(0).path("inlineData").path("mimeType").asText()).isEqualTo("image/png");
+        assertThat(parts.path(1).path("text").asText()).isEqualTo(PROMPT);
+        assertThat(written.has("generationConfig")).isFalse();
+
+        Map<String, Object> request = legacyRequest(List.of(
+                Map.of("inlineData", Map.of("mimeType", "image/png",
+                        "data", Base64.getEncoder().encodeToString(png()))),
+                Map.of("text", PROMPT)));
+        assertThat(written).isEqualTo(objectMapper.readTree(objectMapper.writeValueAsString(request)));
+    }
+
+    @Test
+    @DisplayName("Data URL로 만든 이미지는 받은 base64를 그대로 보낸다")
+    void dataUrlImage() throws IOException {
+        String base64 = Base64.getEncoder().encodeToString(png());
+
+        JsonNode written = write(GeminiRequestBody.camelCase()
+                .image(ImageArtifact.fromDataUrl("data:image/png;base64," + base64)));
+
+        JsonNode inlineData = written.path("contents").path(0).path("parts").path(0).path("inlineData");
+        assertThat(inlineData.path("mimeType").asText()).isEqualTo("image/png");
+        assertThat(inlineData.path("data").asText()).isEqualTo(base64);
+    }
+
+    private JsonNode write(GeminiRequestBody body) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        body.writeTo(objectMapper, out);
+        return objectMapper.readTree(out.toByteArray());
+    }
+
+    /**
+     * 스트리밍 직렬화 이전의 요청 구성 방식 ({"contents":[{"parts":[...]}]})
+     */
+    private static Map<String, Object> legacyRequest(List<Map<String, Object>> parts) {
+        Map<String, Object> content = new HashMap<>();
+        content.put("parts", new ArrayList<>(parts));
+        Map<String, Object> request = new HashMap<>();
+        request.put("contents", List.of(content));
+        return request;
+    }
+
+    /**
+     * PNG 시그니처로 시작하는 이미지 바이트 (MIME 타입 감지용, 길이가 3의 배수가 아니어서 패딩도 확인)
+     */
+    private static byte[] png() {
+        byte[] bytes = new byte[100];
+        byte[] signature = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+        System.arraycopy(signature, 0, bytes, 0, signature.length);
+        for (int i = signature.length; i < bytes.length; i++) {
+            bytes[i] = (byte) (i * 31);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.outfit.infra.google;
+
+import com.example.outfit.domain.ProductCandidate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSearchCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    // 제출된 갱신 작업을 바로 실행하지 않고 쌓아 두는 실행기
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private final Executor executor = tasks::add;
+    private final ProductSearchCache cache = new ProductSearchCache(
+            Duration.ofMinutes(30), Duration.ofHours(24), 10, executor, clock::get);
+
+    @Test
+    @DisplayName("TTL 안의 항목은 loader를 호출하지 않고 반환한다")
+    void returnsFreshEntry() {
+        AtomicInteger loads = new AtomicInteger();
+        get("query", loads, "first");
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(29));
+
+        StepVerifier.create(cache.get("query", () -> load(loads, "second")))
+                .assertNext(products -> assertThat(products.get(0).getTitle()).isEqualTo("first"))
+                .verifyComplete();
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("만료된 항목은 바로 반환하고, 갱신은 요청 스레드가 아닌 실행기에서 한 번만 구독한다")
+    void refreshesStaleEntryOnExecutor() {
+        AtomicInteger loads = new AtomicInteger();
+        get("query", loads, "first");
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(31));
+
+        StepVerifier.create(cache.get("query", () -> load(loads, "second")))
+                .assertNext(products -> assertThat(products.get(0).getTitle()).isEqualTo("first"))
+                .verifyComplete();
+        StepVerifier.create(cache.get("query", () -> load(loads, "third")))
+                .assertNext(products -> assertThat(products.get(0).getTitle()).isEqualTo("first"))
+                .verifyComplete();
+
+        // 갱신은 실행기에 한 번만 제출되고, 실행 전에는 loader를 호출하지 않음
+        assertThat(loads).hasValue(1);
+        assertThat(tasks).hasSize(1);
+        tasks.poll().run();
+        assertThat(loads).hasValue(2);
+
+        StepVerifier.create(cache.get("query", () -> load(loads, "fourth")))
+                .assertNext(products -> assertThat(products.get(0).getTitle()).isEqualTo("second"))
+                .verifyComplete();
+        assertThat(tasks).isEmpty();
+    }
+
+    @Test
+    @DisplayName("갱신이 실패해도 다음 만료 조회에서 다시 갱신한다")
+    void retriesRefreshAfterFailure() {
+        AtomicInteger loads = new AtomicInteger();
+        get("query", loads, "first");
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(31));
+
+        cache.get("query", () -> Mono.error(new IllegalStateException("boom"))).block();
+        tasks.poll().run();
+
+        cache.get("query", () -> load(loads, "second")).block();
+        assertThat(tasks).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("최대 허용 기간이 지난 항목은 loader로 다시 조회한다")
+    void reloadsEntryPastMaxStale() {
+        AtomicInteger loads = new AtomicInteger();
+        get("query", loads, "first");
+        clock.addAndGet(TimeUnit.HOURS.toNanos(25));
+
+        StepVerifier.create(cache.get("query", () -> load(loads, "second")))
+                .assertNext(products -> assertThat(products.get(0).getTitle()).isEqualTo("second"))
+                .verifyComplete();
+        assertThat(tasks).isEmpty();
+        assertThat(cache.stats().getMisses()).isEqualTo(2);
+    }
+
+    private void get(String query, AtomicInteger loads, String title) {
+        cache.get(query, () -> load(loads, title)).block();
+    }
+
+    private static Mono<List<ProductCandidate>> load(AtomicInteger loads, String title) {
+        loads.incrementAndGet();
+        return Mono.just(List.of(ProductCandidate.builder().title(title).build()));
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.outfit.infra.http;
+
+import com.example.outfit.config.HttpClientProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(30);
+
+    private final AtomicLong clock = new AtomicLong();
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        HttpClientProperties.CircuitBreaker config = new HttpClientProperties.CircuitBreaker();
+        config.setSlidingWindowSize(4);
+        config.setMinimumCalls(4);
+        config.setFailureRateThreshold(0.5);
+        config.setOpenDuration(OPEN_DURATION);
+        config.setHalfOpenCalls(2);
+        breaker = new CircuitBreaker("test", config, clock::get);
+    }
+
+    @Test
+    @DisplayName("최소 호출 수를 채우고 실패율이 임계값에 닿으면 열린다")
+    void opensWhenFailureRateReachesThreshold() {
+        succeed();
+        succeed();
+        fail(503);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        fail(503);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    @DisplayName("429를 제외한 4xx 응답은 실패로 집계하지 않는다")
+    void ignoresClientErrors() {
+        for (int i = 0; i < 4; i++) {
+            fail(400);
+        }
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        fail(429);
+        fail(429);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    @DisplayName("열려 있는 동안은 요청을 보내지 않고 남은 시간을 Retry-After로 알려 준다")
+    void rejectsWithoutCallingWhileOpen() {
+        open();
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        AtomicInteger calls = new AtomicInteger();
+        StepVerifier.create(breaker.execute(() -> {
+                    calls.incrementAndGet();
+                    return Mono.just("ok");
+                }))
+                .expectErrorSatisfies(e -> {
+                    assertThat(e).isInstanceOf(UpstreamUnavailableException.class);
+                    assertThat(((UpstreamUnavailableException) e).getRetryAfter()).isEqualTo(Duration.ofSeconds(20));
+                })
+                .verify();
+        assertThat(calls).hasValue(0);
+        assertThat(breaker.stats().getRejected()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("open-duration이 지나면 반열림 상태에서 half-open-calls개만 허가하고, 모두 성공하면 닫힌다")
+    void halfOpenAllowsConfiguredTrialCalls() {
+        open();
+        clock.addAndGet(OPEN_DURATION.toNanos());
+
+        Sinks.One<String> first = Sinks.one();
+        Sinks.One<String> second = Sinks.one();
+        Disposable firstCall = breaker.execute(first::asMono).subscribe();
+        Disposable secondCall = breaker.execute(second::asMono).subscribe();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+
+        StepVerifier.create(breaker.execute(() -> Mono.just("third")))
+                .expectError(UpstreamUnavailableException.class)
+                .verify();
+
+        first.tryEmitValue("ok");
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        second.tryEmitValue("ok");
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(firstCall.isDisposed() && secondCall.isDisposed()).isTrue();
+    }
+
+    @Test
+    @DisplayName("반열림 상태의 시험 호출이 하나라도 실패하면 다시 열린다")
+    void failedTrialCallReopens() {
+        open();
+        clock.addAndGet(OPEN_DURATION.toNanos());
+
+        fail(503);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.stats().getOpened()).isEqualTo(2);
+
+        // 다시 연 시점부터 open-duration을 센다
+        clock.addAndGet(OPEN_DURATION.toNanos() - 1);
+        StepVerifier.create(breaker.execute(() -> Mono.just("ok")))
+                .expectError(UpstreamUnavailableException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("취소된 시험 호출은 허가를 돌려준다")
+    void cancelledTrialCallReleasesPermit() {
+        open();
+        clock.addAndGet(OPEN_DURATION.toNanos());
+
+        Disposable cancelled = breaker.execute(Mono::<String>never).subscribe();
+        Disposable pending = breaker.execute(Mono::<String>never).subscribe();
+        cancelled.dispose();
+
+        StepVerifier.create(breaker.execute(() -> Mono.just("ok")))
+                .expectNext("ok")
+                .verifyComplete();
+        pending.dispose();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            fail(503);
+        }
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    private void succeed() {
+        StepVerifier.create(breaker.execute(() -> Mono.just("ok")))
+                .expectNext("ok")
+                .verifyComplete();
+    }
+
+    private void fail(int status) {
+        WebClientResponseException error = WebClientResponseException.create(
+                status, "error", HttpHeaders.EMPTY, new byte[0], null);
+        StepVerifier.create(breaker.execute(() -> Mono.<String>error(error)))
+                .expectErrorMatches(e -> e == error)
+                .verify();
+    }
+}
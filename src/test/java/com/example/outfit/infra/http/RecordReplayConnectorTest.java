@@ -0,0 +1,109 @@
+package com.example.outfit.infra.http;
+
+import com.example.outfit.config.HttpClientProperties.RecordReplay;
+import com.example.outfit.infra.cache.ContentHash;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.mock.http.client.reactive.MockClientHttpRequest;
+import org.springframework.mock.http.client.reactive.MockClientHttpResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class RecordReplayConnectorTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("녹화한 상태 코드, Content-Type, Retry-After, 본문을 그대로 재생한다")
+    void replaysRecordedHeaders() {
+        Path file = dir.resolve("traffic.jsonl.gz");
+        ClientHttpConnector upstream = (method, uri, requestCallback) -> {
+            MockClientHttpResponse response = new MockClientHttpResponse(HttpStatus.TOO_MANY_REQUESTS);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, "7");
+            response.getHeaders().set("X-Not-Recorded", "value");
+            response.setBody("{\"error\":\"quota\"}");
+            return requestCallback.apply(new MockClientHttpRequest(method, uri))
+                    .thenReturn(response);
+        };
+
+        try (TrafficRecording recording = new TrafficRecording(config(RecordReplay.Mode.RECORD, file))) {
+            WebClientResponseException recorded = call(new RecordReplayConnector("vision", upstream, recording));
+            assertThat(recorded.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("7");
+        }
+
+        try (TrafficRecording recording = new TrafficRecording(config(RecordReplay.Mode.REPLAY, file))) {
+            WebClientResponseException replayed = call(new RecordReplayConnector("vision", null, recording));
+
+            assertThat(replayed.getStatusCode().value()).isEqualTo(429);
+            assertThat(replayed.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+            assertThat(replayed.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("7");
+            assertThat(replayed.getHeaders().containsKey("X-Not-Recorded")).isFalse();
+            assertThat(replayed.getResponseBodyAsString()).isEqualTo("{\"error\":\"quota\"}");
+        }
+    }
+
+    @Test
+    @DisplayName("헤더 필드가 없는 이전 녹화 파일도 재생한다")
+    void replaysRecordingWithoutHeaders() throws IOException {
+        Path file = dir.resolve("legacy.jsonl.gz");
+        String request = TrafficRecording.describe("GET", URI.create("http://localhost/v1/items"));
+        // 본문이 없는 요청의 지문
+        String fingerprint = TrafficRecording.fingerprint("search", request, ContentHash.newDigest().digest());
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+            out.write(("{\"upstream\":\"search\",\"request\":\"" + request + "\",\"fingerprint\":\"" + fingerprint
+                    + "\",\"status\":200,\"contentType\":\"application/json\",\"latencyMillis\":5,\"body\":\"{}\"}\n")
+                    .getBytes(StandardCharsets.UTF_8));
+        }
+
+        try (TrafficRecording recording = new TrafficRecording(config(RecordReplay.Mode.REPLAY, file))) {
+            String body = WebClient.builder()
+                    .clientConnector(new RecordReplayConnector("search", null, recording))
+                    .build()
+                    .get().uri("http://localhost/v1/items")
+                    .retrieve()
+                    .bodyToMono(String.class)
+                    .block();
+            assertThat(body).isEqualTo("{}");
+        }
+    }
+
+    private static WebClientResponseException call(ClientHttpConnector connector) {
+        Mono<String> response = WebClient.builder()
+                .clientConnector(connector)
+                .build()
+                .post().uri("http://localhost/v1/generate?key=secret")
+                .bodyValue("{\"prompt\":\"test\"}")
+                .retrieve()
+                .bodyToMono(String.class);
+        Throwable error = catchThrowable(response::block);
+        assertThat(error).isInstanceOf(WebClientResponseException.class);
+        return (WebClientResponseException) error;
+    }
+
+    private static RecordReplay config(RecordReplay.Mode mode, Path file) {
+        RecordReplay config = new RecordReplay();
+        config.setMode(mode);
+        config.setFile(file);
+        config.setTimingScale(0);
+        return config;
+    }
+}
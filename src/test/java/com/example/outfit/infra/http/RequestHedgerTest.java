@@ -0,0 +1,106 @@
+package com.example.outfit.infra.http;
+
+import com.example.outfit.config.HttpClientProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestHedgerTest {
+
+    private VirtualTimeScheduler time;
+    private HttpClientProperties.Hedge config;
+
+    @BeforeEach
+    void setUp() {
+        time = VirtualTimeScheduler.getOrSet();
+        config = new HttpClientProperties.Hedge();
+        config.setEnabled(true);
+        config.setPercentile(0.95);
+        config.setWindow(20);
+        config.setInitialDelay(Duration.ofMillis(100));
+        config.setMinDelay(Duration.ofMillis(1));
+        config.setMaxRate(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        VirtualTimeScheduler.reset();
+    }
+
+    @Test
+    @DisplayName("첫 요청이 지연 시간 안에 응답하지 않으면 헤지 요청을 보내고 먼저 온 응답을 쓴다")
+    void hedgeWinsWhenPrimaryIsSlow() {
+        RequestHedger hedger = hedger();
+        AtomicInteger attempts = new AtomicInteger();
+        AtomicReference<String> result = new AtomicReference<>();
+
+        hedger.execute(() -> attempts.incrementAndGet() == 1
+                        ? Mono.delay(Duration.ofSeconds(5)).thenReturn("primary")
+                        : Mono.delay(Duration.ofMillis(10)).thenReturn("hedge"))
+                .subscribe(result::set);
+
+        time.advanceTimeBy(Duration.ofMillis(99));
+        assertThat(attempts).hasValue(1);
+        time.advanceTimeBy(Duration.ofMillis(1));
+        assertThat(attempts).hasValue(2);
+        time.advanceTimeBy(Duration.ofMillis(10));
+        assertThat(result.get()).isEqualTo("hedge");
+        assertThat(hedger.stats().getHedged()).isEqualTo(1);
+        assertThat(hedger.stats().getHedgeWins()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("표본이 쌓이면 지연 시간은 응답 시간 백분위수가 되고, 표본 10개마다 다시 계산한다")
+    void delayFollowsLatencyPercentile() {
+        RequestHedger hedger = hedger();
+        for (int i = 0; i < 20; i++) {
+            run(hedger, () -> Mono.delay(Duration.ofMillis(50)).thenReturn("ok"));
+        }
+        assertThat(hedger.currentDelay()).isEqualTo(Duration.ofMillis(50));
+
+        // 창(20개)이 모두 40ms로 바뀐 뒤 다시 계산하는 20번째 표본에서 반영
+        for (int i = 0; i < 19; i++) {
+            run(hedger, () -> Mono.delay(Duration.ofMillis(40)).thenReturn("ok"));
+        }
+        assertThat(hedger.currentDelay()).isEqualTo(Duration.ofMillis(50));
+        run(hedger, () -> Mono.delay(Duration.ofMillis(40)).thenReturn("ok"));
+        assertThat(hedger.currentDelay()).isEqualTo(Duration.ofMillis(40));
+    }
+
+    @Test
+    @DisplayName("헤지에 밀려 취소된 첫 요청은 경과 시간을 하한으로 기록한다")
+    void recordsCancelledPrimaryAsLowerBound() {
+        RequestHedger hedger = hedger();
+        for (int i = 0; i < 10; i++) {
+            AtomicInteger attempts = new AtomicInteger();
+            run(hedger, () -> attempts.incrementAndGet() == 1
+                    ? Mono.never()
+                    : Mono.delay(Duration.ofMillis(10)).thenReturn("hedge"));
+        }
+
+        // 헤지 응답 10ms 10개, 취소된 첫 요청 110ms(헤지 지연 100ms + 10ms) 10개 → p95는 110ms
+        assertThat(hedger.currentDelay()).isEqualTo(Duration.ofMillis(110));
+    }
+
+    private RequestHedger hedger() {
+        return new RequestHedger("test", config, () -> time.now(TimeUnit.NANOSECONDS));
+    }
+
+    private void run(RequestHedger hedger, Supplier<Mono<String>> request) {
+        AtomicReference<String> result = new AtomicReference<>();
+        hedger.execute(request).subscribe(result::set);
+        time.advanceTimeBy(Duration.ofSeconds(1));
+        assertThat(result.get()).isNotNull();
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.outfit.infra.http;
+
+import com.example.outfit.config.HttpClientProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongUnaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestRetrierTest {
+
+    // 항상 범위의 최댓값을 고르는 난수 (대기 시간 = 백오프 상한)
+    private static final LongUnaryOperator MAX_JITTER = bound -> bound - 1;
+
+    private HttpClientProperties.Retry config;
+    private HttpClientProperties.RetryBudget budgetConfig;
+
+    @BeforeEach
+    void setUp() {
+        config = new HttpClientProperties.Retry();
+        config.setMaxAttempts(3);
+        config.setInitialBackoff(Duration.ofMillis(500));
+        config.setMaxBackoff(Duration.ofSeconds(10));
+        budgetConfig = new HttpClientProperties.RetryBudget();
+        budgetConfig.setRatio(0.1);
+        budgetConfig.setMaxTokens(10);
+    }
+
+    @Test
+    @DisplayName("백오프 상한은 시도마다 두 배가 되고, 대기 시간은 0~상한 사이에서 고른다")
+    void jitteredExponentialBackoff() {
+        List<Long> bounds = new CopyOnWriteArrayList<>();
+        RequestRetrier retrier = retrier(bound -> {
+            bounds.add(bound);
+            return MAX_JITTER.applyAsLong(bound);
+        });
+        AtomicInteger calls = new AtomicInteger();
+
+        StepVerifier.withVirtualTime(() -> retrier.execute(() -> calls.incrementAndGet() < 3
+                        ? Mono.error(status(503, null))
+                        : Mono.just("ok")))
+                .expectSubscription()
+                .then(() -> assertThat(calls).hasValue(1))
+                .expectNoEvent(Duration.ofMillis(499))
+                .then(() -> assertThat(calls).hasValue(1))
+                .thenAwait(Duration.ofMillis(1))
+                .then(() -> assertThat(calls).hasValue(2))
+                .expectNoEvent(Duration.ofMillis(999))
+                .thenAwait(Duration.ofMillis(1))
+                .expectNext("ok")
+                .verifyComplete();
+
+        assertThat(bounds).containsExactly(501L, 1001L);
+        assertThat(retrier.stats().getRecovered()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("백오프 상한은 max-backoff를 넘지 않는다")
+    void backoffIsCappedByMaxBackoff() {
+        config.setMaxAttempts(6);
+        config.setMaxBackoff(Duration.ofSeconds(1));
+        List<Long> bounds = new CopyOnWriteArrayList<>();
+        RequestRetrier retrier = retrier(bound -> {
+            bounds.add(bound);
+            return 0;
+        });
+
+        StepVerifier.withVirtualTime(() -> retrier.execute(() -> Mono.error(status(503, null))))
+                .expectSubscription()
+                .thenAwait(Duration.ofSeconds(1))
+                .expectError(WebClientResponseException.class)
+                .verify();
+
+        assertThat(bounds).containsExactly(501L, 1001L, 1001L, 1001L, 1001L);
+    }
+
+    @Test
+    @DisplayName("Retry-After가 백오프보다 길면 Retry-After만큼 기다린다")
+    void waitsForRetryAfter() {
+        RequestRetrier retrier = retrier(MAX_JITTER);
+        AtomicInteger calls = new AtomicInteger();
+
+        StepVerifier.withVirtualTime(() -> retrier.execute(() -> calls.incrementAndGet() == 1
+                        ? Mono.error(status(429, "3"))
+                        : Mono.just("ok")))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofMillis(2999))
+                .then(() -> assertThat(calls).hasValue(1))
+                .thenAwait(Duration.ofMillis(1))
+                .expectNext("ok")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Retry-After가 max-backoff보다 길면 재시도하지 않는다")
+    void doesNotRetryWhenRetryAfterExceedsMaxBackoff() {
+        RequestRetrier retrier = retrier(MAX_JITTER);
+        AtomicInteger calls = new AtomicInteger();
+
+        StepVerifier.create(retrier.execute(() -> {
+                    calls.incrementAndGet();
+                    return Mono.error(status(429, "60"));
+                }))
+                .expectError(WebClientResponseException.class)
+                .verify(Duration.ofSeconds(1));
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("재시도 대상이 아닌 4xx는 바로 실패한다")
+    void doesNotRetryClientErrors() {
+        RequestRetrier retrier = retrier(MAX_JITTER);
+        AtomicInteger calls = new AtomicInteger();
+
+        StepVerifier.create(retrier.execute(() -> {
+                    calls.incrementAndGet();
+                    return Mono.error(status(400, null));
+                }))
+                .expectError(WebClientResponseException.class)
+                .verify(Duration.ofSeconds(1));
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("재시도 예산이 없으면 재시도하지 않는다")
+    void stopsRetryingWhenBudgetIsExhausted() {
+        budgetConfig.setRatio(0);
+        budgetConfig.setMaxTokens(1);
+        RequestRetrier retrier = retrier(bound -> 0);
+        AtomicInteger calls = new AtomicInteger();
+
+        // 예산 1개: 첫 호출은 한 번 재시도하고, 두 번째 호출은 재시도하지 않음
+        StepVerifier.withVirtualTime(() -> retrier.execute(() -> {
+                    calls.incrementAndGet();
+                    return Mono.error(status(503, null));
+                }).onErrorResume(e -> retrier.execute(() -> {
+                    calls.incrementAndGet();
+                    return Mono.error(status(503, null));
+                })))
+                .expectSubscription()
+                .thenAwait(Duration.ofSeconds(1))
+                .expectError(WebClientResponseException.class)
+                .verify();
+
+        assertThat(calls).hasValue(3);
+        assertThat(retrier.stats().getRetries()).isEqualTo(1);
+        assertThat(retrier.stats().getBudgetRejected()).isEqualTo(2);
+    }
+
+    private RequestRetrier retrier(LongUnaryOperator random) {
+        return new RequestRetrier("test", config, new RetryBudget(budgetConfig), random);
+    }
+
+    private static WebClientResponseException status(int status, String retryAfter) {
+        HttpHeaders headers = new HttpHeaders();
+        if (retryAfter != null) {
+            headers.set(HttpHeaders.RETRY_AFTER, retryAfter);
+        }
+        return WebClientResponseException.create(status, "error", headers, new byte[0], null);
+    }
+}
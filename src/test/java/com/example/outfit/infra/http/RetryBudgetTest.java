@@ -0,0 +1,57 @@
+package com.example.outfit.infra.http;
+
+import com.example.outfit.config.HttpClientProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class RetryBudgetTest {
+
+    @Test
+    @DisplayName("가득 찬 상태로 시작해 재시도마다 토큰 1개를 쓰고, 없으면 거절한다")
+    void startsFullAndExhausts() {
+        RetryBudget budget = new RetryBudget(config(0.1, 2));
+
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isFalse();
+        assertThat(budget.tokens()).isZero();
+    }
+
+    @Test
+    @DisplayName("호출마다 ratio만큼 쌓여, 1/ratio번 호출하면 재시도 한 번을 허가한다")
+    void refillsByRatioPerCall() {
+        RetryBudget budget = new RetryBudget(config(0.25, 2));
+        budget.tryAcquire();
+        budget.tryAcquire();
+
+        for (int i = 0; i < 3; i++) {
+            budget.onCall();
+            assertThat(budget.tryAcquire()).isFalse();
+        }
+        budget.onCall();
+        assertThat(budget.tokens()).isCloseTo(1.0, within(1e-9));
+        assertThat(budget.tryAcquire()).isTrue();
+        assertThat(budget.tryAcquire()).isFalse();
+    }
+
+    @Test
+    @DisplayName("토큰은 max-tokens를 넘게 쌓이지 않는다")
+    void refillIsCappedAtMaxTokens() {
+        RetryBudget budget = new RetryBudget(config(0.5, 3));
+
+        for (int i = 0; i < 100; i++) {
+            budget.onCall();
+        }
+        assertThat(budget.tokens()).isEqualTo(3.0);
+    }
+
+    private static HttpClientProperties.RetryBudget config(double ratio, int maxTokens) {
+        HttpClientProperties.RetryBudget config = new HttpClientProperties.RetryBudget();
+        config.setRatio(ratio);
+        config.setMaxTokens(maxTokens);
+        return config;
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.outfit.infra.image;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ImagePreprocessorTest {
+
+    private static final int ORIENTATION_TAG = 0x0112;
+
+    private final ImagePreprocessor preprocessor = new ImagePreprocessor(true, 1024, 0.9f, ImageDecoder.DEFAULT_MAX_PIXELS);
+
+    @ParameterizedTest(name = "littleEndian={0}, orientation={1}")
+    @CsvSource({"true, 3", "true, 6", "true, 8", "false, 3", "false, 6", "false, 8"})
+    @DisplayName("리틀/빅 엔디언 EXIF의 방향 값을 읽는다")
+    void readsOrientation(boolean littleEndian, int orientation) {
+        byte[] jpeg = concat(new byte[]{(byte) 0xFF, (byte) 0xD8}, app1(tiff(littleEndian, orientation)), startOfScan());
+
+        assertThat(ImagePreprocessor.ExifOrientation.read(jpeg)).isEqualTo(orientation);
+    }
+
+    @Test
+    @DisplayName("EXIF가 없거나 범위를 벗어난 방향 값이면 1")
+    void missingOrInvalidOrientation() {
+        byte[] noExif = concat(new byte[]{(byte) 0xFF, (byte) 0xD8}, startOfScan());
+        byte[] outOfRange = concat(new byte[]{(byte) 0xFF, (byte) 0xD8}, app1(tiff(true, 9)), startOfScan());
+
+        assertThat(ImagePreprocessor.ExifOrientation.read(noExif)).isEqualTo(1);
+        assertThat(ImagePreprocessor.ExifOrientation.read(outOfRange)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("잘린 IFD나 음수/범위 밖 IFD 오프셋이면 1")
+    void truncatedOrBadIfdOffset() {
+        byte[] tiff = tiff(true, 6);
+
+        // IFD 항목 개수까지만 남기고 자른 파일 (세그먼트 길이는 원래대로)
+        byte[] full = concat(new byte[]{(byte) 0xFF, (byte) 0xD8}, app1(tiff));
+        byte[] truncated = Arrays.copyOf(full, full.length - 14);
+
+        byte[] negative = tiff.clone();
+        ByteBuffer.wrap(negative).order(ByteOrder.LITTLE_ENDIAN).putInt(4, 0xFFFFFFF8);
+        byte[] beyondEnd = tiff.clone();
+        ByteBuffer.wrap(beyondEnd).order(ByteOrder.LITTLE_ENDIAN).putInt(4, 0x7FFFFFF0);
+
+        assertThat(ImagePreprocessor.ExifOrientation.read(truncated)).isEqualTo(1);
+        assertThat(ImagePreprocessor.ExifOrientation.read(
+                concat(new byte[]{(byte) 0xFF, (byte) 0xD8}, app1(negative), startOfScan()))).isEqualTo(1);
+        assertThat(ImagePreprocessor.ExifOrientation.read(
+                concat(new byte[]{(byte) 0xFF, (byte) 0xD8}, app1(beyondEnd), startOfScan()))).isEqualTo(1);
+    }
+
+    @ParameterizedTest(name = "littleEndian={0}, orientation={1}")
+    @CsvSource({"true, 3", "true, 6", "true, 8", "false, 3", "false, 6", "false, 8"})
+    @DisplayName("EXIF 방향을 픽셀에 반영한다 (90도 회전이면 가로/세로가 바뀜)")
+    void appliesOrientation(boolean littleEndian, int orientation) throws IOException {
+        // 왼쪽 절반 빨강, 오른쪽 절반 파랑인 80x40 이미지
+        BufferedImage source = new BufferedImage(80, 40, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = source.createGraphics();
+        g.setColor(Color.RED);
+        g.fillRect(0, 0, 40, 40);
+        g.setColor(Color.BLUE);
+        g.fillRect(40, 0, 40, 40);
+        g.dispose();
+        byte[] jpeg = encode(source, "jpeg");
+        byte[] withExif = concat(Arrays.copyOf(jpeg, 2), app1(tiff(littleEndian, orientation)),
+                Arrays.copyOfRange(jpeg, 2, jpeg.length));
+
+        BufferedImage result = decode(preprocessor.prepare(ImageArtifact.of(withExif)));
+
+        switch (orientation) {
+            case 3 -> {
+                // 180도: 빨강이 오른쪽으로
+                assertThat(result.getWidth()).isEqualTo(80);
+                assertThat(result.getHeight()).isEqualTo(40);
+                assertRed(result.getRGB(70, 20));
+                assertBlue(result.getRGB(10, 20));
+            }
+            case 6 -> {
+                // 시계 방향 90도: 왼쪽(빨강)이 위로
+                assertThat(result.getWidth()).isEqualTo(40);
+                assertThat(result.getHeight()).isEqualTo(80);
+                assertRed(result.getRGB(20, 10));
+                assertBlue(result.getRGB(20, 70));
+            }
+            case 8 -> {
+                // 반시계 방향 90도: 왼쪽(빨강)이 아래로
+                assertThat(result.getWidth()).isEqualTo(40);
+                assertThat(result.getHeight()).isEqualTo(80);
+                assertRed(result.getRGB(20, 70));
+                assertBlue(result.getRGB(20, 10));
+            }
+            default -> throw new IllegalArgumentException("orientation " + orientation);
+        }
+    }
+
+    @Test
+    @DisplayName("헤더가 거대한 크기를 선언한 작은 파일은 디코딩하지 않고 원본을 그대로 쓴다")
+    void rejectsDecompressionBomb() throws IOException {
+        byte[] bomb = pngDeclaring(100_000, 100_000);
+        assertThat(bomb.length).isLessThan(1024);
+
+        ImageArtifact upload = ImageArtifact.of(bomb);
+
+        assertThatThrownBy(
+                        () -> ImageDecoder.decode(bomb, 128, ImageDecoder.DEFAULT_MAX_PIXELS))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("100000x100000");
+        assertThat(preprocessor.prepare(upload)).isSameAs(upload);
+    }
+
+    @Test
+    @DisplayName("긴 변이 최대 크기를 넘으면 설정한 긴 변으로 축소한다")
+    void downscalesToMaxDimension() throws IOException {
+        BufferedImage source = new BufferedImage(4500, 1500, BufferedImage.TYPE_INT_RGB);
+        byte[] png = encode(source, "png");
+
+        BufferedImage result = decode(preprocessor.prepare(ImageArtifact.of(png)));
+
+        assertThat(result.getWidth()).isEqualTo(1024);
+        assertThat(result.getHeight()).isBetween(340, 342);
+    }
+
+    @Test
+    @DisplayName("세로가 긴 이미지는 세로를 최대 크기로 맞춘다")
+    void downscalesPortraitToMaxDimension() throws IOException {
+        BufferedImage source = new BufferedImage(1200, 2400, BufferedImage.TYPE_INT_RGB);
+        byte[] jpeg = encode(source, "jpeg");
+
+        BufferedImage result = decode(preprocessor.prepare(ImageArtifact.of(jpeg)));
+
+        assertThat(result.getHeight()).isEqualTo(1024);
+        assertThat(result.getWidth()).isEqualTo(512);
+    }
+
+    /**
+     * TIFF 헤더 + 방향 태그 하나만 있는 IFD0
+     */
+    private static byte[] tiff(boolean littleEndian, int orientation) {
+        ByteBuffer buffer = ByteBuffer.allocate(26).order(littleEndian ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+        buffer.put(littleEndian ? (byte) 'I' : (byte) 'M').put(littleEndian ? (byte) 'I' : (byte) 'M');
+        buffer.putShort((short) 42);
+        buffer.putInt(8);
+        buffer.putShort((short) 1);
+        buffer.putShort((short) ORIENTATION_TAG).putShort((short) 3).putInt(1).putShort((short) orientation).putShort((short) 0);
+        buffer.putInt(0);
+        return buffer.array();
+    }
+
+    /**
+     * APP1 Exif 세그먼트 (FF E1 + 길이 + "Exif\0\0" + TIFF)
+     */
+    private static byte[] app1(byte[] tiff) {
+        int length = 2 + 6 + tiff.length;
+        byte[] header = {(byte) 0xFF, (byte) 0xE1, (byte) (length >> 8), (byte) length, 'E', 'x', 'i', 'f', 0, 0};
+        return concat(header, tiff);
+    }
+
+    private static byte[] startOfScan() {
+        return new byte[]{(byte) 0xFF, (byte) 0xDA, 0, 2};
+    }
+
+    /**
+     * 1x1 PNG의 IHDR 크기만 바꾼 파일 (CRC도 다시 계산)
+     */
+    private static byte[] pngDeclaring(int width, int height) throws IOException {
+        byte[] png = encode(new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB), "png");
+        // 시그니처 8 + 길이 4 + "IHDR" 4 이후 가로/세로
+        ByteBuffer buffer = ByteBuffer.wrap(png);
+        buffer.putInt(16, width);
+        buffer.putInt(20, height);
+        CRC32 crc = new CRC32();
+        crc.update(png, 12, 4 + 13);
+        buffer.putInt(12 + 4 + 13, (int) crc.getValue());
+        return png;
+    }
+
+    private static byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+
+    private static BufferedImage decode(ImageArtifact artifact) throws IOException {
+        assertThat(artifact.mimeType()).isEqualTo(ImageFormats.JPEG);
+        return ImageIO.read(new ByteArrayInputStream(artifact.bytes()));
+    }
+
+    private static void assertRed(int rgb) {
+        Color color = new Color(rgb);
+        assertThat(color.getRed()).isGreaterThan(200);
+        assertThat(color.getBlue()).isLessThan(60);
+    }
+
+    private static void assertBlue(int rgb) {
+        Color color = new Color(rgb);
+        assertThat(color.getBlue()).isGreaterThan(200);
+        assertThat(color.getRed()).isLessThan(60);
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+}
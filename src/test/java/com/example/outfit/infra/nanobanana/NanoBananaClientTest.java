@@ -0,0 +1,148 @@
+package com.example.outfit.infra.nanobanana;
+
+import com.example.outfit.config.HttpClientProperties;
+import com.example.outfit.infra.gemini.GeminiQuotaScheduler;
+import com.example.outfit.infra.http.UpstreamHttpClients;
+import com.example.outfit.infra.storage.ImageStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NanoBananaClientTest {
+
+    @TempDir
+    Path root;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private UpstreamHttpClients httpClients;
+    private NanoBananaClient client;
+
+    @BeforeEach
+    void setUp() {
+        httpClients = new UpstreamHttpClients(WebClient.builder(), new HttpClientProperties(), new SimpleMeterRegistry());
+        client = new NanoBananaClient(httpClients,
+                new GeminiQuotaScheduler(false, 0, 0, Duration.ofSeconds(10), 0.2),
+                objectMapper,
+                new ImageStore(root, "/api/outfit/images", false, 0, Duration.ZERO, Duration.ZERO));
+    }
+
+    @AfterEach
+    void tearDown() {
+        httpClients.close();
+    }
+
+    @Test
+    @DisplayName("앞에 텍스트 파트가 있어도 이미지 파트의 base64를 원본 바이트 그대로 디코딩한다")
+    void decodesFixtureImageAfterTextPart() throws IOException {
+        String base64 = fixtureBase64();
+        String response = """
+                {
+                  "candidates": [
+                    {
+                      "content": {
+                        "parts": [
+                          {"text": "Here is the outfit with the brown and khaki jacket paired with black jeans."},
+                          {"inlineData": {"mimeType": "image/png", "data": "%s"}}
+                        ],
+                        "role": "model"
+                      },
+                      "finishReason": "STOP"
+                    }
+                  ],
+                  "usageMetadata": {"promptTokenCount": 1562, "candidatesTokenCount": 1290}
+                }
+                """.formatted(base64);
+
+        ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        String mimeType = client.parseImage(stream(response), sink);
+
+        assertThat(mimeType).isEqualTo("image/png");
+        assertThat(sink.toByteArray()).isEqualTo(Base64.getDecoder().decode(base64));
+    }
+
+    @Test
+    @DisplayName("snake_case(inline_data, mime_type) 응답도 읽는다")
+    void readsSnakeCaseInlineData() throws IOException {
+        byte[] image = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, 1, 2, 3};
+        String response = """
+                {"candidates": [{"content": {"parts": [
+                  {"inline_data": {"mime_type": "image/jpeg", "data": "%s"}}
+                ]}}]}
+                """.formatted(Base64.getEncoder().encodeToString(image));
+
+        ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        String mimeType = client.parseImage(stream(response), sink);
+
+        assertThat(mimeType).isEqualTo("image/jpeg");
+        assertThat(sink.toByteArray()).isEqualTo(image);
+    }
+
+    @Test
+    @DisplayName("inlineData가 없는 응답은 오류")
+    void failsWithoutInlineData() {
+        String response = """
+                {"candidates": [{"content": {"parts": [{"text": "이미지를 생성할 수 없습니다."}]},
+                                 "finishReason": "STOP"}]}
+                """;
+
+        assertThatThrownBy(() -> client.parseImage(stream(response), OutputStream.nullOutputStream()))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("이미지 데이터를 찾을 수 없습니다");
+    }
+
+    @Test
+    @DisplayName("data가 비어 있으면 이미지가 없는 것으로 본다")
+    void failsWithEmptyData() {
+        String response = """
+                {"candidates": [{"content": {"parts": [{"inlineData": {"mimeType": "image/png", "data": ""}}]}}]}
+                """;
+
+        assertThatThrownBy(() -> client.parseImage(stream(response), OutputStream.nullOutputStream()))
+                .hasMessage("이미지 데이터를 찾을 수 없습니다");
+    }
+
+    @Test
+    @DisplayName("error 응답은 API 에러로 실패한다")
+    void failsOnErrorResponse() {
+        String response = """
+                {"error": {"code": 400, "message": "Invalid image", "status": "INVALID_ARGUMENT"}}
+                """;
+
+        assertThatThrownBy(() -> client.parseImage(stream(response), OutputStream.nullOutputStream()))
+                .hasMessageStartingWith("Nano Banana API 에러")
+                .hasMessageContaining("Invalid image");
+    }
+
+    /**
+     * 실제 코디 추천 응답(response.json)에 담긴 생성 이미지 base64
+     */
+    private String fixtureBase64() throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/fixtures/response.json")) {
+            assertThat(in).as("fixtures/response.json").isNotNull();
+            String dataUrl = objectMapper.readTree(in).path("outfitImageUrl").asText();
+            return dataUrl.substring(dataUrl.indexOf(',') + 1);
+        }
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
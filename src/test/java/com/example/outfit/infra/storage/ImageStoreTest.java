@@ -0,0 +1,114 @@
+package com.example.outfit.infra.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageStoreTest {
+
+    @TempDir
+    Path root;
+
+    // 주기 정리는 가상 시간 스케줄러에 걸어 두고 테스트에서 sweep을 직접 호출한다
+    private final VirtualTimeScheduler scheduler = VirtualTimeScheduler.create();
+    private ImageStore store;
+
+    @AfterEach
+    void tearDown() {
+        if (store != null) {
+            store.close();
+        }
+        scheduler.dispose();
+    }
+
+    private ImageStore store(long maxBytes, Duration maxAge) {
+        store = new ImageStore(root, "/api/outfit/images", true, maxBytes, maxAge, Duration.ofHours(1), scheduler);
+        return store;
+    }
+
+    @Test
+    @DisplayName("보관 기간이 지난 이미지를 지운다")
+    void deletesExpiredImages() throws IOException {
+        ImageStore store = store(Long.MAX_VALUE, Duration.ofDays(7));
+        StoredImage old = store.store(new byte[]{1}, "image/png");
+        StoredImage recent = store.store(new byte[]{2}, "image/png");
+        age(old.getPath(), Duration.ofDays(8));
+        age(recent.getPath(), Duration.ofDays(6));
+
+        store.sweep();
+
+        assertThat(old.getPath()).doesNotExist();
+        assertThat(recent.getPath()).exists();
+        assertThat(store.find(old.getHash())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("전체 크기가 최대 크기를 넘으면 오래된 이미지부터 지운다")
+    void deletesOldestOverMaxBytes() throws IOException {
+        ImageStore store = store(250, Duration.ofDays(7));
+        StoredImage oldest = store.store(filled(100, 1), "image/png");
+        StoredImage middle = store.store(filled(100, 2), "image/png");
+        StoredImage newest = store.store(filled(100, 3), "image/png");
+        age(oldest.getPath(), Duration.ofMinutes(30));
+        age(middle.getPath(), Duration.ofMinutes(20));
+        age(newest.getPath(), Duration.ofMinutes(10));
+
+        store.sweep();
+
+        assertThat(oldest.getPath()).doesNotExist();
+        assertThat(middle.getPath()).exists();
+        assertThat(newest.getPath()).exists();
+    }
+
+    @Test
+    @DisplayName("다시 저장된 이미지는 최근 이미지로 취급한다")
+    void restoredImageIsRecent() throws IOException {
+        ImageStore store = store(150, Duration.ofDays(7));
+        StoredImage first = store.store(filled(100, 1), "image/png");
+        StoredImage second = store.store(filled(100, 2), "image/png");
+        age(first.getPath(), Duration.ofMinutes(30));
+        age(second.getPath(), Duration.ofMinutes(20));
+
+        store.store(filled(100, 1), "image/png");
+        store.sweep();
+
+        assertThat(first.getPath()).exists();
+        assertThat(second.getPath()).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("오래된 임시 파일만 지운다")
+    void deletesStaleTempFiles() throws IOException {
+        ImageStore store = store(Long.MAX_VALUE, Duration.ofDays(7));
+        Path stale = store.newTempFile();
+        Path fresh = store.newTempFile();
+        age(stale, Duration.ofHours(2));
+        age(fresh, Duration.ofMinutes(5));
+
+        store.sweep();
+
+        assertThat(stale).doesNotExist();
+        assertThat(fresh).exists();
+    }
+
+    private static byte[] filled(int size, int value) {
+        byte[] bytes = new byte[size];
+        Arrays.fill(bytes, (byte) value);
+        return bytes;
+    }
+
+    private static void age(Path path, Duration age) throws IOException {
+        Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis() - age.toMillis()));
+    }
+}